@@ -0,0 +1,27 @@
+package net.rewerk.webstore.dto.mq.checkout;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * DTO to send messages to orders checkout SCS Queue
+ */
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CheckoutStartDto {
+    /**
+     * Identifier of accepted order waiting for checkout
+     */
+    private Integer order_id;
+    /**
+     * User identifier, owner of order
+     */
+    private UUID user_id;
+}
@@ -0,0 +1,34 @@
+package net.rewerk.webstore.dto.mq.checkout;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * DTO to send messages to checkout stock commands SCS Queue
+ */
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CheckoutStockCommandDto {
+    public enum Action {
+        RESERVE,
+        RELEASE
+    }
+
+    private Action action;
+    /**
+     * Idempotency key of reservation, repeated commands with the same key are applied once
+     */
+    private String reservation_id;
+    private Integer order_id;
+    /**
+     * Amounts to reserve by Product identifiers, not used by release
+     */
+    private Map<Integer, Integer> items;
+}
@@ -0,0 +1,26 @@
+package net.rewerk.webstore.dto.mq.checkout;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO to send messages to checkout stock replies SCS Queue
+ */
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CheckoutStockReplyDto {
+    private String reservation_id;
+    private Integer order_id;
+    private Boolean reserved;
+    /**
+     * Identifiers of products which are not available or have not enough balance
+     */
+    private List<Integer> failed;
+}
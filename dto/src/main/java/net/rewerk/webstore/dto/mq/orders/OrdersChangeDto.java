@@ -0,0 +1,23 @@
+package net.rewerk.webstore.dto.mq.orders;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * DTO to send messages to orders changes SCS Queue
+ */
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrdersChangeDto {
+    /**
+     * User identifier, owner of created or changed orders
+     */
+    private UUID user_id;
+}
@@ -0,0 +1,27 @@
+package net.rewerk.webstore.dto.mq.products;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO to send messages to products changes SCS Queue
+ */
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductsChangeDto {
+    /**
+     * List of changed or deleted Product identifiers
+     */
+    private List<Integer> product_ids;
+    /**
+     * List of changed or deleted Category identifiers
+     */
+    private List<Integer> category_ids;
+}
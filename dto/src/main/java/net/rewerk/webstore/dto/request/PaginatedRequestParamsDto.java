@@ -3,6 +3,7 @@ package net.rewerk.webstore.dto.request;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -19,4 +20,6 @@ public class PaginatedRequestParamsDto {
     @Min(value = 0, message = "Limit parameter can not be less than 0")
     @Max(value = 500, message = "Limit parameter can not be greater than 500")
     protected Integer limit = 20;
+    @Size(max = 1024, message = "After parameter length can not be greater than {max}")
+    protected String after;
 }
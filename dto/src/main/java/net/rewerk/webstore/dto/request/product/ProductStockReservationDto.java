@@ -0,0 +1,28 @@
+package net.rewerk.webstore.dto.request.product;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductStockReservationDto {
+    /**
+     * Optional idempotency key, repeated reservations with the same key are applied once
+     */
+    private String reservation_id;
+    @NotEmpty(message = "Reservation items required")
+    private Map<
+            @NotNull(message = "Product identifier required") Integer,
+            @NotNull(message = "Reservation amount required")
+            @Positive(message = "Reservation amount must be positive") Integer
+            > items;
+}
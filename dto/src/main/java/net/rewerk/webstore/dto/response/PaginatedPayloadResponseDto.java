@@ -16,4 +16,5 @@ public class PaginatedPayloadResponseDto<T> extends GenericBaseResponseDto<T> {
     private Long total;
     private Integer page;
     private Integer pages;
+    private String next;
 }
@@ -0,0 +1,27 @@
+package net.rewerk.webstore.dto.response.me;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import net.rewerk.webstore.dto.response.basket.BasketResponseDto;
+import net.rewerk.webstore.dto.response.favorite.FavoriteResponseDto;
+import net.rewerk.webstore.dto.response.order.OrderCountersResponseDto;
+import net.rewerk.webstore.dto.response.payment.PaymentStatsResponseDto;
+
+import java.util.List;
+
+@Data
+@Builder(toBuilder = true)
+@AllArgsConstructor
+@NoArgsConstructor
+public class SessionSummaryResponseDto {
+    private MeResponseDto me;
+    private List<BasketResponseDto> basket;
+    private Long basket_total;
+    private List<FavoriteResponseDto> favorites;
+    private Long favorites_total;
+    private OrderCountersResponseDto order_counters;
+    private PaymentStatsResponseDto payment_stats;
+    private Boolean partial;
+}
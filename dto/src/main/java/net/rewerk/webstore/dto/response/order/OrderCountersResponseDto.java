@@ -4,6 +4,9 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import net.rewerk.webstore.entity.Order;
+
+import java.util.Map;
 
 @Data
 @Builder
@@ -12,4 +15,5 @@ import lombok.NoArgsConstructor;
 public class OrderCountersResponseDto {
     private Long active;
     private Long completed;
+    private Map<Order.Status, Long> by_status;
 }
@@ -0,0 +1,16 @@
+package net.rewerk.webstore.dto.response.order;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import net.rewerk.webstore.dto.response.payment.PaymentStatsResponseDto;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrdersSummaryResponseDto {
+    private OrderCountersResponseDto counters;
+    private PaymentStatsResponseDto payment_stats;
+}
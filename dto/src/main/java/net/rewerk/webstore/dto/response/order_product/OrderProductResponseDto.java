@@ -16,4 +16,7 @@ public class OrderProductResponseDto {
     private Integer productId;
     private Integer orderId;
     private Integer amount;
+    private String name;
+    private Double price;
+    private String image;
 }
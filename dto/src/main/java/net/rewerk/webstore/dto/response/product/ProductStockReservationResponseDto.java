@@ -0,0 +1,17 @@
+package net.rewerk.webstore.dto.response.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductStockReservationResponseDto {
+    private Boolean reserved;
+    private List<Integer> failed;
+}
@@ -3,7 +3,7 @@ package net.rewerk.webstore.entity;
 import jakarta.persistence.*;
 import lombok.*;
 import net.rewerk.webstore.entity.meta.EntityMeta;
-import org.hibernate.annotations.Formula;
+import org.hibernate.annotations.BatchSize;
 
 import java.util.List;
 
@@ -20,8 +20,9 @@ public class Category extends EntityMeta {
     private String description;
     private String icon;
     private Integer categoryId;
+    @BatchSize(size = 100)
     @OneToMany(
-            fetch = FetchType.EAGER,
+            fetch = FetchType.LAZY,
             cascade = {
                     CascadeType.REFRESH,
                     CascadeType.MERGE,
@@ -30,9 +31,7 @@ public class Category extends EntityMeta {
             mappedBy = "categoryId"
     )
     private List<Category> categories;
-    @Formula("(select count(p.*) from products p where" +
-            " (p.category_id in(select c.id from categories c where c.category_id = id)" +
-            " or p.category_id = id) and p.deleted = false and p.enabled = true and p.balance > 0)")
+    @Column(insertable = false, updatable = false)
     private Integer productsCount;
     private Boolean enabled;
 }
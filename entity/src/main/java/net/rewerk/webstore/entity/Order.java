@@ -18,6 +18,7 @@ import java.util.UUID;
 @Table(name = "orders")
 public class Order extends EntityMeta {
     public enum Status {
+        PENDING,
         CREATED,
         PAID,
         ACCEPTED,
@@ -29,4 +29,10 @@ public class OrdersProducts extends DeletableEntityMeta {
     )
     private Integer orderId;
     private Integer amount;
+    @Column(updatable = false)
+    private String name;
+    @Column(updatable = false)
+    private Double price;
+    @Column(updatable = false)
+    private String image;
 }
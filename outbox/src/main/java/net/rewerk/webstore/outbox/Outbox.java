@@ -0,0 +1,54 @@
+package net.rewerk.webstore.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Transactional outbox
+ * Messages are written to outbox table in the transaction of the caller, so they are relayed to Kafka
+ * only if the transaction commits, and request does not wait for the broker
+ *
+ * @author rewerk
+ */
+
+public class Outbox {
+    private static final Logger log = LoggerFactory.getLogger(Outbox.class);
+    private final OutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    public Outbox(OutboxRepository outboxRepository, ObjectMapper objectMapper) {
+        this.outboxRepository = outboxRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Write message without key
+     *
+     * @param binding Spring Cloud Stream output binding name
+     * @param payload Message payload, serialized to JSON
+     */
+
+    public void publish(String binding, Object payload) {
+        this.publish(binding, null, payload);
+    }
+
+    /**
+     * Write message with key, messages with the same key are relayed in order of writing
+     *
+     * @param binding Spring Cloud Stream output binding name
+     * @param key     Kafka message key, converted to string
+     * @param payload Message payload, serialized to JSON
+     */
+
+    public void publish(String binding, Object key, Object payload) {
+        log.info("Outbox.publish: binding = {}, key = {}, payload = {}", binding, key, payload);
+        try {
+            outboxRepository.insert(binding, key == null ? null : String.valueOf(key),
+                    objectMapper.writeValueAsString(payload));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Outbox message payload is not serializable", e);
+        }
+    }
+}
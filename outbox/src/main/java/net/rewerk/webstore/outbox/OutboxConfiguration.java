@@ -0,0 +1,47 @@
+package net.rewerk.webstore.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Outbox configuration, imported by services writing messages through outbox
+ * Service database must have outbox and outbox_relay tables, see outbox table migrations of services
+ *
+ * @author rewerk
+ */
+
+@Configuration
+public class OutboxConfiguration {
+
+    @Bean
+    public OutboxRepository outboxRepository(JdbcTemplate jdbcTemplate) {
+        return new OutboxRepository(jdbcTemplate);
+    }
+
+    @Bean
+    public Outbox outbox(OutboxRepository outboxRepository, ObjectMapper objectMapper) {
+        return new Outbox(outboxRepository, objectMapper);
+    }
+
+    @Bean
+    public OutboxRelay outboxRelay(OutboxRepository outboxRepository,
+                                   StreamBridge streamBridge,
+                                   PlatformTransactionManager transactionManager,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${outbox.relay.batch_size:100}") Integer batchSize,
+                                   @Value("${outbox.relay.interval_ms:200}") Long interval,
+                                   @Value("${outbox.relay.backoff_ms:1000}") Long backoff,
+                                   @Value("${outbox.relay.max_backoff_ms:60000}") Long maxBackoff,
+                                   @Value("${outbox.relay.lease_ms:60000}") Long lease,
+                                   @Value("${spring.application.name}") String source) {
+        return new OutboxRelay(outboxRepository, streamBridge, new TransactionTemplate(transactionManager),
+                meterRegistry, batchSize, interval, backoff, maxBackoff, lease, source);
+    }
+}
@@ -0,0 +1,25 @@
+package net.rewerk.webstore.outbox;
+
+import java.util.Date;
+
+/**
+ * Message stored in outbox table
+ *
+ * @param id            Message identifier, messages are relayed in identifier order
+ * @param binding       Spring Cloud Stream output binding name
+ * @param key           Kafka message key or null
+ * @param payload       JSON payload
+ * @param attempts      Count of failed relay attempts
+ * @param createdAt     Time of message creation
+ * @param nextAttemptAt Time of next relay attempt after failure or null
+ * @author rewerk
+ */
+
+public record OutboxMessage(Long id,
+                            String binding,
+                            String key,
+                            String payload,
+                            Integer attempts,
+                            Date createdAt,
+                            Date nextAttemptAt) {
+}
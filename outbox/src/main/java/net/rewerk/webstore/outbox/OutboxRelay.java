@@ -0,0 +1,253 @@
+package net.rewerk.webstore.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import net.rewerk.webstore.utility.MessageDeduplicator;
+import org.apache.kafka.common.errors.InvalidTopicException;
+import org.apache.kafka.common.errors.RecordTooLargeException;
+import org.apache.kafka.common.errors.RetriableException;
+import org.apache.kafka.common.errors.SerializationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.converter.MessageConversionException;
+import org.springframework.messaging.core.DestinationResolutionException;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.util.MimeTypeUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Relay of outbox messages to Kafka
+ * Messages are sent in identifier order by one instance at a time, the instance holding relay lease.
+ * Batch is read in short transaction and sent outside of it, sent messages are deleted in second transaction,
+ * so no database connection or lock is held while waiting for broker.
+ * Message failed with transient error is retried with exponential backoff, later messages with the same binding
+ * and key are held back until it is sent, so they keep their order while other keys are relayed.
+ * Batch stops only when half of the lease is spent. Message failed with non-retryable error (unknown binding,
+ * unserializable payload) is marked dead and later messages with the same binding and key are held back
+ * until dead message is resolved manually.
+ * Binding producers should be synchronous with bounded timeouts, so message is deleted only after broker
+ * acknowledged it. Messages carry message_id header unique across services, so consumers can skip redeliveries
+ *
+ * @author rewerk
+ */
+
+public class OutboxRelay implements SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+    private static final List<Class<? extends Throwable>> NON_RETRYABLE = List.of(
+            MessageConversionException.class,
+            DestinationResolutionException.class,
+            SerializationException.class,
+            RecordTooLargeException.class,
+            InvalidTopicException.class
+    );
+    private final OutboxRepository outboxRepository;
+    private final StreamBridge streamBridge;
+    private final TransactionOperations transactionOperations;
+    private final MeterRegistry meterRegistry;
+    private final int batchSize;
+    private final long interval;
+    private final long backoff;
+    private final long maxBackoff;
+    private final long lease;
+    private final String source;
+    private final String owner;
+    private final Map<String, Counter> relayed = new ConcurrentHashMap<>();
+    private final Counter failed;
+    private final Counter dead;
+    private final Timer lag;
+    private final Timer batch;
+    private ScheduledExecutorService scheduler;
+
+    public OutboxRelay(OutboxRepository outboxRepository,
+                       StreamBridge streamBridge,
+                       TransactionOperations transactionOperations,
+                       MeterRegistry meterRegistry,
+                       int batchSize,
+                       long interval,
+                       long backoff,
+                       long maxBackoff,
+                       long lease,
+                       String source) {
+        this.outboxRepository = outboxRepository;
+        this.streamBridge = streamBridge;
+        this.transactionOperations = transactionOperations;
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+        this.interval = interval;
+        this.backoff = backoff;
+        this.maxBackoff = maxBackoff;
+        this.lease = lease;
+        this.source = source;
+        this.owner = source + "-" + UUID.randomUUID();
+        this.failed = meterRegistry.counter("outbox.messages.failed");
+        this.dead = meterRegistry.counter("outbox.messages.dead");
+        this.lag = Timer.builder("outbox.messages.lag")
+                .description("Time from message writing to its relay")
+                .register(meterRegistry);
+        this.batch = Timer.builder("outbox.relay.batch")
+                .description("Time of relay batch")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Relay one batch of messages
+     *
+     * @return Count of relayed messages
+     */
+
+    public int relay() {
+        List<OutboxMessage> messages = transactionOperations.execute(_ -> outboxRepository.tryLease(owner, lease)
+                ? outboxRepository.findPending(batchSize)
+                : List.of());
+        if (messages == null || messages.isEmpty()) {
+            return 0;
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        long deadline = System.currentTimeMillis() + lease / 2;
+        List<Long> sent = new ArrayList<>();
+        Map<Long, String> killed = new LinkedHashMap<>();
+        Map<OutboxMessage, String> retried = new LinkedHashMap<>();
+        Set<String> heldKeys = new HashSet<>();
+        for (OutboxMessage message : messages) {
+            long now = System.currentTimeMillis();
+            if (now > deadline) {
+                break;
+            }
+            String key = message.key() != null ? message.binding() + ":" + message.key() : null;
+            if (key != null && heldKeys.contains(key)) {
+                continue;
+            }
+            if (message.nextAttemptAt() != null && message.nextAttemptAt().getTime() > now) {
+                if (key != null) {
+                    heldKeys.add(key);
+                }
+                continue;
+            }
+            try {
+                if (!streamBridge.send(message.binding(), this.toMessage(message))) {
+                    throw new IllegalStateException("Message was not sent to binding " + message.binding());
+                }
+                sent.add(message.id());
+                relayed.computeIfAbsent(message.binding(), binding -> meterRegistry.counter(
+                        "outbox.messages.relayed", "binding", binding)).increment();
+                lag.record(Duration.ofMillis(Math.max(now - message.createdAt().getTime(), 0)));
+            } catch (RuntimeException e) {
+                failed.increment();
+                if (key != null) {
+                    heldKeys.add(key);
+                }
+                if (!this.isNonRetryable(e)) {
+                    log.warn("OutboxRelay.relay: message {} to {} failed {} times, relay is retried: {}",
+                            message.id(), message.binding(), message.attempts() + 1, e.getMessage());
+                    retried.put(message, e.getMessage());
+                    continue;
+                }
+                dead.increment();
+                log.error("OutboxRelay.relay: message {} to {} is dead, later messages with key {} are held: {}",
+                        message.id(), message.binding(), message.key(), e.getMessage());
+                killed.put(message.id(), e.getMessage());
+            }
+        }
+        transactionOperations.executeWithoutResult(_ -> {
+            if (!sent.isEmpty()) {
+                outboxRepository.delete(sent);
+            }
+            killed.forEach(outboxRepository::kill);
+            retried.forEach((message, error) ->
+                    outboxRepository.retry(message.id(), error, this.backoff(message.attempts())));
+        });
+        sample.stop(batch);
+        return sent.size();
+    }
+
+    @Override
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("outbox-relay")
+                .daemon(true)
+                .factory());
+        scheduler.scheduleWithFixedDelay(this::drain, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(interval * 10, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        scheduler = null;
+        try {
+            outboxRepository.releaseLease(owner);
+        } catch (RuntimeException e) {
+            log.warn("OutboxRelay.stop: lease was not released: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return scheduler != null;
+    }
+
+    private void drain() {
+        try {
+            while (!scheduler.isShutdown() && this.relay() == batchSize) {
+                log.debug("OutboxRelay.drain: full batch relayed, relaying next batch");
+            }
+        } catch (RuntimeException e) {
+            log.warn("OutboxRelay.drain: relay failed: {}", e.getMessage());
+        }
+    }
+
+    private long backoff(int attempts) {
+        return attempts >= Long.SIZE - 2 ? maxBackoff : Math.min(backoff << attempts, maxBackoff);
+    }
+
+    private boolean isNonRetryable(Throwable e) {
+        Throwable cause = e;
+        while (cause != null) {
+            if (cause instanceof RetriableException) {
+                return false;
+            }
+            for (Class<? extends Throwable> type : NON_RETRYABLE) {
+                if (type.isInstance(cause)) {
+                    return true;
+                }
+            }
+            cause = cause.getCause();
+        }
+        return false;
+    }
+
+    private Message<byte[]> toMessage(OutboxMessage message) {
+        MessageBuilder<byte[]> builder = MessageBuilder
+                .withPayload(message.payload().getBytes(StandardCharsets.UTF_8))
+                .setHeader(MessageHeaders.CONTENT_TYPE, MimeTypeUtils.APPLICATION_JSON_VALUE)
+                .setHeader(MessageDeduplicator.MESSAGE_ID, source + "-" + message.id());
+        if (message.key() != null) {
+            builder.setHeader(KafkaHeaders.KEY, message.key().getBytes(StandardCharsets.UTF_8));
+        }
+        return builder.build();
+    }
+}
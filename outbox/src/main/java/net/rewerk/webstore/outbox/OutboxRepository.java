@@ -0,0 +1,123 @@
+package net.rewerk.webstore.outbox;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * Outbox table JDBC repository
+ *
+ * @author rewerk
+ */
+
+public class OutboxRepository {
+    private static final String INSERT = "insert into outbox (binding, message_key, payload) values (?, ?, ?)";
+    private static final String TRY_LEASE = "update outbox_relay" +
+            " set owner = ?, lease_until = now() + ? * interval '1 millisecond'" +
+            " where id = 1 and (owner = ? or lease_until < now())";
+    private static final String RELEASE_LEASE = "update outbox_relay set lease_until = now() where id = 1 and owner = ?";
+    private static final String FIND_PENDING = "select o.id, o.binding, o.message_key, o.payload, o.attempts," +
+            " o.created_at, o.next_attempt_at from outbox o where o.dead = false" +
+            " and (o.next_attempt_at is null or o.next_attempt_at <= now()) and not exists (" +
+            "select 1 from outbox d where (d.dead = true or d.next_attempt_at > now()) and d.binding = o.binding" +
+            " and d.message_key = o.message_key and d.id < o.id) order by o.id limit ?";
+    private static final String DELETE = "delete from outbox where id = any(?)";
+    private static final String RETRY = "update outbox set attempts = attempts + 1, last_error = ?," +
+            " next_attempt_at = now() + ? * interval '1 millisecond' where id = ?";
+    private static final String KILL = "update outbox set attempts = attempts + 1, last_error = ?, dead = true" +
+            " where id = ?";
+    private final JdbcTemplate jdbcTemplate;
+
+    public OutboxRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Insert message, joins current transaction if any
+     *
+     * @param binding Spring Cloud Stream output binding name
+     * @param key     Kafka message key or null
+     * @param payload JSON payload
+     */
+
+    public void insert(String binding, String key, String payload) {
+        jdbcTemplate.update(INSERT, binding, key, payload);
+    }
+
+    /**
+     * Take or renew relay lease, so only one instance relays messages
+     *
+     * @param owner Relay instance identifier
+     * @param lease Lease duration in milliseconds
+     * @return True if relay lease is held by owner
+     */
+
+    public boolean tryLease(String owner, long lease) {
+        return jdbcTemplate.update(TRY_LEASE, owner, lease, owner) == 1;
+    }
+
+    /**
+     * Release relay lease held by owner, so other instance takes it without waiting for expiration
+     *
+     * @param owner Relay instance identifier
+     */
+
+    public void releaseLease(String owner) {
+        jdbcTemplate.update(RELEASE_LEASE, owner);
+    }
+
+    /**
+     * Find messages to relay in identifier order
+     * Dead messages, messages not due for retry and messages queued after dead or not due message
+     * with the same binding and key are skipped
+     *
+     * @param limit Maximum count of messages
+     * @return List of messages
+     */
+
+    public List<OutboxMessage> findPending(int limit) {
+        return jdbcTemplate.query(FIND_PENDING, (rs, _) -> new OutboxMessage(
+                rs.getLong("id"),
+                rs.getString("binding"),
+                rs.getString("message_key"),
+                rs.getString("payload"),
+                rs.getInt("attempts"),
+                rs.getTimestamp("created_at"),
+                rs.getTimestamp("next_attempt_at")
+        ), limit);
+    }
+
+    /**
+     * Delete relayed messages
+     *
+     * @param ids Message identifiers
+     */
+
+    public void delete(List<Long> ids) {
+        jdbcTemplate.update(DELETE, (Object) ids.toArray(Long[]::new));
+    }
+
+    /**
+     * Record failed relay attempt, message is retried after backoff
+     *
+     * @param id      Message identifier
+     * @param error   Error description
+     * @param backoff Delay of next attempt in milliseconds
+     */
+
+    public void retry(Long id, String error, long backoff) {
+        jdbcTemplate.update(RETRY, error, backoff, id);
+    }
+
+    /**
+     * Mark message which can not be relayed as dead
+     * Dead message and later messages with the same binding and key are kept until dead flag is reset manually
+     *
+     * @param id    Message identifier
+     * @param error Error description
+     */
+
+    public void kill(Long id, String error) {
+        jdbcTemplate.update(KILL, error, id);
+    }
+}
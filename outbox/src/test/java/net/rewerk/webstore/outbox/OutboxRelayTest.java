@@ -0,0 +1,111 @@
+package net.rewerk.webstore.outbox;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.rewerk.webstore.utility.MessageDeduplicator;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.core.DestinationResolutionException;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class OutboxRelayTest {
+    private final OutboxRepository outboxRepository = mock(OutboxRepository.class);
+    private final StreamBridge streamBridge = mock(StreamBridge.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final OutboxRelay relay = new OutboxRelay(outboxRepository, streamBridge,
+            TransactionOperations.withoutTransaction(), meterRegistry, 10, 100, 1000, 60000, 60000,
+            "service-test");
+
+    private OutboxMessage message(Long id, String binding, String key, Integer attempts) {
+        return new OutboxMessage(id, binding, key, "{}", attempts, new Date(), null);
+    }
+
+    @Test
+    public void givenTransientFailure_whenRelay_thenScheduleRetryAndHoldBackSameKey() {
+        when(outboxRepository.tryLease(anyString(), anyLong())).thenReturn(true);
+        when(outboxRepository.findPending(10)).thenReturn(List.of(
+                message(1L, "first-out-0", "1", 0),
+                message(2L, "second-out-0", "1", 3),
+                message(3L, "second-out-0", "1", 0),
+                message(4L, "first-out-0", "2", 0)
+        ));
+        when(streamBridge.send(eq("first-out-0"), any())).thenReturn(true);
+        when(streamBridge.send(eq("second-out-0"), any())).thenThrow(new IllegalStateException("broker is down"));
+
+        assertThat(relay.relay()).isEqualTo(2);
+
+        verify(outboxRepository).delete(List.of(1L, 4L));
+        verify(outboxRepository).retry(2L, "broker is down", 8000);
+        verify(outboxRepository, never()).retry(eq(3L), any(), anyLong());
+        verify(outboxRepository, never()).kill(any(), any());
+        verify(streamBridge, times(1)).send(eq("second-out-0"), any());
+        verify(streamBridge, times(1)).send(eq("first-out-0"), argThat(message -> "service-test-1".equals(
+                ((Message<?>) message).getHeaders().get(MessageDeduplicator.MESSAGE_ID))));
+        assertThat(meterRegistry.counter("outbox.messages.relayed", "binding", "first-out-0").count())
+                .isEqualTo(2.0);
+        assertThat(meterRegistry.counter("outbox.messages.dead").count()).isZero();
+    }
+
+    @Test
+    public void givenNonRetryableFailure_whenRelay_thenMarkDeadAndHoldBackSameKey() {
+        when(outboxRepository.tryLease(anyString(), anyLong())).thenReturn(true);
+        when(outboxRepository.findPending(10)).thenReturn(List.of(
+                message(1L, "first-out-0", "1", 0),
+                message(2L, "first-out-0", "2", 0),
+                message(3L, "first-out-0", "1", 0)
+        ));
+        when(streamBridge.send(eq("first-out-0"), any()))
+                .thenThrow(new DestinationResolutionException("unknown binding"))
+                .thenReturn(true);
+
+        assertThat(relay.relay()).isEqualTo(1);
+
+        verify(outboxRepository).kill(1L, "unknown binding");
+        verify(outboxRepository).delete(List.of(2L));
+        verify(streamBridge, times(2)).send(eq("first-out-0"), any());
+        assertThat(meterRegistry.counter("outbox.messages.dead").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    public void givenMessageNotDue_whenRelay_thenHoldBackOnlySameKey() {
+        when(outboxRepository.tryLease(anyString(), anyLong())).thenReturn(true);
+        when(outboxRepository.findPending(10)).thenReturn(List.of(
+                new OutboxMessage(1L, "first-out-0", "1", "{}", 1, new Date(),
+                        new Date(System.currentTimeMillis() + 60000)),
+                message(2L, "first-out-0", "2", 0),
+                message(3L, "first-out-0", "1", 0)
+        ));
+        when(streamBridge.send(eq("first-out-0"), any())).thenReturn(true);
+
+        assertThat(relay.relay()).isEqualTo(1);
+
+        verify(outboxRepository).delete(List.of(2L));
+        verify(outboxRepository, never()).retry(anyLong(), any(), anyLong());
+        verify(streamBridge, times(1)).send(eq("first-out-0"), argThat(message -> "service-test-2".equals(
+                ((Message<?>) message).getHeaders().get(MessageDeduplicator.MESSAGE_ID))));
+    }
+
+    @Test
+    public void givenRelayLeasedByOtherInstance_whenRelay_thenSendNothing() {
+        when(outboxRepository.tryLease(anyString(), anyLong())).thenReturn(false);
+
+        assertThat(relay.relay()).isZero();
+
+        verify(outboxRepository, never()).findPending(10);
+    }
+}
@@ -0,0 +1,124 @@
+package net.rewerk.webstore.events;
+
+import com.zaxxer.hikari.HikariDataSource;
+import net.rewerk.webstore.entity.Event;
+import net.rewerk.webstore.events.repository.EventBatchRepositoryImpl;
+import net.rewerk.webstore.utility.JdbcMessageDeduplicator;
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write of polled events: transaction per record against one transaction per batch,
+ * both with deduplication of message identifiers and insert through repository of the events consumer.
+ * Requires scratch PostgreSQL database, schema is migrated by Flyway and truncated before every iteration.
+ * Connection is taken from jmh.jdbc.url, jmh.jdbc.username and jmh.jdbc.password system properties
+ *
+ * @author rewerk
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventsWriteBenchmark {
+    private static final String CONSUMER = "eventsWriteConsumer";
+    @Param({"10", "100", "500"})
+    private int batchSize;
+    private HikariDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private EventBatchRepositoryImpl eventRepository;
+    private JdbcMessageDeduplicator messageDeduplicator;
+    private List<Event> events;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(System.getProperty("jmh.jdbc.url", "jdbc:postgresql://localhost:5432/postgres"));
+        dataSource.setUsername(System.getProperty("jmh.jdbc.username", "postgres"));
+        dataSource.setPassword(System.getProperty("jmh.jdbc.password", ""));
+        dataSource.setMaximumPoolSize(2);
+        Flyway.configure().dataSource(dataSource).load().migrate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        eventRepository = new EventBatchRepositoryImpl(jdbcTemplate);
+        messageDeduplicator = new JdbcMessageDeduplicator(jdbcTemplate, Duration.ofHours(1));
+        events = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            events.add(Event.builder()
+                    .userId(UUID.randomUUID())
+                    .text("event-" + i)
+                    .build());
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void truncate() {
+        jdbcTemplate.execute("truncate table events, processed_messages");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataSource.close();
+    }
+
+    @Benchmark
+    public int transactionPerRecord() {
+        int inserted = 0;
+        for (Event event : events) {
+            String messageId = String.valueOf(sequence++);
+            inserted += transactionTemplate.execute(status -> {
+                if (messageDeduplicator.firstDeliveries(CONSUMER, List.of(messageId)).isEmpty()) {
+                    return 0;
+                }
+                eventRepository.insertAll(List.of(event));
+                return 1;
+            });
+        }
+        return inserted;
+    }
+
+    @Benchmark
+    public int transactionPerBatch() {
+        List<String> messageIds = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            messageIds.add(String.valueOf(sequence++));
+        }
+        return transactionTemplate.execute(status -> {
+            Set<String> first = messageDeduplicator.firstDeliveries(CONSUMER, messageIds);
+            List<Event> result = new ArrayList<>(first.size());
+            for (int i = 0; i < batchSize; i++) {
+                if (first.contains(messageIds.get(i))) {
+                    result.add(events.get(i));
+                }
+            }
+            eventRepository.insertAll(result);
+            return result.size();
+        });
+    }
+}
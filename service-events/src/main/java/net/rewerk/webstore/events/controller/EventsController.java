@@ -4,10 +4,13 @@ import lombok.RequiredArgsConstructor;
 import net.rewerk.webstore.dto.request.event.EventSearchDto;
 import net.rewerk.webstore.dto.response.PaginatedPayloadResponseDto;
 import net.rewerk.webstore.dto.response.event.EventResponseDto;
+import net.rewerk.webstore.entity.Event;
 import net.rewerk.webstore.events.service.entity.EventService;
 import net.rewerk.webstore.events.specification.EventSpecification;
 import net.rewerk.webstore.utility.RequestUtils;
 import net.rewerk.webstore.utility.ResponseUtils;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -35,9 +38,15 @@ public class EventsController {
     public ResponseEntity<PaginatedPayloadResponseDto<EventResponseDto>> findAllEvents(
             EventSearchDto searchDto
     ) {
-        return ResponseUtils.createPaginatedResponse(eventService.findAll(
-                EventSpecification.getSpecification(searchDto),
-                RequestUtils.getSortAndPageRequest(searchDto)
-        ));
+        Specification<Event> specification = EventSpecification.getSpecification(searchDto);
+        PageRequest pageRequest = RequestUtils.getSortAndPageRequest(searchDto);
+        if (RequestUtils.isKeysetRequest(searchDto)) {
+            return ResponseUtils.createPaginatedResponse(eventService.findAll(
+                    specification,
+                    RequestUtils.getScrollPosition(searchDto, pageRequest.getSort(), Event.class),
+                    pageRequest
+            ));
+        }
+        return ResponseUtils.createPaginatedResponse(eventService.findAll(specification, pageRequest));
     }
 }
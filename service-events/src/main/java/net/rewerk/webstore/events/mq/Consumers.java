@@ -1,12 +1,23 @@
 package net.rewerk.webstore.events.mq;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import net.rewerk.webstore.dto.mq.events.EventsWriteDto;
 import net.rewerk.webstore.events.service.entity.EventService;
+import net.rewerk.webstore.utility.MessageDeduplicator;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.support.KafkaHeaders;
 import org.springframework.messaging.Message;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
 import java.util.function.Consumer;
 
 /**
@@ -17,17 +28,67 @@ import java.util.function.Consumer;
 
 @RequiredArgsConstructor
 @Configuration
+@Slf4j
 public class Consumers {
     private final EventService eventService;
+    private final MeterRegistry meterRegistry;
+    private final MessageDeduplicator messageDeduplicator;
+    private final TransactionTemplate transactionTemplate;
 
     /**
-     * Consumer for writing events
+     * Batch consumer for writing events
+     * Every polled batch is inserted in one transaction, offsets are committed after the listener returns,
+     * so a failed batch is redelivered as a whole. Redelivered messages are recorded in the same transaction
+     * and skipped, so redeliveries after rebalance do not duplicate events.
+     * Events without user identifier or text are dropped and counted as invalid
      *
-     * @return Consumer for write event
+     * @return Consumer for write events
      */
 
     @Bean
-    public Consumer<Message<EventsWriteDto>> eventsWriteConsumer() {
-        return message -> eventService.create(message.getPayload());
+    public Consumer<Message<List<EventsWriteDto>>> eventsWriteConsumer() {
+        Counter consumed = meterRegistry.counter("events.write.consumed");
+        Counter duplicates = meterRegistry.counter("events.write.duplicates");
+        Counter invalid = meterRegistry.counter("events.write.invalid");
+        DistributionSummary size = DistributionSummary.builder("events.write.batch.size")
+                .description("Count of events inserted per batch")
+                .register(meterRegistry);
+        Timer flush = Timer.builder("events.write.flush")
+                .description("Time of batch insert transaction")
+                .register(meterRegistry);
+        Timer lag = Timer.builder("events.write.lag")
+                .description("Time from event publication to its persistence")
+                .register(meterRegistry);
+        return message -> {
+            log.info("SCS events write mq consumer: batch consumed with size = {}", message.getPayload().size());
+            List<String> messageIds = MessageDeduplicator.messageIds(
+                    message.getHeaders().get(KafkaHeaders.BATCH_CONVERTED_HEADERS));
+            List<EventsWriteDto> events = Objects.requireNonNull(transactionTemplate.execute(_ -> {
+                List<EventsWriteDto> delivered = messageDeduplicator.firstDeliveries(
+                        "eventsWriteConsumer", message.getPayload(), messageIds);
+                duplicates.increment(message.getPayload().size() - delivered.size());
+                List<EventsWriteDto> result = delivered.stream()
+                        .filter(event -> event != null && event.getUser_id() != null && event.getText() != null)
+                        .toList();
+                if (result.size() < delivered.size()) {
+                    invalid.increment(delivered.size() - result.size());
+                    log.warn("SCS events write mq consumer: dropped {} events without user_id or text",
+                            delivered.size() - result.size());
+                }
+                if (!result.isEmpty()) {
+                    flush.record(() -> eventService.createAll(result));
+                }
+                return result;
+            }));
+            consumed.increment(events.size());
+            size.record(events.size());
+            if (message.getHeaders().get(KafkaHeaders.RECEIVED_TIMESTAMP) instanceof List<?> timestamps) {
+                long now = System.currentTimeMillis();
+                timestamps.stream()
+                        .filter(Long.class::isInstance)
+                        .map(Long.class::cast)
+                        .forEach(timestamp -> lag.record(Duration.ofMillis(Math.max(now - timestamp, 0))));
+            }
+        };
     }
 }
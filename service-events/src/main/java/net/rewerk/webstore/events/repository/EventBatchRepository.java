@@ -0,0 +1,15 @@
+package net.rewerk.webstore.events.repository;
+
+import net.rewerk.webstore.entity.Event;
+
+import java.util.List;
+
+/**
+ * Event repository fragment for batch inserts
+ *
+ * @author rewerk
+ */
+
+public interface EventBatchRepository {
+    void insertAll(List<Event> events);
+}
@@ -0,0 +1,36 @@
+package net.rewerk.webstore.events.repository;
+
+import lombok.RequiredArgsConstructor;
+import net.rewerk.webstore.entity.Event;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Event repository fragment implementation
+ *
+ * @author rewerk
+ */
+
+@RequiredArgsConstructor
+public class EventBatchRepositoryImpl implements EventBatchRepository {
+    private static final String INSERT_EVENT = "insert into events (user_id, text, created_at, updated_at)" +
+            " values (?, ?, ?, ?)";
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Insert Event entities with a single JDBC batch
+     * Identifiers are not populated back to entities
+     *
+     * @param events List of Event entities
+     */
+
+    @Override
+    public void insertAll(List<Event> events) {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        jdbcTemplate.batchUpdate(INSERT_EVENT, events.stream()
+                .map(event -> new Object[]{event.getUserId(), event.getText(), now, now})
+                .toList());
+    }
+}
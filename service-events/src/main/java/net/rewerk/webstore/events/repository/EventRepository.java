@@ -12,5 +12,6 @@ import org.springframework.stereotype.Repository;
  */
 
 @Repository
-public interface EventRepository extends JpaRepository<Event, Integer>, JpaSpecificationExecutor<Event> {
+public interface EventRepository extends JpaRepository<Event, Integer>, JpaSpecificationExecutor<Event>,
+        EventBatchRepository {
 }
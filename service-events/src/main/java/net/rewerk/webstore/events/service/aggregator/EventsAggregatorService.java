@@ -3,6 +3,7 @@ package net.rewerk.webstore.events.service.aggregator;
 import net.rewerk.webstore.dto.response.event.EventResponseDto;
 import net.rewerk.webstore.entity.Event;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Window;
 
 import java.util.List;
 
@@ -37,4 +38,12 @@ public interface EventsAggregatorService {
      * @return Aggregated page of response DTO
      */
     Page<EventResponseDto> aggregate(Page<Event> page);
+
+    /**
+     * Aggregate Window of Event entities
+     *
+     * @param window window of Event entities
+     * @return Aggregated window of response DTO
+     */
+    Window<EventResponseDto> aggregate(Window<Event> window);
 }
@@ -10,12 +10,13 @@ import net.rewerk.webstore.entity.Event;
 import net.rewerk.webstore.events.dto.mapper.EventDtoMapper;
 import net.rewerk.webstore.events.feign.client.UsersFeignClient;
 import net.rewerk.webstore.events.service.aggregator.EventsAggregatorService;
+import net.rewerk.webstore.utility.AggregationUtils;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.Optional;
 import java.util.UUID;
 
 @Service
@@ -42,15 +43,14 @@ public class EventsAggregatorServiceImpl implements EventsAggregatorService {
                 .distinct()
                 .toList();
         PayloadResponseDto<UserResponseDto> usersPayload = usersFeignClient.getByIds(userIds);
-        return events.stream()
+        List<EventResponseDto> mapped = events.stream()
                 .map(eventDtoMapper::toDto)
-                .peek(evt -> {
-                    Optional<UserResponseDto> user = usersPayload.getPayload().stream()
-                            .filter(u -> evt.getUserId().equals(u.getId()))
-                            .findFirst();
-                    user.ifPresent(evt::setUser);
-                })
                 .toList();
+        AggregationUtils.join(mapped,
+                EventResponseDto::getUserId,
+                AggregationUtils.indexBy(usersPayload.getPayload(), UserResponseDto::getId),
+                EventResponseDto::setUser);
+        return mapped;
     }
 
     @Override
@@ -58,4 +58,10 @@ public class EventsAggregatorServiceImpl implements EventsAggregatorService {
         log.info("EventsAggregatorServiceImpl.aggregate: Aggregating page of events: CONTENT SIZE {}", page.getSize());
         return new PageImpl<>(this.aggregate(page.getContent()), page.getPageable(), page.getTotalElements());
     }
+
+    @Override
+    public Window<EventResponseDto> aggregate(Window<Event> window) {
+        log.info("EventsAggregatorServiceImpl.aggregate: Aggregating window of events: CONTENT SIZE {}", window.size());
+        return Window.from(this.aggregate(window.getContent()), window::positionAt, window.hasNext());
+    }
 }
@@ -5,10 +5,18 @@ import net.rewerk.webstore.dto.response.event.EventResponseDto;
 import net.rewerk.webstore.entity.Event;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.util.List;
+
 public interface EventService {
     Page<EventResponseDto> findAll(Specification<Event> specification, Pageable pageable);
 
+    Window<EventResponseDto> findAll(Specification<Event> specification, ScrollPosition position, Pageable pageable);
+
     void create(EventsWriteDto dto);
+
+    void createAll(List<EventsWriteDto> dtos);
 }
@@ -10,10 +10,14 @@ import net.rewerk.webstore.events.service.aggregator.EventsAggregatorService;
 import net.rewerk.webstore.events.service.entity.EventService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 /**
  * Event entity service implementation
  *
@@ -41,6 +45,26 @@ public class EventServiceImpl implements EventService {
         return aggregatorService.aggregate(eventRepository.findAll(specification, pageable));
     }
 
+    /**
+     * Find window of events by parameters using keyset pagination
+     *
+     * @param specification Event JPA Specification
+     * @param position      Keyset scroll position
+     * @param pageable      Event Pageable request with window size and sort
+     * @return Window of aggregated Event entity response DTO
+     */
+    @Override
+    public Window<EventResponseDto> findAll(Specification<Event> specification,
+                                            ScrollPosition position,
+                                            Pageable pageable) {
+        log.info("EventServiceImpl.findAll: Finding window of events with specification, position {}", position);
+        Window<Event> window = eventRepository.findBy(specification, query -> query
+                .sortBy(pageable.getSort())
+                .limit(pageable.getPageSize())
+                .scroll(position));
+        return aggregatorService.aggregate(window);
+    }
+
     /**
      * Create Event entity
      *
@@ -54,4 +78,20 @@ public class EventServiceImpl implements EventService {
                 .text(dto.getText())
                 .build());
     }
+
+    /**
+     * Create Event entities in one transaction with a single batch insert
+     *
+     * @param dtos List of DTO with create data
+     */
+    @Override
+    public void createAll(List<EventsWriteDto> dtos) {
+        log.info("EventServiceImpl.createAll: Creating events, count {}", dtos.size());
+        eventRepository.insertAll(dtos.stream()
+                .map(dto -> Event.builder()
+                        .userId(dto.getUser_id())
+                        .text(dto.getText())
+                        .build())
+                .toList());
+    }
 }
@@ -1,14 +1,17 @@
 package net.rewerk.webstore.orders;
 
+import net.rewerk.webstore.outbox.OutboxConfiguration;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.context.annotation.Import;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
 @SpringBootApplication
@@ -16,10 +19,12 @@ import org.springframework.transaction.annotation.EnableTransactionManagement;
 @EnableAsync
 @EnableTransactionManagement
 @EnableFeignClients
+@Import(OutboxConfiguration.class)
 @PropertySource("classpath:application.yml")
 @EntityScan("net.rewerk.webstore.entity")
 @EnableDiscoveryClient
 @EnableCaching
+@EnableScheduling
 public class ServiceOrdersApplication {
 
     public static void main(String[] args) {
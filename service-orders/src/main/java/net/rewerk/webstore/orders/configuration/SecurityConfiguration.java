@@ -67,6 +67,7 @@ public class SecurityConfiguration {
                         .hasAnyRole("ADMIN", "SERVICE")
                         .requestMatchers(
                                 "/api/v1/orders/collect_stats",
+                                "/api/v1/orders/summary",
                                 "/api/v1/payments/collect_stats"
                         )
                         .hasAnyRole("ADMIN", "SERVICE")
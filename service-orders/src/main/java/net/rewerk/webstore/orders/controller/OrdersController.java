@@ -8,13 +8,19 @@ import net.rewerk.webstore.dto.request.order.OrderCreateDto;
 import net.rewerk.webstore.dto.request.order.OrderSearchDto;
 import net.rewerk.webstore.dto.response.order.OrderCountersResponseDto;
 import net.rewerk.webstore.dto.response.order.OrderResponseDto;
+import net.rewerk.webstore.entity.Order;
+import net.rewerk.webstore.entity.User;
 import net.rewerk.webstore.dto.response.order.OrderStatsReportResponseDto;
+import net.rewerk.webstore.dto.response.order.OrdersSummaryResponseDto;
 import net.rewerk.webstore.orders.service.entity.OrderService;
+import net.rewerk.webstore.orders.service.entity.PaymentService;
 import net.rewerk.webstore.orders.specification.OrderSpecification;
 import net.rewerk.webstore.utility.RequestUtils;
 import net.rewerk.webstore.utility.ResponseUtils;
 import net.rewerk.webstore.utility.SecurityUtils;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -24,6 +30,7 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.util.Map;
+import java.util.UUID;
 
 /**
  * Order - not parametrized REST controller
@@ -36,6 +43,7 @@ import java.util.Map;
 @RequestMapping("/api/v1/orders")
 public class OrdersController {
     private final OrderService orderService;
+    private final PaymentService paymentService;
 
     /**
      * Get all Orders
@@ -52,13 +60,19 @@ public class OrdersController {
             @AuthenticationPrincipal Jwt jwt,
             Authentication authentication
     ) {
-        Page<OrderResponseDto> result = orderService.findAll(
-                OrderSpecification.getSpecification(
-                        SecurityUtils.getUserFromJwtToken(jwt, authentication),
-                        orderSearchDto
-                ),
-                RequestUtils.getSortAndPageRequest(orderSearchDto)
+        Specification<Order> specification = OrderSpecification.getSpecification(
+                SecurityUtils.getUserFromJwtToken(jwt, authentication),
+                orderSearchDto
         );
+        PageRequest pageRequest = RequestUtils.getSortAndPageRequest(orderSearchDto);
+        if (RequestUtils.isKeysetRequest(orderSearchDto)) {
+            return ResponseUtils.createPaginatedResponse(orderService.findAll(
+                    specification,
+                    RequestUtils.getScrollPosition(orderSearchDto, pageRequest.getSort(), Order.class),
+                    pageRequest
+            ));
+        }
+        Page<OrderResponseDto> result = orderService.findAll(specification, pageRequest);
         return ResponseUtils.createPaginatedResponse(result);
     }
 
@@ -83,6 +97,27 @@ public class OrdersController {
         return ResponseUtils.createSingleResponse(result);
     }
 
+    /**
+     * Service endpoint for retrieve user orders summary (order counters and payment stats)
+     * Accessible only for service role
+     *
+     * @param userId User identifier
+     * @return ResponseEntity with status 200 OK and single payload of orders summary response DTO
+     */
+
+    @GetMapping("summary")
+    public ResponseEntity<SinglePayloadResponseDto<OrdersSummaryResponseDto>> getUserSummary(
+            @RequestParam(name = "user_id") UUID userId
+    ) {
+        return ResponseUtils.createSingleResponse(OrdersSummaryResponseDto.builder()
+                .counters(orderService.getCounters(new OrderSearchDto(), User.builder()
+                        .id(userId)
+                        .role(User.Role.ROLE_USER)
+                        .build()))
+                .payment_stats(paymentService.getUserStats(userId))
+                .build());
+    }
+
     /**
      * Service endpoint for collect midnight scheduled job stats
      * Accessible only for service role
@@ -96,13 +131,13 @@ public class OrdersController {
     }
 
     /**
-     * Endpoint for create new Order
+     * Endpoint for create new Order, the order is accepted as PENDING and checked out asynchronously
      *
      * @param orderCreateDto Order create DTO
      * @param jwt            oauth2 resource server Jwt token
      * @param authentication Spring security authentication
      * @param uriBuilder     UriComponentsBuilder - autowired for building 201 Created location redirect
-     * @return ResponseEntity with status 201 Created and single payload with newly created Order entity
+     * @return ResponseEntity with status 201 Created and single payload with newly accepted PENDING Order entity
      */
 
     @PostMapping
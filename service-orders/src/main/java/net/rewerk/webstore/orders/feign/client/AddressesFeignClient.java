@@ -27,7 +27,7 @@ import java.util.UUID;
         configuration = {
                 DefaultConfiguration.class
         },
-        fallback = AddressesFeignClientFallback.class
+        fallbackFactory = AddressesFeignClientFallback.class
 )
 public interface AddressesFeignClient {
 
@@ -26,7 +26,7 @@ import java.util.List;
         configuration = {
                 DefaultConfiguration.class
         },
-        fallback = BasketFeignClientFallback.class
+        fallbackFactory = BasketFeignClientFallback.class
 )
 public interface BasketFeignClient {
 
@@ -1,9 +1,11 @@
 package net.rewerk.webstore.orders.feign.client;
 
 import net.rewerk.webstore.dto.request.product.ProductBatchPatchRequestDto;
+import net.rewerk.webstore.dto.request.product.ProductStockReservationDto;
 import net.rewerk.webstore.dto.response.PayloadResponseDto;
 import net.rewerk.webstore.dto.response.SinglePayloadResponseDto;
 import net.rewerk.webstore.dto.response.product.ProductResponseDto;
+import net.rewerk.webstore.dto.response.product.ProductStockReservationResponseDto;
 import net.rewerk.webstore.orders.feign.client.fallback.ProductsFeignClientFallback;
 import net.rewerk.webstore.orders.feign.configuration.DefaultConfiguration;
 import org.springframework.cache.annotation.Cacheable;
@@ -59,4 +61,15 @@ public interface ProductsFeignClient {
     @RequestMapping(method = RequestMethod.PATCH)
     void updateProducts(
             @RequestBody ProductBatchPatchRequestDto productBatchPatchRequestDto);
+
+    /**
+     * Method for atomic reservation of Product entities stock
+     *
+     * @param productStockReservationDto DTO with amounts to reserve by Product identifiers
+     * @return Single payload of reservation result
+     */
+
+    @PostMapping("stock/reservations")
+    SinglePayloadResponseDto<ProductStockReservationResponseDto> reserveStock(
+            @RequestBody ProductStockReservationDto productStockReservationDto);
 }
@@ -1,35 +1,61 @@
 package net.rewerk.webstore.orders.feign.client.fallback;
 
+import feign.FeignException;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.ws.rs.NotFoundException;
 import lombok.extern.slf4j.Slf4j;
+import net.rewerk.exception.ServiceUnavailableException;
 import net.rewerk.webstore.dto.response.PaginatedPayloadResponseDto;
 import net.rewerk.webstore.dto.response.PayloadResponseDto;
 import net.rewerk.webstore.dto.response.SinglePayloadResponseDto;
 import net.rewerk.webstore.dto.response.address.AddressResponseDto;
 import net.rewerk.webstore.orders.feign.client.AddressesFeignClient;
+import org.springframework.cloud.openfeign.FallbackFactory;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
 import java.util.UUID;
 
+/**
+ * Addresses Feign client fallback factory
+ * Not found responses are reported as missing addresses, any other failure as unavailable service,
+ * so callers can retry instead of treating outage as missing data
+ *
+ * @author rewerk
+ */
+
 @Component
 @Slf4j
-public class AddressesFeignClientFallback implements AddressesFeignClient {
+public class AddressesFeignClientFallback implements FallbackFactory<AddressesFeignClient> {
     @Override
-    public PaginatedPayloadResponseDto<AddressResponseDto> getAddresses(UUID userId) {
-        log.error("AddressesFeignClient: called getAddresses fallback, userId: {}", userId);
-        throw new EntityNotFoundException("Addresses not found");
-    }
+    public AddressesFeignClient create(Throwable cause) {
+        return new AddressesFeignClient() {
+            @Override
+            public PaginatedPayloadResponseDto<AddressResponseDto> getAddresses(UUID userId) {
+                log.error("AddressesFeignClient: called getAddresses fallback, userId: {}, cause: {}",
+                        userId, cause.toString());
+                throw this.failure("Addresses not found");
+            }
 
-    @Override
-    public SinglePayloadResponseDto<AddressResponseDto> getAddress(Integer id) {
-        log.error("AddressesFeignClient: called getAddress fallback, id: {}", id);
-        throw new EntityNotFoundException("Address not found");
-    }
+            @Override
+            public SinglePayloadResponseDto<AddressResponseDto> getAddress(Integer id) {
+                log.error("AddressesFeignClient: called getAddress fallback, id: {}, cause: {}", id, cause.toString());
+                throw this.failure("Address not found");
+            }
 
-    @Override
-    public PayloadResponseDto<AddressResponseDto> getAddressesById(List<Integer> ids) {
-        log.error("AddressesFeignClient: called getAddressesById fallback, ids: {}", ids);
-        throw new EntityNotFoundException("Addresses not found");
+            @Override
+            public PayloadResponseDto<AddressResponseDto> getAddressesById(List<Integer> ids) {
+                log.error("AddressesFeignClient: called getAddressesById fallback, ids: {}, cause: {}",
+                        ids, cause.toString());
+                throw this.failure("Addresses not found");
+            }
+
+            private RuntimeException failure(String notFound) {
+                if (cause instanceof NotFoundException || cause instanceof FeignException.NotFound) {
+                    return new EntityNotFoundException(notFound);
+                }
+                return new ServiceUnavailableException("Addresses service unavailable", cause);
+            }
+        };
     }
 }
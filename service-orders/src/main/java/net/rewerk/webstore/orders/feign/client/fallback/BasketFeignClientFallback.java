@@ -1,27 +1,49 @@
 package net.rewerk.webstore.orders.feign.client.fallback;
 
+import feign.FeignException;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.ws.rs.NotFoundException;
 import lombok.extern.slf4j.Slf4j;
+import net.rewerk.exception.ServiceUnavailableException;
 import net.rewerk.webstore.dto.request.basket.BasketMultipleDeleteDto;
 import net.rewerk.webstore.dto.response.PayloadResponseDto;
 import net.rewerk.webstore.dto.response.basket.BasketResponseDto;
 import net.rewerk.webstore.orders.feign.client.BasketFeignClient;
+import org.springframework.cloud.openfeign.FallbackFactory;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
 
+/**
+ * Basket Feign client fallback factory
+ * Not found responses are reported as missing baskets, any other failure as unavailable service,
+ * so callers can retry instead of treating outage as missing data
+ *
+ * @author rewerk
+ */
+
 @Component
 @Slf4j
-public class BasketFeignClientFallback implements BasketFeignClient {
+public class BasketFeignClientFallback implements FallbackFactory<BasketFeignClient> {
     @Override
-    public PayloadResponseDto<BasketResponseDto> getBasketsByIdsAndUserId(List<Integer> ids) {
-        log.error("BasketFeignClient: fallback getBasketsByIdsAndUserId called, ids: {}", ids);
-        throw new EntityNotFoundException("Baskets not found");
-    }
+    public BasketFeignClient create(Throwable cause) {
+        return new BasketFeignClient() {
+            @Override
+            public PayloadResponseDto<BasketResponseDto> getBasketsByIdsAndUserId(List<Integer> ids) {
+                log.error("BasketFeignClient: fallback getBasketsByIdsAndUserId called, ids: {}, cause: {}",
+                        ids, cause.toString());
+                if (cause instanceof NotFoundException || cause instanceof FeignException.NotFound) {
+                    throw new EntityNotFoundException("Baskets not found");
+                }
+                throw new ServiceUnavailableException("Basket service unavailable", cause);
+            }
 
-    @Override
-    public void deleteBasketsByIds(BasketMultipleDeleteDto basketMultipleDeleteDto) {
-        log.error("BasketFeignClient: fallback deleteBasketsByIds called, dto: {}", basketMultipleDeleteDto);
-        throw new RuntimeException("Failed to delete baskets");
+            @Override
+            public void deleteBasketsByIds(BasketMultipleDeleteDto basketMultipleDeleteDto) {
+                log.error("BasketFeignClient: fallback deleteBasketsByIds called, dto: {}, cause: {}",
+                        basketMultipleDeleteDto, cause.toString());
+                throw new RuntimeException("Failed to delete baskets");
+            }
+        };
     }
 }
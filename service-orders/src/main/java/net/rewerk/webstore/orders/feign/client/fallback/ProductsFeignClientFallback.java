@@ -4,9 +4,11 @@ import jakarta.persistence.EntityNotFoundException;
 import jakarta.ws.rs.BadRequestException;
 import lombok.extern.slf4j.Slf4j;
 import net.rewerk.webstore.dto.request.product.ProductBatchPatchRequestDto;
+import net.rewerk.webstore.dto.request.product.ProductStockReservationDto;
 import net.rewerk.webstore.dto.response.PayloadResponseDto;
 import net.rewerk.webstore.dto.response.SinglePayloadResponseDto;
 import net.rewerk.webstore.dto.response.product.ProductResponseDto;
+import net.rewerk.webstore.dto.response.product.ProductStockReservationResponseDto;
 import net.rewerk.webstore.orders.feign.client.ProductsFeignClient;
 import org.springframework.stereotype.Component;
 
@@ -32,4 +34,12 @@ public class ProductsFeignClientFallback implements ProductsFeignClient {
         log.error("ProductsFeign: fallback updateProducts called. dto: {}", productBatchPatchRequestDto);
         throw new BadRequestException("Update products failed");
     }
+
+    @Override
+    public SinglePayloadResponseDto<ProductStockReservationResponseDto> reserveStock(
+            ProductStockReservationDto productStockReservationDto
+    ) {
+        log.error("ProductsFeign: fallback reserveStock called. dto: {}", productStockReservationDto);
+        throw new BadRequestException("Reserve products stock failed");
+    }
 }
@@ -0,0 +1,43 @@
+package net.rewerk.webstore.orders.mq;
+
+/**
+ * Spring Cloud Streams output bindings, messages are written to them through outbox
+ *
+ * @author rewerk
+ */
+
+public final class Bindings {
+
+    /**
+     * Output binding of write events SCS queue
+     */
+
+    public static final String EVENTS_WRITE = "writeEventsMQProducer-out-0";
+
+    /**
+     * Output binding of orders changes SCS queue
+     */
+
+    public static final String ORDERS_CHANGE = "ordersChangeMQProducer-out-0";
+
+    /**
+     * Output binding of orders checkout SCS queue
+     */
+
+    public static final String CHECKOUT_START = "checkoutStartMQProducer-out-0";
+
+    /**
+     * Output binding of checkout stock commands SCS queue
+     */
+
+    public static final String CHECKOUT_STOCK_COMMAND = "checkoutStockCommandMQProducer-out-0";
+
+    /**
+     * Output binding of basket clear commands SCS queue
+     */
+
+    public static final String BASKET_CLEAR = "basketClearMQProducer-out-0";
+
+    private Bindings() {
+    }
+}
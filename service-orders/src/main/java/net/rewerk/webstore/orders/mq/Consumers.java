@@ -0,0 +1,53 @@
+package net.rewerk.webstore.orders.mq;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.rewerk.webstore.dto.mq.checkout.CheckoutStartDto;
+import net.rewerk.webstore.dto.mq.checkout.CheckoutStockReplyDto;
+import net.rewerk.webstore.orders.service.checkout.CheckoutService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.Message;
+
+import java.util.function.Consumer;
+
+/**
+ * Spring Cloud Streams consumers
+ *
+ * @author rewerk
+ */
+
+@RequiredArgsConstructor
+@Configuration
+@Slf4j
+public class Consumers {
+    private final CheckoutService checkoutService;
+
+    /**
+     * Consumer for checkout start of accepted orders
+     *
+     * @return Consumer for checkout start
+     */
+
+    @Bean
+    public Consumer<Message<CheckoutStartDto>> checkoutStartMQConsumer() {
+        return message -> {
+            log.info("SCS checkout start mq consumer: consumed {}", message.getPayload());
+            checkoutService.process(message.getPayload());
+        };
+    }
+
+    /**
+     * Consumer for stock reservation replies of products service
+     *
+     * @return Consumer for checkout stock replies
+     */
+
+    @Bean
+    public Consumer<Message<CheckoutStockReplyDto>> checkoutStockReplyMQConsumer() {
+        return message -> {
+            log.info("SCS checkout stock reply mq consumer: consumed {}", message.getPayload());
+            checkoutService.complete(message.getPayload());
+        };
+    }
+}
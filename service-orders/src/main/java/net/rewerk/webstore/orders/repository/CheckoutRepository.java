@@ -0,0 +1,17 @@
+package net.rewerk.webstore.orders.repository;
+
+import java.util.List;
+
+/**
+ * Order repository fragment for checkout state of PENDING orders
+ *
+ * @author rewerk
+ */
+
+public interface CheckoutRepository {
+    void createCheckout(Integer orderId, List<Integer> basketIds);
+
+    List<Integer> findCheckoutBasketIds(Integer orderId);
+
+    void deleteCheckout(Integer orderId);
+}
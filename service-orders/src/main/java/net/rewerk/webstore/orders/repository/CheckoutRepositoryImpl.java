@@ -0,0 +1,58 @@
+package net.rewerk.webstore.orders.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Order repository fragment implementation
+ *
+ * @author rewerk
+ */
+
+@RequiredArgsConstructor
+public class CheckoutRepositoryImpl implements CheckoutRepository {
+    private static final String CREATE = "insert into checkouts (order_id, basket_ids) values (?, ?)";
+    private static final String FIND_BASKET_IDS = "select basket_ids from checkouts where order_id = ?";
+    private static final String DELETE = "delete from checkouts where order_id = ?";
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Create checkout state of accepted order
+     *
+     * @param orderId   Order identifier
+     * @param basketIds Basket identifiers to order
+     */
+
+    @Override
+    public void createCheckout(Integer orderId, List<Integer> basketIds) {
+        jdbcTemplate.update(CREATE, orderId, basketIds.toArray(Integer[]::new));
+    }
+
+    /**
+     * Find basket identifiers of checkout
+     *
+     * @param orderId Order identifier
+     * @return List of basket identifiers, empty if checkout is not found
+     */
+
+    @Override
+    public List<Integer> findCheckoutBasketIds(Integer orderId) {
+        return jdbcTemplate.query(FIND_BASKET_IDS,
+                rs -> rs.next() ? Arrays.asList((Integer[]) rs.getArray(1).getArray()) : List.of(),
+                orderId);
+    }
+
+    /**
+     * Delete checkout state of completed or rejected order
+     *
+     * @param orderId Order identifier
+     */
+
+    @Override
+    public void deleteCheckout(Integer orderId) {
+        jdbcTemplate.update(DELETE, orderId);
+    }
+}
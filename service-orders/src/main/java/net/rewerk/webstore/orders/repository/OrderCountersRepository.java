@@ -0,0 +1,16 @@
+package net.rewerk.webstore.orders.repository;
+
+import net.rewerk.webstore.entity.Order;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Map;
+
+/**
+ * Order repository fragment for aggregate counters
+ *
+ * @author rewerk
+ */
+
+public interface OrderCountersRepository {
+    Map<Order.Status, Long> countByStatus(Specification<Order> specification);
+}
@@ -0,0 +1,55 @@
+package net.rewerk.webstore.orders.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import net.rewerk.webstore.entity.Order;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Order repository fragment implementation
+ *
+ * @author rewerk
+ */
+
+@RequiredArgsConstructor
+public class OrderCountersRepositoryImpl implements OrderCountersRepository {
+    private final EntityManager entityManager;
+
+    /**
+     * Count Orders matching specification grouped by status with a single aggregate query
+     *
+     * @param specification Order JPA specification
+     * @return Map of Order counts by status, statuses without Orders are mapped to zero
+     */
+
+    @Override
+    public Map<Order.Status, Long> countByStatus(Specification<Order> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<Order> root = query.from(Order.class);
+        Path<Order.Status> status = root.get("status");
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.multiselect(status, cb.count(root)).groupBy(status);
+        Map<Order.Status, Long> result = new EnumMap<>(Order.Status.class);
+        for (Order.Status value : Order.Status.values()) {
+            result.put(value, 0L);
+        }
+        entityManager.createQuery(query)
+                .getResultList()
+                .stream()
+                .filter(row -> row[0] != null)
+                .forEach(row -> result.put((Order.Status) row[0], (Long) row[1]));
+        return result;
+    }
+}
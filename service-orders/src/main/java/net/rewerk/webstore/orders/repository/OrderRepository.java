@@ -1,19 +1,32 @@
 package net.rewerk.webstore.orders.repository;
 
+import jakarta.persistence.LockModeType;
 import net.rewerk.webstore.entity.Order;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.Date;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Integer>, JpaSpecificationExecutor<Order> {
+public interface OrderRepository extends JpaRepository<Order, Integer>, JpaSpecificationExecutor<Order>,
+        OrderCountersRepository, CheckoutRepository {
     Optional<Order> findByIdAndUserId(Integer id, UUID userId);
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
     Optional<Order> findByPaymentIdAndUserId(Integer paymentId, UUID userId);
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select o from Order o where o.id = ?1")
+    Optional<Order> findByIdForUpdate(Integer id);
+
     Long countByCreatedAtGreaterThan(Date createdAtIsGreaterThan);
+
+    @Query("select o.id from Order o where o.status = ?1 and o.createdAt < ?2")
+    List<Integer> findIdsByStatusAndCreatedAtLessThan(Order.Status status, Date createdAt);
 }
@@ -0,0 +1,20 @@
+package net.rewerk.webstore.orders.repository;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Payment repository fragment for per-user spend ledger
+ *
+ * @author rewerk
+ */
+
+public interface PaymentSpendRepository {
+    void addSpend(UUID userId, LocalDate day, Double sum);
+
+    Double getSpendTotal(UUID userId);
+
+    Double getSpendByDay(UUID userId, LocalDate day);
+
+    int reconcileSpend(LocalDate from);
+}
@@ -0,0 +1,113 @@
+package net.rewerk.webstore.orders.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Payment repository fragment implementation
+ *
+ * @author rewerk
+ */
+
+@RequiredArgsConstructor
+public class PaymentSpendRepositoryImpl implements PaymentSpendRepository {
+    private static final String ADD_TOTAL = "insert into payments_user_spend (user_id, total) values (?, ?)" +
+            " on conflict (user_id) do update" +
+            " set total = payments_user_spend.total + excluded.total, updated_at = now()";
+    private static final String ADD_DAILY = "insert into payments_user_spend_daily (user_id, day, total)" +
+            " values (?, ?, ?)" +
+            " on conflict (user_id, day) do update set total = payments_user_spend_daily.total + excluded.total";
+    private static final String GET_TOTAL = "select total from payments_user_spend where user_id = ?";
+    private static final String GET_DAILY = "select total from payments_user_spend_daily where user_id = ? and day = ?";
+    private static final String APPROVED = "p.status = 'APPROVED'::payments_status";
+    private static final String ENSURE_TOTAL = "insert into payments_user_spend (user_id, total)" +
+            " select distinct p.user_id, 0.0 from payments p where " + APPROVED +
+            " on conflict (user_id) do nothing";
+    private static final String LOCK_TOTAL = "select count(*) from (select 1 from payments_user_spend s" +
+            " order by s.user_id for update) l";
+    private static final String RECONCILE_TOTAL = "update payments_user_spend s" +
+            " set total = a.total, updated_at = now()" +
+            " from (select p.user_id, sum(p.sum) as total from payments p where " + APPROVED +
+            " group by p.user_id) a where a.user_id = s.user_id and s.total <> a.total";
+    private static final String DELETE_ORPHAN_TOTAL = "delete from payments_user_spend s where not exists (" +
+            "select 1 from payments p where p.user_id = s.user_id and " + APPROVED + ")";
+    private static final String ENSURE_DAILY = "insert into payments_user_spend_daily (user_id, day, total)" +
+            " select distinct p.user_id, p.updated_at::date, 0.0 from payments p" +
+            " where " + APPROVED + " and p.updated_at >= ?" +
+            " on conflict (user_id, day) do nothing";
+    private static final String LOCK_DAILY = "select count(*) from (select 1 from payments_user_spend_daily d" +
+            " where d.day >= ? order by d.user_id, d.day for update) l";
+    private static final String RECONCILE_DAILY = "update payments_user_spend_daily d set total = a.total" +
+            " from (select p.user_id, p.updated_at::date as day, sum(p.sum) as total from payments p" +
+            " where " + APPROVED + " and p.updated_at >= ? group by p.user_id, p.updated_at::date) a" +
+            " where a.user_id = d.user_id and a.day = d.day and d.total <> a.total";
+    private static final String DELETE_ORPHAN_DAILY = "delete from payments_user_spend_daily d" +
+            " where d.day >= ? and not exists (select 1 from payments p where p.user_id = d.user_id" +
+            " and " + APPROVED + " and p.updated_at >= d.day and p.updated_at < d.day + 1)";
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Add approved payment sum to user total and day bucket with atomic upserts
+     *
+     * @param userId User identifier
+     * @param day    Payment approval day
+     * @param sum    Payment sum
+     */
+
+    @Override
+    public void addSpend(UUID userId, LocalDate day, Double sum) {
+        jdbcTemplate.update(ADD_TOTAL, userId, sum);
+        jdbcTemplate.update(ADD_DAILY, userId, Date.valueOf(day), sum);
+    }
+
+    /**
+     * Get user total spend
+     *
+     * @param userId User identifier
+     * @return Sum of approved payments or null if user has no approved payments
+     */
+
+    @Override
+    public Double getSpendTotal(UUID userId) {
+        return jdbcTemplate.query(GET_TOTAL, rs -> rs.next() ? rs.getDouble(1) : null, userId);
+    }
+
+    /**
+     * Get user spend by approval day
+     *
+     * @param userId User identifier
+     * @param day    Payment approval day
+     * @return Sum of payments approved on day or null if there are none
+     */
+
+    @Override
+    public Double getSpendByDay(UUID userId, LocalDate day) {
+        return jdbcTemplate.query(GET_DAILY, rs -> rs.next() ? rs.getDouble(1) : null, userId, Date.valueOf(day));
+    }
+
+    /**
+     * Recompute ledger rows from approved payments, must be called in transaction
+     * Missing rows are created and ledger rows are locked before sums are computed, so the sums are read
+     * by later statements seeing every committed payment, and payments approved concurrently wait for the lock
+     * and add their sum on top of the recomputed total. Only rows differing from payments are written,
+     * rows without approved payments are deleted
+     *
+     * @param from First day of day buckets to recompute
+     * @return Count of corrected rows
+     */
+
+    @Override
+    public int reconcileSpend(LocalDate from) {
+        Date day = Date.valueOf(from);
+        jdbcTemplate.update(ENSURE_TOTAL);
+        jdbcTemplate.queryForObject(LOCK_TOTAL, Integer.class);
+        int corrected = jdbcTemplate.update(RECONCILE_TOTAL) + jdbcTemplate.update(DELETE_ORPHAN_TOTAL);
+        jdbcTemplate.update(ENSURE_DAILY, day);
+        jdbcTemplate.queryForObject(LOCK_DAILY, Integer.class, day);
+        return corrected + jdbcTemplate.update(RECONCILE_DAILY, day) + jdbcTemplate.update(DELETE_ORPHAN_DAILY, day);
+    }
+}
@@ -1,12 +1,11 @@
 package net.rewerk.webstore.orders.service;
 
 import net.rewerk.webstore.dto.mq.events.EventsWriteDto;
-import net.rewerk.webstore.orders.mq.Suppliers;
-import org.springframework.integration.support.MessageBuilder;
+import net.rewerk.webstore.orders.mq.Bindings;
+import net.rewerk.webstore.outbox.Outbox;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.jwt.Jwt;
-import reactor.core.publisher.Sinks;
 
 import java.util.UUID;
 
@@ -21,20 +20,19 @@ public class EventWritingService {
     /**
      * Method for send SCS message to event writing queue
      *
-     * @param suppliers SCS suppliers class
-     * @param text      Text to send for new event
+     * @param outbox Outbox of SCS messages
+     * @param text   Text to send for new event
      */
 
-    protected void writeEvent(Suppliers suppliers, String text) {
+    protected void writeEvent(Outbox outbox, String text) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null) {
             throw new UnsupportedOperationException("No authentication found");
         }
         Jwt jwt = (Jwt) authentication.getPrincipal();
-        suppliers.getEventsWriteSink().emitNext(MessageBuilder.withPayload(EventsWriteDto.builder()
+        outbox.publish(Bindings.EVENTS_WRITE, EventsWriteDto.builder()
                 .user_id(UUID.fromString(jwt.getSubject()))
                 .text(text)
-                .build()
-        ).build(), Sinks.EmitFailureHandler.FAIL_FAST);
+                .build());
     }
 }
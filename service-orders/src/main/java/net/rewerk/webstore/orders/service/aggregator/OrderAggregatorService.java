@@ -3,6 +3,7 @@ package net.rewerk.webstore.orders.service.aggregator;
 import net.rewerk.webstore.dto.response.order.OrderResponseDto;
 import net.rewerk.webstore.entity.Order;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Window;
 
 import java.util.List;
 
@@ -12,4 +13,6 @@ public interface OrderAggregatorService {
     List<OrderResponseDto> aggregate(List<Order> orders);
 
     Page<OrderResponseDto> aggregate(Page<Order> orders);
+
+    Window<OrderResponseDto> aggregate(Window<Order> orders);
 }
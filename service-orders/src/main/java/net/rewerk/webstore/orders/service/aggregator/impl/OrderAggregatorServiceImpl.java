@@ -1,10 +1,9 @@
 package net.rewerk.webstore.orders.service.aggregator.impl;
 
+import jakarta.annotation.PreDestroy;
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.rewerk.webstore.dto.response.order_product.OrderProductResponseDto;
-import net.rewerk.webstore.dto.response.PayloadResponseDto;
 import net.rewerk.webstore.dto.response.address.AddressResponseDto;
 import net.rewerk.webstore.dto.response.order.OrderResponseDto;
 import net.rewerk.webstore.dto.response.product.ProductResponseDto;
@@ -16,21 +15,32 @@ import net.rewerk.webstore.orders.feign.client.AddressesFeignClient;
 import net.rewerk.webstore.orders.feign.client.ProductsFeignClient;
 import net.rewerk.webstore.orders.feign.client.UsersFeignClient;
 import net.rewerk.webstore.orders.service.aggregator.OrderAggregatorService;
+import net.rewerk.webstore.utility.AggregationUtils;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 
 /**
  * Data aggregate service for Order responses
  * Aggregated data: list of products, user, address
+ * Order products are rendered from product snapshot captured at checkout, current products are requested
+ * only for order products without snapshot or when live products are enabled by orders.aggregator.live_products.
+ * Products, addresses and users are requested concurrently with per-call timeout,
+ * data of failed or timed out lookup is left unset
  *
  * @author rewerk
  */
 
-@RequiredArgsConstructor
 @Service
 @Slf4j
 public class OrderAggregatorServiceImpl implements OrderAggregatorService {
@@ -38,6 +48,25 @@ public class OrderAggregatorServiceImpl implements OrderAggregatorService {
     private final AddressesFeignClient addressesFeignClient;
     private final UsersFeignClient usersFeignClient;
     private final OrderDtoMapper orderDtoMapper;
+    private final ExecutorService executor;
+    private final Duration timeout;
+    private final Boolean liveProducts;
+
+    public OrderAggregatorServiceImpl(ProductsFeignClient productsFeignClient,
+                                      AddressesFeignClient addressesFeignClient,
+                                      UsersFeignClient usersFeignClient,
+                                      OrderDtoMapper orderDtoMapper,
+                                      @Value("${orders.aggregator.concurrency:32}") Integer concurrency,
+                                      @Value("${orders.aggregator.timeout_ms:2000}") Long timeout,
+                                      @Value("${orders.aggregator.live_products:false}") Boolean liveProducts) {
+        this.productsFeignClient = productsFeignClient;
+        this.addressesFeignClient = addressesFeignClient;
+        this.usersFeignClient = usersFeignClient;
+        this.orderDtoMapper = orderDtoMapper;
+        this.executor = AggregationUtils.newExecutor("orders-aggregator", concurrency);
+        this.timeout = Duration.ofMillis(timeout);
+        this.liveProducts = liveProducts;
+    }
 
     /**
      * Aggregator method for single Order entity
@@ -49,20 +78,7 @@ public class OrderAggregatorServiceImpl implements OrderAggregatorService {
     @Override
     public OrderResponseDto aggregate(@NonNull Order order) {
         log.info("Aggregating order: ID {}", order.getId());
-        PayloadResponseDto<ProductResponseDto> productPayload = productsFeignClient
-                .getProductsByIds(order.getProducts().stream()
-                        .map(OrdersProducts::getProductId)
-                        .distinct()
-                        .toList());
-        PayloadResponseDto<AddressResponseDto> addressesPayload = addressesFeignClient
-                .getAddressesById(List.of(order.getAddressId()));
-        PayloadResponseDto<UserResponseDto> usersPayload = usersFeignClient.getByIds(List.of(order.getUserId()));
-        return this.populateData(
-                orderDtoMapper.toDto(order),
-                productPayload.getPayload(),
-                addressesPayload.getPayload(),
-                usersPayload.getPayload()
-        );
+        return this.aggregate(List.of(order)).getFirst();
     }
 
     /**
@@ -75,27 +91,47 @@ public class OrderAggregatorServiceImpl implements OrderAggregatorService {
     @Override
     public List<OrderResponseDto> aggregate(List<Order> orders) {
         log.info("Aggregating list of orders: SIZE {}", orders.size());
-        PayloadResponseDto<ProductResponseDto> productsPayload = productsFeignClient
-                .getProductsByIds(orders.stream()
+        CompletableFuture<List<ProductResponseDto>> products = AggregationUtils.fetch(
+                "products",
+                orders.stream()
                         .flatMap(order -> order.getProducts().stream())
+                        .filter(orderProduct -> liveProducts || orderProduct.getName() == null)
                         .map(OrdersProducts::getProductId)
                         .distinct()
-                        .toList()
-                );
-        PayloadResponseDto<AddressResponseDto> addressesPayload = addressesFeignClient
-                .getAddressesById(orders.stream()
+                        .toList(),
+                productsFeignClient::getProductsByIds,
+                executor,
+                timeout
+        );
+        CompletableFuture<List<AddressResponseDto>> addresses = AggregationUtils.fetch(
+                "addresses",
+                orders.stream()
                         .map(Order::getAddressId)
-                        .toList());
-        PayloadResponseDto<UserResponseDto> usersPayload = usersFeignClient
-                .getByIds(orders.stream()
+                        .distinct()
+                        .toList(),
+                addressesFeignClient::getAddressesById,
+                executor,
+                timeout
+        );
+        CompletableFuture<List<UserResponseDto>> users = AggregationUtils.fetch(
+                "users",
+                orders.stream()
                         .map(Order::getUserId)
-                        .toList());
+                        .distinct()
+                        .toList(),
+                usersFeignClient::getByIds,
+                executor,
+                timeout
+        );
+        Map<Integer, ProductResponseDto> productsById = AggregationUtils.indexBy(products.join(), ProductResponseDto::getId);
+        Map<Integer, AddressResponseDto> addressesById = AggregationUtils.indexBy(addresses.join(), AddressResponseDto::getId);
+        Map<UUID, UserResponseDto> usersById = AggregationUtils.indexBy(users.join(), UserResponseDto::getId);
         return orders.stream()
                 .map(order -> this.populateData(
                         orderDtoMapper.toDto(order),
-                        productsPayload.getPayload(),
-                        addressesPayload.getPayload(),
-                        usersPayload.getPayload()
+                        productsById,
+                        addressesById,
+                        usersById
                 ))
                 .toList();
     }
@@ -113,31 +149,56 @@ public class OrderAggregatorServiceImpl implements OrderAggregatorService {
         return new PageImpl<>(this.aggregate(page.getContent()), page.getPageable(), page.getTotalElements());
     }
 
+    /**
+     * Aggregator method for keyset window of Order entity
+     *
+     * @param window Window of Order entity to aggregate data
+     * @return Window of Order response DTO with aggregated data and source scroll positions
+     */
+
+    @Override
+    public Window<OrderResponseDto> aggregate(Window<Order> window) {
+        log.info("Aggregating window of orders: SIZE {}", window.size());
+        return Window.from(this.aggregate(window.getContent()), window::positionAt, window.hasNext());
+    }
+
+    /**
+     * Stop aggregator lookups executor on context shutdown
+     */
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
     /**
      * Internal method for populate data to single Order entity
      *
      * @param order     Order entity to populate data
-     * @param products  List of ProductResponseDto
-     * @param addresses List of AddressResponseDto
-     * @param users     List of UserResponseDto
+     * @param products  ProductResponseDto indexed by identifier
+     * @param addresses AddressResponseDto indexed by identifier
+     * @param users     UserResponseDto indexed by identifier
      * @return Order response DTO populated with data
      */
 
     private OrderResponseDto populateData(OrderResponseDto order,
-                                          List<ProductResponseDto> products,
-                                          List<AddressResponseDto> addresses,
-                                          List<UserResponseDto> users) {
+                                          Map<Integer, ProductResponseDto> products,
+                                          Map<Integer, AddressResponseDto> addresses,
+                                          Map<UUID, UserResponseDto> users) {
         order.setProducts(order.getProducts()
                 .stream()
                 .map(orderProduct -> {
-                    OrderProductResponseDto orderProductResponseDto = new OrderProductResponseDto();
-                    orderProductResponseDto.setId(orderProduct.getId());
-                    orderProductResponseDto.setOrderId(order.getId());
-                    Optional<ProductResponseDto> product = products.stream()
-                            .filter(p -> p.getId().equals(orderProduct.getProductId()))
-                            .findFirst();
-                    if (product.isPresent()) {
-                        orderProductResponseDto.setProduct(product.get());
+                    OrderProductResponseDto orderProductResponseDto = OrderProductResponseDto.builder()
+                            .id(orderProduct.getId())
+                            .orderId(order.getId())
+                            .productId(orderProduct.getProductId())
+                            .name(orderProduct.getName())
+                            .price(orderProduct.getPrice())
+                            .image(orderProduct.getImage())
+                            .build();
+                    ProductResponseDto product = products.get(orderProduct.getProductId());
+                    if (product != null || orderProduct.getName() != null) {
+                        orderProductResponseDto.setProduct(product);
                         orderProductResponseDto.setAmount(orderProduct.getAmount());
                     } else {
                         orderProductResponseDto.setAmount(1);
@@ -146,14 +207,8 @@ public class OrderAggregatorServiceImpl implements OrderAggregatorService {
                 })
                 .toList()
         );
-        Optional<AddressResponseDto> address = addresses.stream()
-                .filter(a -> order.getAddressId().equals(a.getId()))
-                .findFirst();
-        Optional<UserResponseDto> user = users.stream()
-                .filter(u -> order.getUserId().equals(u.getId()))
-                .findFirst();
-        address.ifPresent(order::setAddress);
-        user.ifPresent(order::setUser);
+        Optional.ofNullable(addresses.get(order.getAddressId())).ifPresent(order::setAddress);
+        Optional.ofNullable(users.get(order.getUserId())).ifPresent(order::setUser);
         return order;
     }
 }
@@ -0,0 +1,7 @@
+package net.rewerk.webstore.orders.service.change;
+
+import java.util.UUID;
+
+public interface OrdersChangeService {
+    void ordersChanged(UUID userId);
+}
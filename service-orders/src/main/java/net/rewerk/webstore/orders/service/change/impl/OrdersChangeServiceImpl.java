@@ -0,0 +1,42 @@
+package net.rewerk.webstore.orders.service.change.impl;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.rewerk.webstore.dto.mq.orders.OrdersChangeDto;
+import net.rewerk.webstore.orders.mq.Bindings;
+import net.rewerk.webstore.orders.service.change.OrdersChangeService;
+import net.rewerk.webstore.outbox.Outbox;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+
+/**
+ * Orders change service implementation
+ * Publishes owner of created or changed orders to orders changes SCS queue through outbox,
+ * so consumers drop cached user summaries only when the change is committed
+ *
+ * @author rewerk
+ */
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrdersChangeServiceImpl implements OrdersChangeService {
+    private final Outbox outbox;
+
+    /**
+     * Publish change of user Order entities
+     *
+     * @param userId User identifier, owner of changed orders
+     */
+
+    @Override
+    public void ordersChanged(@NonNull UUID userId) {
+        OrdersChangeDto dto = OrdersChangeDto.builder()
+                .user_id(userId)
+                .build();
+        log.info("OrdersChangeServiceImpl.ordersChanged: send orders change message to SCS queue: {}", dto);
+        outbox.publish(Bindings.ORDERS_CHANGE, userId, dto);
+    }
+}
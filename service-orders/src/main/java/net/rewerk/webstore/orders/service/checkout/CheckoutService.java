@@ -0,0 +1,17 @@
+package net.rewerk.webstore.orders.service.checkout;
+
+import net.rewerk.webstore.dto.mq.checkout.CheckoutStartDto;
+import net.rewerk.webstore.dto.mq.checkout.CheckoutStockReplyDto;
+import net.rewerk.webstore.entity.Order;
+
+import java.util.List;
+
+public interface CheckoutService {
+    void start(Order order, List<Integer> basketIds);
+
+    void process(CheckoutStartDto dto);
+
+    void complete(CheckoutStockReplyDto dto);
+
+    void expire();
+}
@@ -0,0 +1,302 @@
+package net.rewerk.webstore.orders.service.checkout.impl;
+
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.ws.rs.NotFoundException;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import net.rewerk.exception.UnprocessableOperation;
+import net.rewerk.webstore.dto.mq.checkout.CheckoutStartDto;
+import net.rewerk.webstore.dto.mq.checkout.CheckoutStockCommandDto;
+import net.rewerk.webstore.dto.mq.checkout.CheckoutStockReplyDto;
+import net.rewerk.webstore.dto.request.basket.BasketMultipleDeleteDto;
+import net.rewerk.webstore.dto.response.address.AddressResponseDto;
+import net.rewerk.webstore.dto.response.basket.BasketResponseDto;
+import net.rewerk.webstore.dto.response.product.ProductResponseDto;
+import net.rewerk.webstore.entity.Order;
+import net.rewerk.webstore.entity.OrdersProducts;
+import net.rewerk.webstore.entity.Payment;
+import net.rewerk.webstore.orders.feign.client.AddressesFeignClient;
+import net.rewerk.webstore.orders.feign.client.BasketFeignClient;
+import net.rewerk.webstore.orders.mq.Bindings;
+import net.rewerk.webstore.orders.repository.OrderRepository;
+import net.rewerk.webstore.orders.service.change.OrdersChangeService;
+import net.rewerk.webstore.orders.service.checkout.CheckoutService;
+import net.rewerk.webstore.outbox.Outbox;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * Checkout saga service implementation
+ * Order is accepted as PENDING and checked out by steps driven by SCS queues:
+ * lookup of address and baskets, stock reservation by products service, confirmation and basket clearing
+ * by users service. Steps are idempotent: messages of orders which are not PENDING anymore are skipped and
+ * stock is reserved and released by reservation identifier derived from order identifier.
+ * Rejected and expired checkouts release reserved stock.
+ * Every step locks the order row, so concurrent steps and expiration do not overwrite each other's status.
+ * Remote lookups are done before the row is locked, unavailable services fail the step to be redelivered
+ *
+ * @author rewerk
+ */
+
+@Service
+@Transactional
+@Slf4j
+public class CheckoutServiceImpl implements CheckoutService {
+    private final OrderRepository orderRepository;
+    private final AddressesFeignClient addressesFeignClient;
+    private final BasketFeignClient basketFeignClient;
+    private final OrdersChangeService ordersChangeService;
+    private final Outbox outbox;
+    private final TransactionTemplate transactionTemplate;
+    private final Long timeout;
+
+    public CheckoutServiceImpl(OrderRepository orderRepository,
+                               AddressesFeignClient addressesFeignClient,
+                               BasketFeignClient basketFeignClient,
+                               OrdersChangeService ordersChangeService,
+                               Outbox outbox,
+                               TransactionTemplate transactionTemplate,
+                               @Value("${orders.checkout.timeout_minutes:15}") Long timeout) {
+        this.orderRepository = orderRepository;
+        this.addressesFeignClient = addressesFeignClient;
+        this.basketFeignClient = basketFeignClient;
+        this.ordersChangeService = ordersChangeService;
+        this.outbox = outbox;
+        this.transactionTemplate = transactionTemplate;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Start checkout of accepted order: basket identifiers are saved as checkout state
+     * and checkout start message is written to outbox
+     *
+     * @param order     Accepted PENDING order
+     * @param basketIds Basket identifiers to order
+     */
+
+    @Override
+    public void start(@NonNull Order order, @NonNull List<Integer> basketIds) {
+        log.info("CheckoutServiceImpl.start: order.id = {}, basketIds = {}", order.getId(), basketIds);
+        orderRepository.createCheckout(order.getId(), basketIds);
+        outbox.publish(Bindings.CHECKOUT_START, order.getId(), CheckoutStartDto.builder()
+                .order_id(order.getId())
+                .user_id(order.getUserId())
+                .build());
+    }
+
+    /**
+     * Check address and baskets of accepted order, fill order products with product snapshot and payment sum
+     * and request stock reservation. Order is rejected if address or baskets are not found or products
+     * are not available. Remote lookups run before the order row is locked and order status is checked again
+     * after locking. Unavailable services fail the step, so the message is redelivered and the step retried
+     *
+     * @param dto Checkout start DTO
+     */
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void process(@NonNull CheckoutStartDto dto) {
+        log.info("CheckoutServiceImpl.process: dto = {}", dto);
+        Order pending = transactionTemplate.execute(_ -> orderRepository.findById(dto.getOrder_id())
+                .filter(order -> Order.Status.PENDING.equals(order.getStatus()))
+                .orElse(null));
+        if (pending == null) {
+            log.info("CheckoutServiceImpl.process: order {} is not pending, step skipped", dto.getOrder_id());
+            return;
+        }
+        List<BasketResponseDto> baskets = null;
+        String rejection = null;
+        try {
+            baskets = this.lookup(pending, transactionTemplate.execute(_ ->
+                    orderRepository.findCheckoutBasketIds(pending.getId())));
+        } catch (UnprocessableOperation | EntityNotFoundException | NotFoundException e) {
+            rejection = e.getMessage();
+        }
+        List<BasketResponseDto> ordered = baskets;
+        String reason = rejection;
+        transactionTemplate.executeWithoutResult(_ -> {
+            Order order = this.findPending(dto.getOrder_id());
+            if (order == null) {
+                return;
+            }
+            if (order.getProducts() != null && !order.getProducts().isEmpty()) {
+                this.reserve(order);
+                return;
+            }
+            if (reason != null) {
+                log.error("CheckoutServiceImpl.process: order {} is rejected: {}", order.getId(), reason);
+                this.reject(order);
+                return;
+            }
+            order.setProducts(new ArrayList<>(ordered.stream()
+                    .map(basket -> OrdersProducts.builder()
+                            .productId(basket.getProduct().getId())
+                            .amount(basket.getAmount())
+                            .name(basket.getProduct().getName())
+                            .price(this.price(basket.getProduct()))
+                            .image(basket.getProduct().getImages() == null ? null :
+                                    basket.getProduct().getImages().stream().findFirst().orElse(null))
+                            .build())
+                    .toList()));
+            order.getPayment().setSum(ordered.stream()
+                    .mapToDouble(basket -> basket.getAmount() * this.price(basket.getProduct()))
+                    .sum());
+            orderRepository.save(order);
+            this.reserve(order);
+        });
+    }
+
+    /**
+     * Complete checkout by stock reservation reply: confirm order and clear ordered baskets if stock is reserved
+     * or reject order. Stock reserved for order which is already rejected is released
+     *
+     * @param dto Checkout stock reply DTO
+     */
+
+    @Override
+    public void complete(@NonNull CheckoutStockReplyDto dto) {
+        log.info("CheckoutServiceImpl.complete: dto = {}", dto);
+        Order order = orderRepository.findByIdForUpdate(dto.getOrder_id()).orElse(null);
+        if (order == null || !Order.Status.PENDING.equals(order.getStatus())) {
+            if (Boolean.TRUE.equals(dto.getReserved())
+                    && (order == null || Order.Status.REJECTED.equals(order.getStatus()))) {
+                log.warn("CheckoutServiceImpl.complete: stock reserved for rejected order {}", dto.getOrder_id());
+                this.release(dto.getOrder_id());
+            }
+            return;
+        }
+        if (!Boolean.TRUE.equals(dto.getReserved())) {
+            log.error("CheckoutServiceImpl.complete: not enough balance of products {} for order {}",
+                    dto.getFailed(), order.getId());
+            this.reject(order);
+            return;
+        }
+        order.setStatus(Order.Status.CREATED);
+        orderRepository.save(order);
+        List<Integer> basketIds = orderRepository.findCheckoutBasketIds(order.getId());
+        orderRepository.deleteCheckout(order.getId());
+        if (!basketIds.isEmpty()) {
+            outbox.publish(Bindings.BASKET_CLEAR, order.getId(), BasketMultipleDeleteDto.builder()
+                    .basket_ids(basketIds)
+                    .user_id(order.getUserId())
+                    .build());
+        }
+        ordersChangeService.ordersChanged(order.getUserId());
+    }
+
+    /**
+     * Reject PENDING orders not completed within checkout timeout and release their stock
+     * Every order is rejected in its own transaction after its row is locked and its status is checked again,
+     * so an order completed meanwhile is kept
+     */
+
+    @Scheduled(cron = "${orders.checkout.expire_cron:0 * * * * *}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Override
+    public void expire() {
+        List<Integer> expired = orderRepository.findIdsByStatusAndCreatedAtLessThan(
+                Order.Status.PENDING,
+                Date.from(Instant.now().minus(timeout, ChronoUnit.MINUTES))
+        );
+        if (!expired.isEmpty()) {
+            log.warn("CheckoutServiceImpl.expire: rejecting {} expired checkouts", expired.size());
+        }
+        for (Integer orderId : expired) {
+            try {
+                transactionTemplate.executeWithoutResult(_ -> {
+                    Order order = this.findPending(orderId);
+                    if (order != null) {
+                        this.reject(order);
+                    }
+                });
+            } catch (RuntimeException e) {
+                log.error("CheckoutServiceImpl.expire: order {} was not rejected: {}", orderId, e.getMessage());
+            }
+        }
+    }
+
+    private Order findPending(Integer orderId) {
+        Order order = orderRepository.findByIdForUpdate(orderId).orElse(null);
+        if (order == null || !Order.Status.PENDING.equals(order.getStatus())) {
+            log.info("CheckoutServiceImpl.findPending: order {} is not pending, step skipped", orderId);
+            return null;
+        }
+        return order;
+    }
+
+    private List<BasketResponseDto> lookup(Order order, List<Integer> basketIds) {
+        List<AddressResponseDto> addresses = addressesFeignClient.getAddresses(order.getUserId()).getPayload();
+        if (addresses.stream().noneMatch(address -> Objects.equals(address.getId(), order.getAddressId()))) {
+            throw new EntityNotFoundException("Address not found");
+        }
+        List<BasketResponseDto> baskets = basketFeignClient.getBasketsByIdsAndUserId(basketIds).getPayload()
+                .stream()
+                .filter(Objects::nonNull)
+                .filter(basket -> Objects.equals(basket.getUserId(), order.getUserId()))
+                .toList();
+        if (baskets.isEmpty()) {
+            throw new EntityNotFoundException("Basket not found");
+        }
+        if (baskets.stream().anyMatch(basket -> basket.getProduct() == null)) {
+            log.error("CheckoutServiceImpl.lookup: products of baskets {} of order {} not found", baskets.stream()
+                    .filter(basket -> basket.getProduct() == null)
+                    .map(BasketResponseDto::getId)
+                    .toList(), order.getId());
+            throw new EntityNotFoundException("Product not found");
+        }
+        if (!baskets.stream().map(BasketResponseDto::getProduct).allMatch(ProductResponseDto::isAvailable)) {
+            throw new UnprocessableOperation("Product not available");
+        }
+        return baskets;
+    }
+
+    private Double price(ProductResponseDto product) {
+        return product.getDiscountPrice() != null && product.getDiscountPrice() < product.getPrice() ?
+                product.getDiscountPrice() :
+                product.getPrice();
+    }
+
+    private void reserve(Order order) {
+        Map<Integer, Integer> items = new HashMap<>();
+        order.getProducts().forEach(product -> items.merge(product.getProductId(), product.getAmount(), Integer::sum));
+        outbox.publish(Bindings.CHECKOUT_STOCK_COMMAND, order.getId(), CheckoutStockCommandDto.builder()
+                .action(CheckoutStockCommandDto.Action.RESERVE)
+                .reservation_id(this.reservationId(order.getId()))
+                .order_id(order.getId())
+                .items(items)
+                .build());
+    }
+
+    private void release(Integer orderId) {
+        outbox.publish(Bindings.CHECKOUT_STOCK_COMMAND, orderId, CheckoutStockCommandDto.builder()
+                .action(CheckoutStockCommandDto.Action.RELEASE)
+                .reservation_id(this.reservationId(orderId))
+                .order_id(orderId)
+                .build());
+    }
+
+    private void reject(Order order) {
+        order.setStatus(Order.Status.REJECTED);
+        if (order.getPayment() != null) {
+            order.getPayment().setStatus(Payment.Status.REJECTED);
+        }
+        orderRepository.save(order);
+        orderRepository.deleteCheckout(order.getId());
+        if (order.getProducts() != null && !order.getProducts().isEmpty()) {
+            this.release(order.getId());
+        }
+        ordersChangeService.ordersChanged(order.getUserId());
+    }
+
+    private String reservationId(Integer orderId) {
+        return "order-" + orderId;
+    }
+}
@@ -10,6 +10,8 @@ import net.rewerk.webstore.dto.response.order.OrderCountersResponseDto;
 import net.rewerk.webstore.dto.response.order.OrderResponseDto;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.util.UUID;
@@ -29,5 +31,7 @@ public interface OrderService {
 
     Page<OrderResponseDto> findAll(Specification<Order> specification, Pageable pageable);
 
+    Window<OrderResponseDto> findAll(Specification<Order> specification, ScrollPosition position, Pageable pageable);
+
     OrderStatsReportResponseDto collectStats();
 }
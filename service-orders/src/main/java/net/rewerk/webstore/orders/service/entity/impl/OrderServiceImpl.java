@@ -4,37 +4,28 @@ import jakarta.persistence.EntityNotFoundException;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import net.rewerk.exception.UnprocessableOperation;
-import net.rewerk.webstore.dto.request.basket.BasketMultipleDeleteDto;
 import net.rewerk.webstore.dto.request.order.OrderCreateDto;
 import net.rewerk.webstore.dto.request.order.OrderPatchDto;
 import net.rewerk.webstore.dto.request.order.OrderSearchDto;
-import net.rewerk.webstore.dto.request.product.ProductBatchPatchRequestDto;
-import net.rewerk.webstore.dto.request.product.ProductPatchDto;
-import net.rewerk.webstore.dto.response.PaginatedPayloadResponseDto;
-import net.rewerk.webstore.dto.response.PayloadResponseDto;
-import net.rewerk.webstore.dto.response.address.AddressResponseDto;
-import net.rewerk.webstore.dto.response.basket.BasketResponseDto;
 import net.rewerk.webstore.dto.response.order.OrderCountersResponseDto;
 import net.rewerk.webstore.dto.response.order.OrderResponseDto;
 import net.rewerk.webstore.dto.response.order.OrderStatsReportResponseDto;
-import net.rewerk.webstore.dto.response.product.ProductResponseDto;
 import net.rewerk.webstore.entity.Order;
-import net.rewerk.webstore.entity.OrdersProducts;
 import net.rewerk.webstore.entity.Payment;
 import net.rewerk.webstore.entity.User;
 import net.rewerk.webstore.orders.dto.mapper.OrderDtoMapper;
-import net.rewerk.webstore.orders.feign.client.AddressesFeignClient;
-import net.rewerk.webstore.orders.feign.client.BasketFeignClient;
-import net.rewerk.webstore.orders.feign.client.ProductsFeignClient;
-import net.rewerk.webstore.orders.mq.Suppliers;
 import net.rewerk.webstore.orders.repository.OrderRepository;
 import net.rewerk.webstore.orders.service.EventWritingService;
 import net.rewerk.webstore.orders.service.aggregator.OrderAggregatorService;
+import net.rewerk.webstore.orders.service.change.OrdersChangeService;
+import net.rewerk.webstore.orders.service.checkout.CheckoutService;
 import net.rewerk.webstore.orders.service.entity.OrderService;
 import net.rewerk.webstore.orders.specification.OrderSpecification;
+import net.rewerk.webstore.outbox.Outbox;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -55,11 +46,10 @@ import java.util.*;
 public class OrderServiceImpl extends EventWritingService implements OrderService {
     private final OrderRepository orderRepository;
     private final OrderDtoMapper orderDtoMapper;
-    private final AddressesFeignClient addressesFeignClient;
-    private final BasketFeignClient basketFeignClient;
-    private final ProductsFeignClient productsFeignClient;
     private final OrderAggregatorService orderAggregatorService;
-    private final Suppliers mqSuppliers;
+    private final Outbox outbox;
+    private final OrdersChangeService ordersChangeService;
+    private final CheckoutService checkoutService;
 
     /**
      * Method for get Order by identifier
@@ -102,7 +92,7 @@ public class OrderServiceImpl extends EventWritingService implements OrderServic
     }
 
     /**
-     * Method for retrieve Order counters (active, completed)
+     * Method for retrieve Order counters (active, completed and per status) with a single grouped query
      *
      * @param dto  Order Search DTO with search parameters
      * @param user Authenticated User
@@ -112,120 +102,44 @@ public class OrderServiceImpl extends EventWritingService implements OrderServic
     @Override
     public OrderCountersResponseDto getCounters(@NonNull OrderSearchDto dto, @NonNull User user) {
         log.info("OrderServiceImpl.getCounters: getting counters for {}, user.id: {}", dto, user.getId());
-        OrderSearchDto activeDto = dto.clone();
-        OrderSearchDto completedDto = dto.clone();
-        activeDto.setType("active");
-        completedDto.setType("completed");
-        Long activeTotal = orderRepository.count(OrderSpecification.getSpecification(user, activeDto));
-        Long completedTotal = orderRepository.count(OrderSpecification.getSpecification(user, completedDto));
+        OrderSearchDto searchDto = dto.clone();
+        searchDto.setType(null);
+        Map<Order.Status, Long> byStatus = orderRepository.countByStatus(
+                OrderSpecification.getSpecification(user, searchDto)
+        );
+        Long completedTotal = byStatus.get(Order.Status.RECEIVED);
+        Long total = byStatus.values().stream().mapToLong(Long::longValue).sum();
         return OrderCountersResponseDto.builder()
-                .active(activeTotal)
+                .active(total - completedTotal)
                 .completed(completedTotal)
+                .by_status(byStatus)
                 .build();
     }
 
     /**
-     * Method for create new Order
+     * Method for accept new Order, the order is created as PENDING and checked out asynchronously
      *
      * @param orderCreateDto Order Create DTO with create data
      * @param user           Authenticated user
      * @return Order response DTO
-     * @throws UnprocessableOperation  User not have address, product not available, product not have enough balance, failed to update product, failed to delete baskets
-     * @throws EntityNotFoundException Address not found, basket not found
      */
 
     @Override
-    public OrderResponseDto create(OrderCreateDto orderCreateDto, User user)
-            throws UnprocessableOperation, EntityNotFoundException {
+    public OrderResponseDto create(OrderCreateDto orderCreateDto, User user) {
         log.info("OrderServiceImpl.create: creating order {}, user.id {}", orderCreateDto, user.getId());
-        PaginatedPayloadResponseDto<AddressResponseDto> addressesPayload = addressesFeignClient
-                .getAddresses(user.getId());
-        List<AddressResponseDto> addresses = addressesPayload.getPayload();
-        if (addresses.isEmpty()) {
-            log.error("OrderServiceImpl.create: addresses is empty");
-            throw new UnprocessableOperation("User not have any address");
-        }
-        AddressResponseDto address = addresses.stream()
-                .filter(a -> Objects.equals(a.getId(), orderCreateDto.getAddress_id()))
-                .findFirst()
-                .orElseThrow(() -> {
-                    log.error("OrderServiceImpl.create: address not found");
-                    return new EntityNotFoundException("Address not found");
-                });
-        PayloadResponseDto<BasketResponseDto> basketPayload = basketFeignClient.getBasketsByIdsAndUserId(
-                orderCreateDto.getBasket_ids()
-        );
-        List<BasketResponseDto> baskets = basketPayload.getPayload().stream()
-                .filter(Objects::nonNull)
-                .filter(basket -> basket.getUserId().equals(user.getId()))
-                .toList();
-        if (baskets.isEmpty()) {
-            log.error("OrderServiceImpl.create: basket not found");
-            throw new EntityNotFoundException("Basket not found");
-        }
-        if (!baskets.stream().map(BasketResponseDto::getProduct).allMatch(ProductResponseDto::isAvailable)) {
-            log.error("OrderServiceImpl.create: product is not available");
-            throw new UnprocessableOperation("Product not available");
-        }
-        if (!baskets.stream()
-                .allMatch(basket -> basket.getProduct().getBalance() >= basket.getAmount())) {
-            log.error("OrderServiceImpl.create: not enough products balance");
-            throw new UnprocessableOperation("Not enough products balance");
-        }
-        ProductBatchPatchRequestDto productBatchPatchRequestDto = new ProductBatchPatchRequestDto();
-        Map<Integer, ProductPatchDto> productPatchDtoMap = new HashMap<>();
-        baskets.forEach(basket -> {
-            ProductResponseDto product = basket.getProduct();
-            productPatchDtoMap.put(product.getId(), ProductPatchDto.builder()
-                    .balance(product.getBalance() - basket.getAmount())
-                    .build());
-        });
-        productBatchPatchRequestDto.setData(productPatchDtoMap);
-        try {
-            productsFeignClient.updateProducts(productBatchPatchRequestDto);
-        } catch (Exception e) {
-            throw new UnprocessableOperation(e.getMessage());
-        }
-        Double totalSum = baskets.stream()
-                .filter(basket -> Objects.nonNull(basket.getProduct()))
-                .mapToDouble(
-                        basket -> basket.getAmount() * (
-                                basket.getProduct().getDiscountPrice() != null
-                                        && basket.getProduct().getDiscountPrice() < basket.getProduct().getPrice() ?
-                                        basket.getProduct().getDiscountPrice() :
-                                        basket.getProduct().getPrice()
-                        )
-                )
-                .sum();
-        Order order = Order.builder()
+        Order result = orderRepository.save(Order.builder()
                 .userId(user.getId())
-                .status(Order.Status.CREATED)
+                .status(Order.Status.PENDING)
                 .payment(Payment.builder()
                         .status(Payment.Status.CREATED)
-                        .sum(totalSum)
+                        .sum(0.0)
                         .userId(user.getId())
                         .build())
-                .products(baskets.stream()
-                        .map(basket -> OrdersProducts.builder()
-                                .productId(basket.getProduct().getId())
-                                .amount(basket.getAmount())
-                                .build())
-                        .toList()
-                )
-                .addressId(address.getId())
-                .build();
-        try {
-            basketFeignClient.deleteBasketsByIds(
-                    BasketMultipleDeleteDto.builder()
-                            .basket_ids(baskets.stream()
-                                    .map(BasketResponseDto::getId)
-                                    .toList())
-                            .user_id(user.getId())
-                            .build());
-        } catch (Exception e) {
-            throw new UnprocessableOperation(e.getMessage());
-        }
-        Order result = orderRepository.save(order);
+                .products(new ArrayList<>())
+                .addressId(orderCreateDto.getAddress_id())
+                .build());
+        checkoutService.start(result, orderCreateDto.getBasket_ids());
+        ordersChangeService.ordersChanged(user.getId());
         return orderDtoMapper.toDto(result);
     }
 
@@ -239,7 +153,8 @@ public class OrderServiceImpl extends EventWritingService implements OrderServic
     public void update(Order order) {
         log.info("OrderServiceImpl.update: order = {}", order);
         orderRepository.save(order);
-        super.writeEvent(mqSuppliers, "Updated order: ID %d".formatted(order.getId()));
+        ordersChangeService.ordersChanged(order.getUserId());
+        super.writeEvent(outbox, "Updated order: ID %d".formatted(order.getId()));
     }
 
     /**
@@ -275,6 +190,27 @@ public class OrderServiceImpl extends EventWritingService implements OrderServic
         return orderAggregatorService.aggregate(orderRepository.findAll(specification, pageable));
     }
 
+    /**
+     * Method for retrieve window of Order entities using keyset pagination
+     *
+     * @param specification Order JPA specification to search
+     * @param position      Keyset scroll position
+     * @param pageable      Pageable Spring object with window size and sort
+     * @return Window of Order response DTO
+     */
+
+    @Override
+    public Window<OrderResponseDto> findAll(Specification<Order> specification,
+                                            ScrollPosition position,
+                                            Pageable pageable) {
+        log.info("OrderServiceImpl.findAll: specification, position = {} and pageable = {}", position, pageable);
+        Window<Order> window = orderRepository.findBy(specification, query -> query
+                .sortBy(pageable.getSort())
+                .limit(pageable.getPageSize())
+                .scroll(position));
+        return orderAggregatorService.aggregate(window);
+    }
+
     /**
      * Method for collect orders statistics
      *
@@ -11,6 +11,7 @@ import net.rewerk.webstore.entity.Payment;
 import net.rewerk.webstore.orders.repository.PaymentRepository;
 import net.rewerk.webstore.orders.service.entity.OrderService;
 import net.rewerk.webstore.orders.service.entity.PaymentService;
+import net.rewerk.webstore.orders.service.ledger.SpendLedgerService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -37,6 +38,7 @@ import java.util.UUID;
 public class PaymentServiceImpl implements PaymentService {
     private final PaymentRepository paymentRepository;
     private final OrderService orderService;
+    private final SpendLedgerService spendLedgerService;
 
     /**
      * Find payment by identifier
@@ -71,7 +73,7 @@ public class PaymentServiceImpl implements PaymentService {
     }
 
     /**
-     * Method for set payment as paid
+     * Method for set payment as paid, payment sum is added to user spend ledger
      *
      * @param paymentId Payment identifier
      * @param userId    User identifier
@@ -87,14 +89,17 @@ public class PaymentServiceImpl implements PaymentService {
                     return new EntityNotFoundException("Payment not found");
                 });
         Order order = orderService.findByPaymentIdAndUserId(paymentId, userId);
-        if (List.of(Order.Status.PAID, Order.Status.RECEIVED).contains(order.getStatus())) {
-            log.error("PaymentServiceImpl.setAsPaid: order status is paid or received");
+        if (List.of(Order.Status.PENDING, Order.Status.REJECTED, Order.Status.PAID, Order.Status.RECEIVED)
+                .contains(order.getStatus())) {
+            log.error("PaymentServiceImpl.setAsPaid: order status is pending, rejected, paid or received");
             throw new UnprocessableOperation("Order status conflict");
         }
         payment.setStatus(Payment.Status.APPROVED);
         order.setStatus(Order.Status.PAID);
         orderService.update(order);
-        return paymentRepository.save(payment);
+        Payment saved = paymentRepository.save(payment);
+        spendLedgerService.addSpend(userId, saved.getSum());
+        return saved;
     }
 
     /**
@@ -123,7 +128,7 @@ public class PaymentServiceImpl implements PaymentService {
     }
 
     /**
-     * Method for collect user payments statistics
+     * Method for collect user payments statistics from spend ledger
      *
      * @param userId User identifier
      * @return PaymentStatsResponseDto with user payments statistics
@@ -132,22 +137,6 @@ public class PaymentServiceImpl implements PaymentService {
     @Override
     public PaymentStatsResponseDto getUserStats(UUID userId) {
         log.info("PaymentServiceImpl.getUserStats: userId = {}", userId);
-        Double todaySum = paymentRepository.getTotalSumByCreatedAtGreaterThanAndUserId(
-                Date.from(LocalDate.now()
-                        .atStartOfDay()
-                        .toInstant(
-                                ZoneId.systemDefault()
-                                        .getRules()
-                                        .getOffset(Instant.now())
-                        )
-                ),
-                userId
-        );
-        Double totalSum = paymentRepository.getTotalSumByUserId(userId);
-        return PaymentStatsResponseDto.builder()
-                .userId(userId)
-                .spent_today(todaySum)
-                .spent_total(totalSum)
-                .build();
+        return spendLedgerService.getUserStats(userId);
     }
 }
@@ -0,0 +1,13 @@
+package net.rewerk.webstore.orders.service.ledger;
+
+import net.rewerk.webstore.dto.response.payment.PaymentStatsResponseDto;
+
+import java.util.UUID;
+
+public interface SpendLedgerService {
+    void addSpend(UUID userId, Double sum);
+
+    PaymentStatsResponseDto getUserStats(UUID userId);
+
+    void reconcile();
+}
@@ -0,0 +1,82 @@
+package net.rewerk.webstore.orders.service.ledger.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import net.rewerk.webstore.dto.response.payment.PaymentStatsResponseDto;
+import net.rewerk.webstore.orders.repository.PaymentRepository;
+import net.rewerk.webstore.orders.service.ledger.SpendLedgerService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Per-user spend ledger service implementation
+ * Approved payment sums are added to user total and approval day bucket in the payment transaction,
+ * so user stats are read by primary key instead of summing user payments.
+ * Reconciliation recomputes the ledger from payments under ledger row locks to correct drift
+ *
+ * @author rewerk
+ */
+
+@Service
+@Transactional
+@Slf4j
+public class SpendLedgerServiceImpl implements SpendLedgerService {
+    private final PaymentRepository paymentRepository;
+    private final Integer reconcileDays;
+
+    public SpendLedgerServiceImpl(PaymentRepository paymentRepository,
+                                  @Value("${payments.spend.reconcile_days:2}") Integer reconcileDays) {
+        this.paymentRepository = paymentRepository;
+        this.reconcileDays = reconcileDays;
+    }
+
+    /**
+     * Add approved payment sum to user ledger, must be called in the transaction approving payment
+     *
+     * @param userId User identifier
+     * @param sum    Payment sum
+     */
+
+    @Override
+    public void addSpend(UUID userId, Double sum) {
+        log.info("SpendLedgerServiceImpl.addSpend: userId = {}, sum = {}", userId, sum);
+        paymentRepository.addSpend(userId, LocalDate.now(), sum);
+    }
+
+    /**
+     * Get user payments statistics from ledger
+     *
+     * @param userId User identifier
+     * @return PaymentStatsResponseDto with user payments statistics
+     */
+
+    @Override
+    @Transactional(readOnly = true)
+    public PaymentStatsResponseDto getUserStats(UUID userId) {
+        log.info("SpendLedgerServiceImpl.getUserStats: userId = {}", userId);
+        return PaymentStatsResponseDto.builder()
+                .userId(userId)
+                .spent_today(paymentRepository.getSpendByDay(userId, LocalDate.now()))
+                .spent_total(paymentRepository.getSpendTotal(userId))
+                .build();
+    }
+
+    /**
+     * Recompute user totals and recent day buckets from approved payments
+     */
+
+    @Scheduled(cron = "${payments.spend.reconcile_cron:0 30 3 * * *}")
+    @Override
+    public void reconcile() {
+        int corrected = paymentRepository.reconcileSpend(LocalDate.now().minusDays(reconcileDays - 1));
+        if (corrected > 0) {
+            log.warn("SpendLedgerServiceImpl.reconcile: corrected {} ledger rows", corrected);
+        } else {
+            log.info("SpendLedgerServiceImpl.reconcile: ledger is consistent with payments");
+        }
+    }
+}
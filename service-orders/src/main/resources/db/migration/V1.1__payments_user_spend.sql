@@ -0,0 +1,29 @@
+-- payments_user_spend table, running total of approved payments per user
+create table payments_user_spend
+(
+    user_id    uuid      not null primary key,
+    total      float     not null default 0.0,
+    updated_at timestamp not null default now()
+);
+
+-- payments_user_spend_daily table, approved payments per user and approval day
+create table payments_user_spend_daily
+(
+    user_id uuid  not null,
+    day     date  not null,
+    total   float not null default 0.0,
+    primary key (user_id, day)
+);
+
+-- backfill from approved payments
+insert into payments_user_spend (user_id, total)
+select p.user_id, sum(p.sum)
+from payments p
+where p.status = 'APPROVED'
+group by p.user_id;
+
+insert into payments_user_spend_daily (user_id, day, total)
+select p.user_id, p.updated_at::date, sum(p.sum)
+from payments p
+where p.status = 'APPROVED'
+group by p.user_id, p.updated_at::date;
@@ -0,0 +1,10 @@
+-- order accepted before checkout is completed
+alter type orders_status add value if not exists 'PENDING' before 'CREATED';
+
+-- checkouts table, state of checkouts of PENDING orders
+create table checkouts
+(
+    order_id   integer   not null primary key references orders (id) on delete cascade,
+    basket_ids integer[] not null default '{}',
+    created_at timestamp not null default now()
+);
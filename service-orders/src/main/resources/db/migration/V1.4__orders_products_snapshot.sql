@@ -0,0 +1,6 @@
+-- product snapshot of order products captured at checkout: name, unit price paid and first image
+-- order products created before have no snapshot and are rendered from current products
+alter table orders_products
+    add column if not exists name  character varying(255) default null,
+    add column if not exists price float                  default null,
+    add column if not exists image character varying(255) default null;
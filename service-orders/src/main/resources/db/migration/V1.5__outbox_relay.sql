@@ -0,0 +1,17 @@
+-- outbox relay retries transient failures with backoff, dead messages failed with non-retryable errors
+-- and hold back later messages with the same binding and key until resolved
+alter table outbox
+    add column if not exists next_attempt_at timestamp default null;
+
+create index outbox_dead_idx on outbox (binding, message_key) where dead = true;
+
+-- relay lease, only instance holding unexpired lease relays messages
+create table outbox_relay
+(
+    id          integer                not null primary key,
+    owner       character varying(255),
+    lease_until timestamp              not null
+);
+
+insert into outbox_relay (id, owner, lease_until)
+values (1, null, to_timestamp(0));
@@ -1,6 +1,8 @@
 package net.rewerk.webstore.products.configuration;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
+import net.rewerk.webstore.utility.JdbcMessageDeduplicator;
+import net.rewerk.webstore.utility.MessageDeduplicator;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
@@ -10,6 +12,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.context.support.ReloadableResourceBundleMessageSource;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
 
 import java.time.Duration;
@@ -71,4 +74,18 @@ public class ApplicationConfiguration {
         );
         return cacheManager;
     }
+
+    /**
+     * Configure deduplicator of consumed SCS messages
+     *
+     * @param jdbcTemplate JDBC template
+     * @param ttl          Time to live of processed message records in hours
+     * @return Message deduplicator
+     */
+
+    @Bean
+    public MessageDeduplicator messageDeduplicator(JdbcTemplate jdbcTemplate,
+                                                   @Value("${messages.dedup.ttl_hours:24}") Long ttl) {
+        return new JdbcMessageDeduplicator(jdbcTemplate, Duration.ofHours(ttl));
+    }
 }
@@ -84,6 +84,8 @@ public class SecurityConfiguration {
                                 .hasRole("SERVICE")
                                 .requestMatchers(HttpMethod.PATCH, "/api/v1/products")
                                 .hasRole("SERVICE")
+                                .requestMatchers(HttpMethod.POST, "/api/v1/products/stock/reservations")
+                                .hasRole("SERVICE")
                                 .requestMatchers("/actuator/**")
                                 .hasAuthority("SCOPE_metrics")
                                 .anyRequest()
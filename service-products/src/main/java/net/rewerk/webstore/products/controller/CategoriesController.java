@@ -9,7 +9,6 @@ import net.rewerk.webstore.dto.response.PayloadResponseDto;
 import net.rewerk.webstore.dto.response.SinglePayloadResponseDto;
 import net.rewerk.webstore.dto.response.category.CategoryResponseDto;
 import net.rewerk.webstore.products.service.entity.CategoryService;
-import net.rewerk.webstore.products.specification.CategorySpecification;
 import net.rewerk.webstore.utility.RequestUtils;
 import net.rewerk.webstore.utility.ResponseUtils;
 import net.rewerk.webstore.utility.SecurityUtils;
@@ -53,8 +52,8 @@ public class CategoriesController {
             Authentication authentication
     ) {
         Page<CategoryResponseDto> categories = categoryService.findAll(
-                CategorySpecification
-                        .getSpecification(requestParams, SecurityUtils.getUserFromJwtToken(jwt, authentication)),
+                requestParams,
+                SecurityUtils.getUserFromJwtToken(jwt, authentication),
                 RequestUtils.getSortAndPageRequest(requestParams)
         );
         return ResponseUtils.createPaginatedResponse(categories);
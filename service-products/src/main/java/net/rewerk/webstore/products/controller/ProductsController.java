@@ -5,16 +5,21 @@ import lombok.RequiredArgsConstructor;
 import net.rewerk.webstore.dto.request.product.ProductBatchPatchRequestDto;
 import net.rewerk.webstore.dto.request.product.ProductCreateDto;
 import net.rewerk.webstore.dto.request.product.ProductSearchDto;
+import net.rewerk.webstore.dto.request.product.ProductStockReservationDto;
 import net.rewerk.webstore.dto.response.PaginatedPayloadResponseDto;
 import net.rewerk.webstore.dto.response.PayloadResponseDto;
 import net.rewerk.webstore.dto.response.SinglePayloadResponseDto;
 import net.rewerk.webstore.dto.response.product.ProductResponseDto;
+import net.rewerk.webstore.dto.response.product.ProductStockReservationResponseDto;
+import net.rewerk.webstore.entity.Product;
 import net.rewerk.webstore.products.service.entity.ProductService;
 import net.rewerk.webstore.products.specification.ProductSpecification;
 import net.rewerk.webstore.utility.RequestUtils;
 import net.rewerk.webstore.utility.ResponseUtils;
 import net.rewerk.webstore.utility.SecurityUtils;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -53,10 +58,18 @@ public class ProductsController {
             @AuthenticationPrincipal Jwt jwt,
             Authentication authentication
     ) {
-        Page<ProductResponseDto> result = productService.findAll(
-                ProductSpecification.getSpecification(request, SecurityUtils.getUserFromJwtToken(jwt, authentication)),
-                RequestUtils.getSortAndPageRequest(request)
+        Specification<Product> specification = ProductSpecification.getSpecification(
+                request, SecurityUtils.getUserFromJwtToken(jwt, authentication)
         );
+        PageRequest pageRequest = RequestUtils.getSortAndPageRequest(request);
+        if (RequestUtils.isKeysetRequest(request)) {
+            return ResponseUtils.createPaginatedResponse(productService.findAll(
+                    specification,
+                    RequestUtils.getScrollPosition(request, pageRequest.getSort(), Product.class),
+                    pageRequest
+            ));
+        }
+        Page<ProductResponseDto> result = productService.findAll(specification, pageRequest);
         return ResponseUtils.createPaginatedResponse(result);
     }
 
@@ -138,4 +151,18 @@ public class ProductsController {
         productService.updateAll(request);
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * POST endpoint for atomic reservation of Product entities stock
+     *
+     * @param request DTO with amounts to reserve by Product identifiers
+     * @return Response with status 200 OK and single payload with reservation result
+     */
+
+    @PostMapping("/stock/reservations")
+    public ResponseEntity<SinglePayloadResponseDto<ProductStockReservationResponseDto>> reserveStock(
+            @Valid @RequestBody ProductStockReservationDto request
+    ) {
+        return ResponseUtils.createSingleResponse(productService.reserveStock(request));
+    }
 }
@@ -0,0 +1,37 @@
+package net.rewerk.webstore.products.mq;
+
+/**
+ * Spring Cloud Streams output bindings, messages are written to them through outbox
+ *
+ * @author rewerk
+ */
+
+public final class Bindings {
+
+    /**
+     * Output binding of delete upload objects SCS queue
+     */
+
+    public static final String UPLOADS_DELETE_OBJECTS = "deleteUploadObjectsMQProducer-out-0";
+
+    /**
+     * Output binding of write events SCS queue
+     */
+
+    public static final String EVENTS_WRITE = "writeEventsMQProducer-out-0";
+
+    /**
+     * Output binding of products changes SCS queue
+     */
+
+    public static final String PRODUCTS_CHANGE = "productsChangeMQProducer-out-0";
+
+    /**
+     * Output binding of checkout stock replies SCS queue
+     */
+
+    public static final String CHECKOUT_STOCK_REPLY = "checkoutStockReplyMQProducer-out-0";
+
+    private Bindings() {
+    }
+}
@@ -1,13 +1,30 @@
 package net.rewerk.webstore.products.mq;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import net.rewerk.webstore.dto.mq.checkout.CheckoutStockCommandDto;
+import net.rewerk.webstore.dto.mq.checkout.CheckoutStockReplyDto;
+import net.rewerk.webstore.dto.request.product.ProductStockReservationDto;
 import net.rewerk.webstore.dto.request.product.ProductUpdateRatingDto;
+import net.rewerk.webstore.dto.response.product.ProductStockReservationResponseDto;
+import net.rewerk.webstore.outbox.Outbox;
 import net.rewerk.webstore.products.service.entity.ProductService;
+import net.rewerk.webstore.utility.MessageDeduplicator;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.support.KafkaHeaders;
 import org.springframework.messaging.Message;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.function.Consumer;
 
 /**
@@ -21,18 +38,94 @@ import java.util.function.Consumer;
 @Slf4j
 public class Consumers {
     private final ProductService productService;
+    private final MeterRegistry meterRegistry;
+    private final Outbox outbox;
+    private final MessageDeduplicator messageDeduplicator;
+    private final TransactionTemplate transactionTemplate;
 
     /**
-     * Consumers for update product rating
+     * Batch consumer for update product rating
+     * Updates of the same product within a batch are collapsed, last value wins.
+     * Messages are keyed by product identifier, so updates of a product keep their order in batch.
+     * Redelivered messages are recorded in the transaction of ratings update and skipped
      *
      * @return Consumer for update product rating
      */
 
     @Bean
-    public Consumer<Message<ProductUpdateRatingDto>> productsUpdateRatingMQConsumer() {
+    public Consumer<Message<List<ProductUpdateRatingDto>>> productsUpdateRatingMQConsumer() {
+        Counter received = meterRegistry.counter("products.rating.updates.received");
+        Counter applied = meterRegistry.counter("products.rating.updates.applied");
+        Counter duplicates = meterRegistry.counter("products.rating.updates.duplicates");
+        DistributionSummary ratio = DistributionSummary.builder("products.rating.updates.coalescing.ratio")
+                .description("Count of consumed rating updates per applied row in batch")
+                .register(meterRegistry);
+        Timer lag = Timer.builder("products.rating.updates.lag")
+                .description("Time from rating update publication to its application")
+                .register(meterRegistry);
         return message -> {
-            log.info("SCS product update rating mq consumer: message consumed with data = {}", message.getPayload());
-            productService.updateProductRating(message.getPayload());
+            List<ProductUpdateRatingDto> updates = message.getPayload();
+            log.info("SCS product update rating mq consumer: batch consumed with size = {}", updates.size());
+            List<String> messageIds = MessageDeduplicator.messageIds(
+                    message.getHeaders().get(KafkaHeaders.BATCH_CONVERTED_HEADERS));
+            Map<Integer, Double> ratings = new LinkedHashMap<>();
+            transactionTemplate.executeWithoutResult(_ -> {
+                List<ProductUpdateRatingDto> delivered = messageDeduplicator.firstDeliveries(
+                        "productsUpdateRatingMQConsumer", updates, messageIds);
+                duplicates.increment(updates.size() - delivered.size());
+                delivered.stream()
+                        .filter(Objects::nonNull)
+                        .filter(update -> update.getId() != null && update.getRating() != null)
+                        .forEach(update -> ratings.put(update.getId(), update.getRating()));
+                productService.updateProductRatings(ratings);
+            });
+            received.increment(updates.size());
+            applied.increment(ratings.size());
+            if (!ratings.isEmpty()) {
+                ratio.record((double) updates.size() / ratings.size());
+            }
+            if (message.getHeaders().get(KafkaHeaders.RECEIVED_TIMESTAMP) instanceof List<?> timestamps) {
+                long now = System.currentTimeMillis();
+                timestamps.stream()
+                        .filter(Long.class::isInstance)
+                        .map(Long.class::cast)
+                        .forEach(timestamp -> lag.record(Duration.ofMillis(Math.max(now - timestamp, 0))));
+            }
+        };
+    }
+
+    /**
+     * Consumer for checkout stock commands
+     * Reservations are applied once by reservation identifier and replied to checkout stock replies queue
+     * through outbox in the reservation transaction, so reserved stock is never left without reply.
+     * Releases return reserved amounts to stock and are not replied
+     *
+     * @return Consumer for checkout stock commands
+     */
+
+    @Bean
+    public Consumer<Message<CheckoutStockCommandDto>> checkoutStockMQConsumer() {
+        return message -> {
+            CheckoutStockCommandDto command = message.getPayload();
+            log.info("SCS checkout stock mq consumer: consumed {}", command);
+            if (CheckoutStockCommandDto.Action.RELEASE.equals(command.getAction())) {
+                productService.releaseStock(command.getReservation_id());
+                return;
+            }
+            transactionTemplate.executeWithoutResult(_ -> {
+                ProductStockReservationResponseDto reservation = productService.reserveStock(
+                        ProductStockReservationDto.builder()
+                                .reservation_id(command.getReservation_id())
+                                .items(command.getItems())
+                                .build()
+                );
+                outbox.publish(Bindings.CHECKOUT_STOCK_REPLY, command.getOrder_id(), CheckoutStockReplyDto.builder()
+                        .reservation_id(command.getReservation_id())
+                        .order_id(command.getOrder_id())
+                        .reserved(reservation.getReserved())
+                        .failed(reservation.getFailed())
+                        .build());
+            });
         };
     }
 }
@@ -3,11 +3,16 @@ package net.rewerk.webstore.products.repository;
 import jakarta.annotation.Nullable;
 import lombok.NonNull;
 import net.rewerk.webstore.entity.Category;
+import net.rewerk.webstore.products.repository.projection.CategoryProductsCountRow;
+import net.rewerk.webstore.products.repository.projection.CategoryTreeRow;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Collection;
@@ -21,6 +26,11 @@ import java.util.List;
 
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Integer>, JpaSpecificationExecutor<Category> {
+    String ACTUAL_PRODUCTS_COUNT = "(select count(*) from products p" +
+            " where p.deleted = false and p.enabled = true and p.balance > 0" +
+            " and (p.category_id = c.id or p.category_id in (select s.id from categories s" +
+            " where s.category_id = c.id and s.deleted = false and s.enabled = true)))";
+
     @NonNull
     Page<Category> findAll(@NonNull Pageable pageable);
 
@@ -30,4 +40,35 @@ public interface CategoryRepository extends JpaRepository<Category, Integer>, Jp
     List<Category> findDistinctByIdIn(Collection<Integer> ids);
 
     Page<Category> findAllByNameLikeIgnoreCaseAndEnabled(String name, Boolean enabled, Pageable pageable);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "update categories c set products_count = " + ACTUAL_PRODUCTS_COUNT +
+            " where c.id in (:ids)", nativeQuery = true)
+    int recountProducts(@Param("ids") Collection<Integer> ids);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "update categories c set products_count = a.products_count" +
+            " from (select c.id, " + ACTUAL_PRODUCTS_COUNT + " as products_count from categories c) a" +
+            " where a.id = c.id and c.products_count <> a.products_count", nativeQuery = true)
+    int reconcileProductsCount();
+
+    @Query(value = "select c.id as \"id\", c.products_count as \"productsCount\" from categories c" +
+            " where c.id in (:ids)", nativeQuery = true)
+    List<CategoryProductsCountRow> findProductsCounts(@Param("ids") Collection<Integer> ids);
+
+    @Query(value = "select c.id as \"id\", c.products_count as \"productsCount\" from categories c" +
+            " where c.deleted = false", nativeQuery = true)
+    List<CategoryProductsCountRow> findAllProductsCounts();
+
+    @Query(value = "with recursive tree as (" +
+            " select c.id, c.name, c.description, c.icon, c.category_id, c.enabled, c.products_count," +
+            " c.created_at, c.updated_at from categories c where c.category_id is null and c.deleted = false" +
+            " union all" +
+            " select c.id, c.name, c.description, c.icon, c.category_id, c.enabled, c.products_count," +
+            " c.created_at, c.updated_at from categories c join tree t on c.category_id = t.id" +
+            " where c.deleted = false)" +
+            " select id as \"id\", name as \"name\", description as \"description\", icon as \"icon\"," +
+            " category_id as \"categoryId\", enabled as \"enabled\", products_count as \"productsCount\"," +
+            " created_at as \"createdAt\", updated_at as \"updatedAt\" from tree order by id", nativeQuery = true)
+    List<CategoryTreeRow> findTree();
 }
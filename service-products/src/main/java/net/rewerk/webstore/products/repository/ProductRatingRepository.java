@@ -0,0 +1,14 @@
+package net.rewerk.webstore.products.repository;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Product rating repository fragment for set-based rating changes
+ *
+ * @author rewerk
+ */
+
+public interface ProductRatingRepository {
+    List<Integer> updateRatings(Map<Integer, Double> ratings);
+}
@@ -0,0 +1,44 @@
+package net.rewerk.webstore.products.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Product rating repository fragment implementation
+ *
+ * @author rewerk
+ */
+
+@RequiredArgsConstructor
+public class ProductRatingRepositoryImpl implements ProductRatingRepository {
+    private static final String UPDATE_RATING = "update products set rating = ?, updated_at = now() where id = ?";
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Update ratings of products with a single JDBC batch in identifier order
+     *
+     * @param ratings Map of Product identifiers to ratings
+     * @return List of updated Product identifiers
+     */
+
+    @Override
+    public List<Integer> updateRatings(Map<Integer, Double> ratings) {
+        List<Map.Entry<Integer, Double>> entries = ratings.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .toList();
+        int[] counts = jdbcTemplate.batchUpdate(UPDATE_RATING, entries.stream()
+                .map(entry -> new Object[]{entry.getValue(), entry.getKey()})
+                .toList());
+        List<Integer> updated = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                updated.add(entries.get(i).getKey());
+            }
+        }
+        return updated;
+    }
+}
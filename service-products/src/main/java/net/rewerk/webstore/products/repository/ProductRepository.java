@@ -1,6 +1,7 @@
 package net.rewerk.webstore.products.repository;
 
 import net.rewerk.webstore.entity.Product;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -8,6 +9,7 @@ import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -17,11 +19,12 @@ import java.util.List;
  */
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Integer>, JpaSpecificationExecutor<Product> {
+public interface ProductRepository extends JpaRepository<Product, Integer>, JpaSpecificationExecutor<Product>,
+        ProductStockRepository, ProductRatingRepository {
     @Query("from Product p where p.rating > 0.0 " +
             "and p.enabled = true and p.balance > 0" +
-            " and p.category.enabled = true order by p.rating desc limit 20")
-    List<Product> findTopPopularProducts();
+            " and p.category.enabled = true order by p.rating desc, p.id")
+    List<Product> findTopPopularProducts(Limit limit);
 
     Page<Product> findAllByNameLikeIgnoreCaseAndEnabledAndBalanceGreaterThanAndCategoryEnabled(
             String name,
@@ -31,6 +34,8 @@ public interface ProductRepository extends JpaRepository<Product, Integer>, JpaS
             Pageable pageable
     );
 
+    List<Product> findAllByIdInAndBalance(Collection<Integer> ids, Integer balance);
+
     List<Product> findAllByIdInAndCategoryEnabledAndBalanceGreaterThanAndEnabled(List<Integer> ids,
                                                                                  Boolean categoryEnabled,
                                                                                  Integer minBalance,
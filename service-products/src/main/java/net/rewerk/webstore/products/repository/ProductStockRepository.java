@@ -0,0 +1,23 @@
+package net.rewerk.webstore.products.repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Product stock repository fragment for set-based balance changes
+ *
+ * @author rewerk
+ */
+
+public interface ProductStockRepository {
+    List<Integer> decrementBalances(Map<Integer, Integer> amounts);
+
+    void incrementBalances(Map<Integer, Integer> amounts);
+
+    boolean createReservation(String reservationId, Map<Integer, Integer> amounts);
+
+    Optional<Boolean> findReservationReleased(String reservationId);
+
+    Map<Integer, Integer> releaseReservation(String reservationId);
+}
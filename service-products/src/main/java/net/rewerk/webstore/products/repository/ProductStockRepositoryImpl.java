@@ -0,0 +1,127 @@
+package net.rewerk.webstore.products.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Product stock repository fragment implementation
+ *
+ * @author rewerk
+ */
+
+@RequiredArgsConstructor
+public class ProductStockRepositoryImpl implements ProductStockRepository {
+    private static final String DECREMENT_BALANCE = "update products set balance = balance - ?, updated_at = now()" +
+            " where id = ? and balance >= ? and enabled = true and deleted = false";
+    private static final String INCREMENT_BALANCE = "update products set balance = balance + ?, updated_at = now()" +
+            " where id = ?";
+    private static final String CREATE_RESERVATION = "insert into stock_reservations (id, product_ids, amounts)" +
+            " values (?, ?, ?) on conflict (id) do nothing";
+    private static final String FIND_RESERVATION_RELEASED = "select released from stock_reservations where id = ?";
+    private static final String RELEASE_RESERVATION = "insert into stock_reservations (id, released) values (?, true)" +
+            " on conflict (id) do update set released = true, updated_at = now()" +
+            " where stock_reservations.released = false" +
+            " returning product_ids, amounts";
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Atomically decrement balances of available products with a single JDBC batch
+     * Rows are updated in identifier order, so concurrent reservations lock them in the same order
+     *
+     * @param amounts Map of Product identifiers to amounts to decrement
+     * @return List of Product identifiers which are not available or have not enough balance
+     */
+
+    @Override
+    public List<Integer> decrementBalances(Map<Integer, Integer> amounts) {
+        List<Map.Entry<Integer, Integer>> entries = amounts.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .toList();
+        int[] counts = jdbcTemplate.batchUpdate(DECREMENT_BALANCE, entries.stream()
+                .map(entry -> new Object[]{entry.getValue(), entry.getKey(), entry.getValue()})
+                .toList());
+        List<Integer> failed = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                failed.add(entries.get(i).getKey());
+            }
+        }
+        return failed;
+    }
+
+    /**
+     * Increment balances of products with a single JDBC batch, rows are updated in identifier order
+     *
+     * @param amounts Map of Product identifiers to amounts to increment
+     */
+
+    @Override
+    public void incrementBalances(Map<Integer, Integer> amounts) {
+        jdbcTemplate.batchUpdate(INCREMENT_BALANCE, amounts.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(entry -> new Object[]{entry.getValue(), entry.getKey()})
+                .toList());
+    }
+
+    /**
+     * Record reservation by idempotency key
+     * Concurrent reservations with the same key wait for each other on primary key
+     *
+     * @param reservationId Reservation idempotency key
+     * @param amounts       Map of Product identifiers to reserved amounts
+     * @return True if reservation was recorded, false if key already exists
+     */
+
+    @Override
+    public boolean createReservation(String reservationId, Map<Integer, Integer> amounts) {
+        List<Map.Entry<Integer, Integer>> entries = List.copyOf(amounts.entrySet());
+        return jdbcTemplate.update(CREATE_RESERVATION,
+                reservationId,
+                entries.stream().map(Map.Entry::getKey).toArray(Integer[]::new),
+                entries.stream().map(Map.Entry::getValue).toArray(Integer[]::new)) > 0;
+    }
+
+    /**
+     * Find release flag of reservation
+     *
+     * @param reservationId Reservation idempotency key
+     * @return Optional of released flag, empty if reservation does not exist
+     */
+
+    @Override
+    public Optional<Boolean> findReservationReleased(String reservationId) {
+        return jdbcTemplate.query(FIND_RESERVATION_RELEASED,
+                rs -> rs.next() ? Optional.of(rs.getBoolean(1)) : Optional.empty(),
+                reservationId);
+    }
+
+    /**
+     * Mark reservation as released
+     * Release of unknown reservation records a tombstone, so reservation arriving later is not applied
+     *
+     * @param reservationId Reservation idempotency key
+     * @return Map of Product identifiers to amounts to return to stock, empty if nothing was reserved
+     * or reservation is already released
+     */
+
+    @Override
+    public Map<Integer, Integer> releaseReservation(String reservationId) {
+        return jdbcTemplate.query(RELEASE_RESERVATION, rs -> {
+            Map<Integer, Integer> result = new HashMap<>();
+            if (rs.next()) {
+                Integer[] productIds = (Integer[]) rs.getArray(1).getArray();
+                Integer[] amounts = (Integer[]) rs.getArray(2).getArray();
+                for (int i = 0; i < productIds.length; i++) {
+                    result.merge(productIds[i], amounts[i], Integer::sum);
+                }
+            }
+            return result;
+        }, reservationId);
+    }
+}
@@ -0,0 +1,13 @@
+package net.rewerk.webstore.products.repository.projection;
+
+/**
+ * Category products count native query row projection
+ *
+ * @author rewerk
+ */
+
+public interface CategoryProductsCountRow {
+    Integer getId();
+
+    Integer getProductsCount();
+}
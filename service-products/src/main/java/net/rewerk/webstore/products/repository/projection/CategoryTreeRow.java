@@ -0,0 +1,29 @@
+package net.rewerk.webstore.products.repository.projection;
+
+import java.util.Date;
+
+/**
+ * Category tree native query row projection
+ *
+ * @author rewerk
+ */
+
+public interface CategoryTreeRow {
+    Integer getId();
+
+    String getName();
+
+    String getDescription();
+
+    String getIcon();
+
+    Integer getCategoryId();
+
+    Boolean getEnabled();
+
+    Integer getProductsCount();
+
+    Date getCreatedAt();
+
+    Date getUpdatedAt();
+}
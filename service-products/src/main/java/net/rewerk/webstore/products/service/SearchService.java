@@ -10,11 +10,19 @@ import net.rewerk.webstore.dto.response.search.SearchResponseDto;
 import net.rewerk.webstore.products.service.entity.BrandService;
 import net.rewerk.webstore.products.service.entity.CategoryService;
 import net.rewerk.webstore.products.service.entity.ProductService;
+import net.rewerk.webstore.products.service.search.SearchIndex;
+import net.rewerk.webstore.products.service.search.SearchIndexService;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
 @RequiredArgsConstructor
 @Service
 @Slf4j
@@ -22,11 +30,35 @@ public class SearchService {
     private final CategoryService categoryService;
     private final ProductService productService;
     private final BrandService brandService;
+    private final SearchIndexService searchIndexService;
     @Value("${search.max_entity_type_result}")
     private Integer MAX_ENTITY_TYPE_RESULT;
 
     public SearchResponseDto search(SearchRequestDto searchRequestDto) {
         log.info("SearchService.search: Search request: {}", searchRequestDto);
+        if (!searchIndexService.isReady()) {
+            log.info("SearchService.search: Search index is not ready, searching in database");
+            return this.searchDatabase(searchRequestDto);
+        }
+        String query = searchRequestDto.getQuery();
+        SearchIndex.Hits categories = searchIndexService.search(
+                SearchIndex.Type.CATEGORY, query, MAX_ENTITY_TYPE_RESULT
+        );
+        SearchIndex.Hits products = searchIndexService.search(
+                SearchIndex.Type.PRODUCT, query, MAX_ENTITY_TYPE_RESULT
+        );
+        SearchIndex.Hits brands = searchIndexService.search(
+                SearchIndex.Type.BRAND, query, MAX_ENTITY_TYPE_RESULT
+        );
+        return SearchResponseDto.builder()
+                .categories(ranked(categories, categoryService::findByIds, CategoryResponseDto::getId))
+                .products(ranked(products, productService::findByIds, ProductResponseDto::getId))
+                .brands(ranked(brands, brandService::findByIds, BrandResponseDto::getId))
+                .total(categories.total() + products.total() + brands.total())
+                .build();
+    }
+
+    private SearchResponseDto searchDatabase(SearchRequestDto searchRequestDto) {
         String query = "%" + searchRequestDto.getQuery() + "%";
         Page<CategoryResponseDto> categories = categoryService.search(
                 query, PageRequest.of(0, MAX_ENTITY_TYPE_RESULT)
@@ -44,4 +76,18 @@ public class SearchService {
                 .total(categories.getTotalElements() + products.getTotalElements() + brands.getTotalElements())
                 .build();
     }
+
+    private <T> List<T> ranked(SearchIndex.Hits hits,
+                               Function<List<Integer>, List<T>> loader,
+                               Function<T, Integer> idGetter) {
+        if (hits.ids().isEmpty()) {
+            return List.of();
+        }
+        Map<Integer, T> loaded = new HashMap<>();
+        loader.apply(hits.ids()).forEach(item -> loaded.put(idGetter.apply(item), item));
+        return hits.ids().stream()
+                .map(loaded::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
 }
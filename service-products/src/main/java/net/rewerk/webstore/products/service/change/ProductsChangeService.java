@@ -0,0 +1,9 @@
+package net.rewerk.webstore.products.service.change;
+
+import java.util.Collection;
+
+public interface ProductsChangeService {
+    void productsChanged(Collection<Integer> productIds);
+
+    void categoriesChanged(Collection<Integer> categoryIds);
+}
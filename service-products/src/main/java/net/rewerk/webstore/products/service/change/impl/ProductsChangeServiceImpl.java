@@ -0,0 +1,63 @@
+package net.rewerk.webstore.products.service.change.impl;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.rewerk.webstore.dto.mq.products.ProductsChangeDto;
+import net.rewerk.webstore.outbox.Outbox;
+import net.rewerk.webstore.products.mq.Bindings;
+import net.rewerk.webstore.products.service.change.ProductsChangeService;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Products change service implementation
+ * Publishes identifiers of changed products and categories to products changes SCS queue through outbox,
+ * so consumers evict cached copies only when the change is committed
+ *
+ * @author rewerk
+ */
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductsChangeServiceImpl implements ProductsChangeService {
+    private final Outbox outbox;
+
+    /**
+     * Publish change of Product entities
+     *
+     * @param productIds Collection of changed or deleted Product identifiers
+     */
+
+    @Override
+    public void productsChanged(@NonNull Collection<Integer> productIds) {
+        this.publish(productIds, List.of());
+    }
+
+    /**
+     * Publish change of Category entities
+     *
+     * @param categoryIds Collection of changed or deleted Category identifiers
+     */
+
+    @Override
+    public void categoriesChanged(@NonNull Collection<Integer> categoryIds) {
+        this.publish(List.of(), categoryIds);
+    }
+
+    private void publish(Collection<Integer> productIds, Collection<Integer> categoryIds) {
+        ProductsChangeDto dto = ProductsChangeDto.builder()
+                .product_ids(productIds.stream().filter(Objects::nonNull).distinct().toList())
+                .category_ids(categoryIds.stream().filter(Objects::nonNull).distinct().toList())
+                .build();
+        if (dto.getProduct_ids().isEmpty() && dto.getCategory_ids().isEmpty()) {
+            return;
+        }
+        log.info("ProductsChangeServiceImpl.publish: send products change message to SCS queue: {}", dto);
+        outbox.publish(Bindings.PRODUCTS_CHANGE, dto);
+    }
+}
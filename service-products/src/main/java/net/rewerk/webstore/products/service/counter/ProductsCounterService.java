@@ -0,0 +1,13 @@
+package net.rewerk.webstore.products.service.counter;
+
+import net.rewerk.webstore.entity.Category;
+
+import java.util.Collection;
+
+public interface ProductsCounterService {
+    void recount(Collection<Integer> categoryIds);
+
+    void recount(Category category);
+
+    void reconcile();
+}
@@ -0,0 +1,89 @@
+package net.rewerk.webstore.products.service.counter.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.rewerk.webstore.entity.Category;
+import net.rewerk.webstore.products.repository.CategoryRepository;
+import net.rewerk.webstore.products.repository.projection.CategoryProductsCountRow;
+import net.rewerk.webstore.products.service.counter.ProductsCounterService;
+import net.rewerk.webstore.products.service.tree.CategoryTreeService;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Category products counter service implementation
+ * Maintains materialized count of available products of category and its enabled subcategories.
+ * Counters of affected categories are recalculated in the transaction that changed products or categories,
+ * scheduled reconciliation fixes counters drifted by concurrent changes.
+ * Recalculated counters are applied to category tree snapshot without rebuilding it
+ *
+ * @author rewerk
+ */
+
+@Service
+@RequiredArgsConstructor
+@Transactional
+@Slf4j
+public class ProductsCounterServiceImpl implements ProductsCounterService {
+    private final CategoryRepository categoryRepository;
+    private final CategoryTreeService categoryTreeService;
+
+    /**
+     * Recalculate products count of categories
+     *
+     * @param categoryIds Category identifiers, null values are ignored
+     */
+
+    @Override
+    public void recount(Collection<Integer> categoryIds) {
+        List<Integer> ids = categoryIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        if (ids.isEmpty()) {
+            return;
+        }
+        log.info("ProductsCounterServiceImpl.recount: recount products of categories {}", ids);
+        categoryRepository.recountProducts(ids);
+        categoryTreeService.updateProductsCounts(this.toMap(categoryRepository.findProductsCounts(ids)));
+    }
+
+    /**
+     * Recalculate products count of category and its parent category
+     *
+     * @param category Category entity
+     */
+
+    @Override
+    public void recount(Category category) {
+        this.recount(Stream.of(category.getId(), category.getCategoryId()).toList());
+    }
+
+    /**
+     * Reconcile products count of all categories with actual products state
+     */
+
+    @Override
+    @Scheduled(cron = "${category.products_count.reconcile_cron:0 */15 * * * *}")
+    public void reconcile() {
+        log.info("ProductsCounterServiceImpl.reconcile: Reconciling categories products count...");
+        int fixed = categoryRepository.reconcileProductsCount();
+        if (fixed > 0) {
+            log.warn("ProductsCounterServiceImpl.reconcile: Fixed products count of {} categories", fixed);
+            categoryTreeService.updateProductsCounts(this.toMap(categoryRepository.findAllProductsCounts()));
+        }
+    }
+
+    private Map<Integer, Integer> toMap(List<CategoryProductsCountRow> rows) {
+        return rows.stream()
+                .collect(Collectors.toMap(CategoryProductsCountRow::getId, CategoryProductsCountRow::getProductsCount));
+    }
+}
@@ -22,6 +22,8 @@ public interface BrandService {
 
     List<CategoryResponseDto> findCategoriesByBrand(Brand brand);
 
+    List<BrandResponseDto> findByIds(List<Integer> ids);
+
     Brand findById(Integer id);
 
     BrandResponseDto create(Brand brand);
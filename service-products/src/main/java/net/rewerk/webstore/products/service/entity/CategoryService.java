@@ -2,6 +2,7 @@ package net.rewerk.webstore.products.service.entity;
 
 import net.rewerk.webstore.dto.request.category.CategoryCreateDto;
 import net.rewerk.webstore.dto.request.category.CategoryPatchDto;
+import net.rewerk.webstore.dto.request.category.CategorySearchDto;
 import net.rewerk.webstore.dto.response.category.CategoryResponseDto;
 import net.rewerk.webstore.entity.Category;
 import net.rewerk.webstore.entity.User;
@@ -26,7 +27,11 @@ public interface CategoryService {
 
     Page<CategoryResponseDto> findAll(Specification<Category> specification, Pageable pageable);
 
+    Page<CategoryResponseDto> findAll(CategorySearchDto searchDto, User user, Pageable pageable);
+
     List<CategoryResponseDto> findAllDistinctByProductIdIn(List<Integer> productIds);
 
+    List<CategoryResponseDto> findByIds(List<Integer> ids);
+
     Page<CategoryResponseDto> search(String name, Pageable pageable);
 }
@@ -3,14 +3,18 @@ package net.rewerk.webstore.products.service.entity;
 import net.rewerk.webstore.dto.request.product.ProductBatchPatchRequestDto;
 import net.rewerk.webstore.dto.request.product.ProductCreateDto;
 import net.rewerk.webstore.dto.request.product.ProductPatchDto;
-import net.rewerk.webstore.dto.request.product.ProductUpdateRatingDto;
+import net.rewerk.webstore.dto.request.product.ProductStockReservationDto;
 import net.rewerk.webstore.dto.response.product.ProductResponseDto;
+import net.rewerk.webstore.dto.response.product.ProductStockReservationResponseDto;
 import net.rewerk.webstore.entity.Product;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.util.List;
+import java.util.Map;
 
 public interface ProductService {
     Product findById(Integer id);
@@ -19,6 +23,8 @@ public interface ProductService {
 
     Page<ProductResponseDto> findAll(Specification<Product> specification, Pageable pageable);
 
+    Window<ProductResponseDto> findAll(Specification<Product> specification, ScrollPosition position, Pageable pageable);
+
     Page<ProductResponseDto> search(String name, Pageable pageable);
 
     List<ProductResponseDto> findPopular();
@@ -33,7 +39,11 @@ public interface ProductService {
 
     void updateAll(ProductBatchPatchRequestDto productBatchPatchRequestDto);
 
+    ProductStockReservationResponseDto reserveStock(ProductStockReservationDto productStockReservationDto);
+
+    void releaseStock(String reservationId);
+
     void delete(Product product);
 
-    void updateProductRating(ProductUpdateRatingDto productUpdateRatingDto);
+    void updateProductRatings(Map<Integer, Double> ratings);
 }
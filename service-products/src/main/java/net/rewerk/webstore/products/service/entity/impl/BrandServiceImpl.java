@@ -16,19 +16,19 @@ import net.rewerk.webstore.entity.Brand;
 import net.rewerk.webstore.products.dto.mapper.BrandDtoMapper;
 import net.rewerk.webstore.products.dto.mapper.CategoryDtoMapper;
 import net.rewerk.webstore.products.feign.client.UploadsFeignClient;
-import net.rewerk.webstore.products.mq.Suppliers;
+import net.rewerk.webstore.outbox.Outbox;
+import net.rewerk.webstore.products.mq.Bindings;
 import net.rewerk.webstore.products.repository.BrandRepository;
 import net.rewerk.webstore.products.service.EventWritingService;
 import net.rewerk.webstore.products.service.entity.BrandService;
+import net.rewerk.webstore.products.service.search.SearchIndexService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
-import org.springframework.integration.support.MessageBuilder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import reactor.core.publisher.Sinks;
 
 import java.util.List;
 import java.util.Objects;
@@ -48,7 +48,8 @@ public class BrandServiceImpl extends EventWritingService implements BrandServic
     private final CategoryDtoMapper categoryDtoMapper;
     private final BrandRepository brandRepository;
     private final UploadsFeignClient uploadsFeignClient;
-    private final Suppliers mqSuppliers;
+    private final Outbox outbox;
+    private final SearchIndexService searchIndexService;
 
     /**
      * Find Brand entity by identifier
@@ -85,7 +86,8 @@ public class BrandServiceImpl extends EventWritingService implements BrandServic
             );
         }
         brand = brandRepository.save(brand);
-        super.writeEvent(mqSuppliers, "Created brand: %s (ID %d)".formatted(brand.getName(), brand.getId()));
+        searchIndexService.index(brand);
+        super.writeEvent(outbox, "Created brand: %s (ID %d)".formatted(brand.getName(), brand.getId()));
         return brandDtoMapper.toDto(brand);
     }
 
@@ -113,7 +115,8 @@ public class BrandServiceImpl extends EventWritingService implements BrandServic
     public Brand update(Brand brand) {
         log.info("BrandServiceImpl.update: Update brand by entity {}", brand);
         brand = brandRepository.save(brand);
-        super.writeEvent(mqSuppliers, "Updated brand: %s (ID %d)".formatted(brand.getName(), brand.getId()));
+        searchIndexService.index(brand);
+        super.writeEvent(outbox, "Updated brand: %s (ID %d)".formatted(brand.getName(), brand.getId()));
         return brand;
     }
 
@@ -149,16 +152,14 @@ public class BrandServiceImpl extends EventWritingService implements BrandServic
         if (brand.getImage() != null) {
             log.info("BrandServiceImpl.delete: send message to delete upload object SCS queue, image = {}",
                     brand.getImage());
-            mqSuppliers.getUploadsDeleteObjectSink().emitNext(MessageBuilder
-                    .withPayload(
-                            UploadsDeleteObjectsDto.builder()
-                                    .object_names(List.of(brand.getImage()))
-                                    .type(UploadDto.Type.BRAND_IMAGE)
-                                    .build()
-                    ).build(), Sinks.EmitFailureHandler.FAIL_FAST);
+            outbox.publish(Bindings.UPLOADS_DELETE_OBJECTS, UploadsDeleteObjectsDto.builder()
+                    .object_names(List.of(brand.getImage()))
+                    .type(UploadDto.Type.BRAND_IMAGE)
+                    .build());
         }
         brandRepository.delete(brand);
-        super.writeEvent(mqSuppliers, "Deleted brand: %s (ID %d)".formatted(brand.getName(), brand.getId()));
+        searchIndexService.remove(brand);
+        super.writeEvent(outbox, "Deleted brand: %s (ID %d)".formatted(brand.getName(), brand.getId()));
     }
 
     /**
@@ -209,6 +210,19 @@ public class BrandServiceImpl extends EventWritingService implements BrandServic
         );
     }
 
+    /**
+     * Find Brand entities by list of identifiers
+     *
+     * @param ids List of Brand identifiers
+     * @return List of Brand entity response DTO
+     */
+
+    @Override
+    public List<BrandResponseDto> findByIds(List<Integer> ids) {
+        log.info("BrandServiceImpl.findByIds: Find list of brands by ids = {}", ids);
+        return brandDtoMapper.toDto(brandRepository.findAllById(ids));
+    }
+
     /**
      * Search Brand entities by name
      *
@@ -5,16 +5,25 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.rewerk.webstore.dto.request.category.CategoryCreateDto;
 import net.rewerk.webstore.dto.request.category.CategoryPatchDto;
+import net.rewerk.webstore.dto.request.category.CategorySearchDto;
 import net.rewerk.webstore.dto.response.category.CategoryResponseDto;
 import net.rewerk.webstore.entity.Category;
 import net.rewerk.webstore.entity.Product;
 import net.rewerk.webstore.entity.User;
 import net.rewerk.webstore.products.dto.mapper.CategoryDtoMapper;
-import net.rewerk.webstore.products.mq.Suppliers;
+import net.rewerk.webstore.outbox.Outbox;
+import net.rewerk.webstore.products.mq.Bindings;
 import net.rewerk.webstore.products.repository.CategoryRepository;
 import net.rewerk.webstore.products.repository.ProductRepository;
 import net.rewerk.webstore.products.service.EventWritingService;
+import net.rewerk.webstore.products.service.change.ProductsChangeService;
+import net.rewerk.webstore.products.service.counter.ProductsCounterService;
+import net.rewerk.webstore.products.service.popular.PopularProductsService;
 import net.rewerk.webstore.products.service.entity.CategoryService;
+import net.rewerk.webstore.products.service.search.SearchIndexService;
+import net.rewerk.webstore.products.service.tree.CategoryTree;
+import net.rewerk.webstore.products.service.tree.CategoryTreeService;
+import net.rewerk.webstore.products.specification.CategorySpecification;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -23,6 +32,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Category entity service implementation
@@ -38,10 +49,16 @@ public class CategoryServiceImpl extends EventWritingService implements Category
     private final CategoryDtoMapper categoryDtoMapper;
     private final CategoryRepository categoryRepository;
     private final ProductRepository productRepository;
-    private final Suppliers mqSuppliers;
+    private final Outbox outbox;
+    private final SearchIndexService searchIndexService;
+    private final ProductsCounterService productsCounterService;
+    private final CategoryTreeService categoryTreeService;
+    private final PopularProductsService popularProductsService;
+    private final ProductsChangeService productsChangeService;
 
     /**
      * Find Category entity by identifier
+     * Returns detached copy from category tree if it is ready, otherwise reads database
      *
      * @param id Category identifier
      * @return Category entity
@@ -51,6 +68,24 @@ public class CategoryServiceImpl extends EventWritingService implements Category
     @Override
     public Category findById(Integer id) throws EntityNotFoundException {
         log.info("CategoryServiceImpl.findById: Find category by id: {}", id);
+        if (categoryTreeService.isReady()) {
+            Optional<Category> category = categoryTreeService.getTree().find(id);
+            if (category.isPresent()) {
+                return category.get();
+            }
+        }
+        return this.findManagedById(id);
+    }
+
+    /**
+     * Find managed Category entity by identifier in database
+     *
+     * @param id Category identifier
+     * @return Category entity
+     * @throws EntityNotFoundException Category entity not found
+     */
+
+    private Category findManagedById(Integer id) throws EntityNotFoundException {
         return categoryRepository.findById(id).orElseThrow(
                 () -> {
                     log.error("CategoryServiceImpl.findById: Could not find category by id: {}", id);
@@ -103,7 +138,9 @@ public class CategoryServiceImpl extends EventWritingService implements Category
                     );
         }
         Category result = categoryRepository.save(mapped);
-        super.writeEvent(mqSuppliers, "Created category: %s (ID %d)".formatted(result.getName(), result.getId()));
+        categoryTreeService.invalidate();
+        searchIndexService.index(result);
+        super.writeEvent(outbox, "Created category: %s (ID %d)".formatted(result.getName(), result.getId()));
         return categoryDtoMapper.toDto(result);
     }
 
@@ -118,7 +155,9 @@ public class CategoryServiceImpl extends EventWritingService implements Category
     @Override
     public void update(Category category, CategoryPatchDto dto) throws EntityNotFoundException {
         log.info("CategoryServiceImpl.update: Update category: id = {}, dto = {}", category.getId(), dto);
-        Category mapped = categoryDtoMapper.updateDtoToCategory(category, dto);
+        Category current = this.findManagedById(category.getId());
+        Integer previousParentId = current.getCategoryId();
+        Category mapped = categoryDtoMapper.updateDtoToCategory(current, dto);
         if (dto.getEnabled() != null) {
             mapped.getCategories().forEach(c -> c.setEnabled(dto.getEnabled()));
         }
@@ -133,7 +172,12 @@ public class CategoryServiceImpl extends EventWritingService implements Category
                             });
         }
         Category result = categoryRepository.save(mapped);
-        super.writeEvent(mqSuppliers, "Updated category: %s (ID %d)".formatted(result.getName(), result.getId()));
+        productsCounterService.recount(Stream.of(result.getId(), previousParentId, result.getCategoryId()).toList());
+        categoryTreeService.invalidate();
+        popularProductsService.invalidate();
+        searchIndexService.index(result);
+        productsChangeService.categoriesChanged(List.of(result.getId()));
+        super.writeEvent(outbox, "Updated category: %s (ID %d)".formatted(result.getName(), result.getId()));
     }
 
     /**
@@ -146,7 +190,12 @@ public class CategoryServiceImpl extends EventWritingService implements Category
     public void delete(Category category) {
         log.info("CategoryServiceImpl.delete: Delete category: {}", category);
         categoryRepository.deleteById(category.getId());
-        super.writeEvent(mqSuppliers, "Deleted category: %s (ID %d)".formatted(category.getName(), category.getId()));
+        productsCounterService.recount(category);
+        categoryTreeService.invalidate();
+        popularProductsService.invalidate();
+        searchIndexService.remove(category);
+        productsChangeService.categoriesChanged(List.of(category.getId()));
+        super.writeEvent(outbox, "Deleted category: %s (ID %d)".formatted(category.getName(), category.getId()));
     }
 
     /**
@@ -179,6 +228,26 @@ public class CategoryServiceImpl extends EventWritingService implements Category
         return new PageImpl<>(categoryDtoMapper.toDto(page.getContent()), pageable, page.getTotalElements());
     }
 
+    /**
+     * Find Category entities by search parameters and pageable request
+     * Served from category tree if it is ready and supports requested sort, otherwise reads database
+     *
+     * @param searchDto DTO with search parameters
+     * @param user      Authenticated user
+     * @param pageable  Spring Pageable object
+     * @return Page of Category entity response DTO
+     */
+
+    @Override
+    public Page<CategoryResponseDto> findAll(CategorySearchDto searchDto, User user, Pageable pageable) {
+        log.info("CategoryServiceImpl.findAll: Find all categories by search parameters = {} and pageable = {}",
+                searchDto, pageable);
+        if (categoryTreeService.isReady() && CategoryTree.isSortable(pageable.getSort())) {
+            return categoryTreeService.getTree().findAll(CategorySpecification.getPredicate(searchDto, user), pageable);
+        }
+        return this.findAll(CategorySpecification.getSpecification(searchDto, user), pageable);
+    }
+
     /**
      * Find distinct list of Category entities by list of Product identifiers
      *
@@ -198,6 +267,22 @@ public class CategoryServiceImpl extends EventWritingService implements Category
         return categoryDtoMapper.toDto(categories);
     }
 
+    /**
+     * Find Category entities by list of identifiers
+     *
+     * @param ids List of Category identifiers
+     * @return List of Category entity response DTO
+     */
+
+    @Override
+    public List<CategoryResponseDto> findByIds(List<Integer> ids) {
+        log.info("CategoryServiceImpl.findByIds: Find all categories by ids = {}", ids);
+        if (categoryTreeService.isReady()) {
+            return categoryTreeService.getTree().findByIds(ids);
+        }
+        return categoryDtoMapper.toDto(categoryRepository.findAllById(ids));
+    }
+
     /**
      * Search Category entity by name and pageable request
      *
@@ -8,33 +8,43 @@ import net.rewerk.webstore.dto.mq.uploads.UploadsDeleteObjectsDto;
 import net.rewerk.webstore.dto.request.product.ProductBatchPatchRequestDto;
 import net.rewerk.webstore.dto.request.product.ProductCreateDto;
 import net.rewerk.webstore.dto.request.product.ProductPatchDto;
-import net.rewerk.webstore.dto.request.product.ProductUpdateRatingDto;
+import net.rewerk.webstore.dto.request.product.ProductStockReservationDto;
 import net.rewerk.webstore.dto.response.SinglePayloadResponseDto;
 import net.rewerk.webstore.dto.response.product.ProductActualRatingResponseDto;
 import net.rewerk.webstore.dto.response.product.ProductResponseDto;
+import net.rewerk.webstore.dto.response.product.ProductStockReservationResponseDto;
 import net.rewerk.webstore.entity.Brand;
 import net.rewerk.webstore.entity.Category;
 import net.rewerk.webstore.entity.Product;
 import net.rewerk.webstore.products.dto.mapper.ProductDtoMapper;
 import net.rewerk.webstore.products.feign.client.ReviewsFeignClient;
-import net.rewerk.webstore.products.mq.Suppliers;
+import net.rewerk.webstore.outbox.Outbox;
+import net.rewerk.webstore.products.mq.Bindings;
 import net.rewerk.webstore.products.repository.ProductRepository;
 import net.rewerk.webstore.products.service.EventWritingService;
+import net.rewerk.webstore.products.service.change.ProductsChangeService;
+import net.rewerk.webstore.products.service.counter.ProductsCounterService;
+import net.rewerk.webstore.products.service.popular.PopularProductsService;
 import net.rewerk.webstore.products.service.entity.BrandService;
 import net.rewerk.webstore.products.service.entity.CategoryService;
 import net.rewerk.webstore.products.service.entity.ProductService;
+import net.rewerk.webstore.products.service.search.SearchIndexService;
 import net.rewerk.webstore.utility.CommonUtils;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
-import org.springframework.integration.support.MessageBuilder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import reactor.core.publisher.Sinks;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * Product entity service implementation
@@ -52,7 +62,11 @@ public class ProductServiceImpl extends EventWritingService implements ProductSe
     private final CategoryService categoryService;
     private final BrandService brandService;
     private final ReviewsFeignClient reviewsFeignClient;
-    private final Suppliers mqSuppliers;
+    private final Outbox outbox;
+    private final SearchIndexService searchIndexService;
+    private final ProductsCounterService productsCounterService;
+    private final PopularProductsService popularProductsService;
+    private final ProductsChangeService productsChangeService;
 
     /**
      * Find Product entity by identifier
@@ -102,6 +116,29 @@ public class ProductServiceImpl extends EventWritingService implements ProductSe
         return new PageImpl<>(productDtoMapper.toDto(page.getContent()), pageable, page.getTotalElements());
     }
 
+    /**
+     * Find window of products by Product entity JPA specification using keyset pagination
+     * Seeks past the given position without counting total and skipping rows
+     *
+     * @param specification Product entity JPA specification
+     * @param position      Spring ScrollPosition object
+     * @param pageable      Spring Pageable object with window size and sort
+     * @return Window of Product entity response DTO
+     */
+
+    @Override
+    public Window<ProductResponseDto> findAll(Specification<Product> specification,
+                                              ScrollPosition position,
+                                              Pageable pageable) {
+        log.info("ProductServiceImpl.findAll: find window of products by specification, position = {}, pageable = {}",
+                position, pageable);
+        Window<Product> window = productRepository.findBy(specification, query -> query
+                .sortBy(pageable.getSort())
+                .limit(pageable.getPageSize())
+                .scroll(position));
+        return window.map(productDtoMapper::toDto);
+    }
+
     /**
      * Search products by name and Spring Pageable request
      *
@@ -132,7 +169,7 @@ public class ProductServiceImpl extends EventWritingService implements ProductSe
     @Override
     public List<ProductResponseDto> findPopular() {
         log.info("ProductServiceImpl.findPopular: find all popular products");
-        return productDtoMapper.toDto(productRepository.findTopPopularProducts());
+        return popularProductsService.findPopular();
     }
 
     /**
@@ -185,7 +222,11 @@ public class ProductServiceImpl extends EventWritingService implements ProductSe
         product.setCategory(category);
         product.setBrand(brand);
         product = productRepository.save(product);
-        super.writeEvent(mqSuppliers, "Created product: %s (ID %d)".formatted(product.getName(), product.getId()));
+        productsCounterService.recount(category);
+        searchIndexService.index(product);
+        popularProductsService.update(product);
+        productsChangeService.productsChanged(List.of(product.getId()));
+        super.writeEvent(outbox, "Created product: %s (ID %d)".formatted(product.getName(), product.getId()));
         return productDtoMapper.toDto(product);
     }
 
@@ -199,6 +240,7 @@ public class ProductServiceImpl extends EventWritingService implements ProductSe
     @Override
     public void update(Product product, ProductPatchDto productPatchDto) {
         log.info("ProductServiceImpl.update: update product = {} with productPatchDto = {}", product, productPatchDto);
+        Category previousCategory = product.getCategory();
         Product mapped = productDtoMapper.updateProduct(product, productPatchDto);
         if (productPatchDto.getBrand_id() != null) {
             mapped.setBrand(brandService.findById(productPatchDto.getBrand_id()));
@@ -208,20 +250,24 @@ public class ProductServiceImpl extends EventWritingService implements ProductSe
                     product.getImages(), Arrays.asList(productPatchDto.getImages())
             );
             if (!imagesToDelete.isEmpty()) {
-                mqSuppliers.getUploadsDeleteObjectSink().emitNext(MessageBuilder
-                        .withPayload(
-                                UploadsDeleteObjectsDto.builder()
-                                        .object_names(imagesToDelete)
-                                        .type(UploadDto.Type.PRODUCT_IMAGE)
-                                        .build()
-                        ).build(), Sinks.EmitFailureHandler.FAIL_FAST);
+                outbox.publish(Bindings.UPLOADS_DELETE_OBJECTS, UploadsDeleteObjectsDto.builder()
+                        .object_names(imagesToDelete)
+                        .type(UploadDto.Type.PRODUCT_IMAGE)
+                        .build());
             }
         }
         if (productPatchDto.getCategory_id() != null) {
             product.setCategory(categoryService.findById(productPatchDto.getCategory_id()));
         }
         productRepository.save(product);
-        super.writeEvent(mqSuppliers, "Updated product: %s (ID %d)".formatted(product.getName(), product.getId()));
+        productsCounterService.recount(previousCategory);
+        if (!previousCategory.getId().equals(product.getCategory().getId())) {
+            productsCounterService.recount(product.getCategory());
+        }
+        searchIndexService.index(product);
+        popularProductsService.update(product);
+        productsChangeService.productsChanged(List.of(product.getId()));
+        super.writeEvent(outbox, "Updated product: %s (ID %d)".formatted(product.getName(), product.getId()));
     }
 
     /**
@@ -242,6 +288,96 @@ public class ProductServiceImpl extends EventWritingService implements ProductSe
                         )
                 ).toList();
         productRepository.saveAll(products);
+        productsCounterService.recount(products.stream()
+                .map(Product::getCategory)
+                .flatMap(category -> Stream.of(category.getId(), category.getCategoryId()))
+                .toList());
+        products.forEach(searchIndexService::index);
+        products.forEach(popularProductsService::update);
+        productsChangeService.productsChanged(products.stream()
+                .map(Product::getId)
+                .toList());
+    }
+
+    /**
+     * Reserve stock of products
+     * Balances are checked and decremented by database in a single batch, so concurrent reservations
+     * can not oversell. Reservation is all or nothing: if any product is not available or has not enough
+     * balance, reservation is rolled back to savepoint and nothing is reserved, so caller transaction
+     * can still commit the failure reply.
+     * Reservation with idempotency key is applied once, repeated reservation returns result of the applied one
+     * and reservation released before it was applied is rejected
+     *
+     * @param productStockReservationDto DTO with amounts to reserve by Product identifiers
+     * @return Reservation result response DTO with identifiers of failed products
+     */
+
+    @Override
+    public ProductStockReservationResponseDto reserveStock(ProductStockReservationDto productStockReservationDto) {
+        log.info("ProductServiceImpl.reserveStock: reserve stock with productStockReservationDto = {}",
+                productStockReservationDto);
+        Map<Integer, Integer> items = productStockReservationDto.getItems();
+        String reservationId = productStockReservationDto.getReservation_id();
+        TransactionStatus transactionStatus = TransactionAspectSupport.currentTransactionStatus();
+        Object savepoint = transactionStatus.createSavepoint();
+        if (reservationId != null && !productRepository.createReservation(reservationId, items)) {
+            boolean released = productRepository.findReservationReleased(reservationId).orElse(false);
+            log.info("ProductServiceImpl.reserveStock: reservation {} already exists, released = {}",
+                    reservationId, released);
+            return ProductStockReservationResponseDto.builder()
+                    .reserved(!released)
+                    .failed(List.of())
+                    .build();
+        }
+        List<Integer> failed = productRepository.decrementBalances(items);
+        if (!failed.isEmpty()) {
+            log.error("ProductServiceImpl.reserveStock: not enough balance of products {}", failed);
+            transactionStatus.rollbackToSavepoint(savepoint);
+            return ProductStockReservationResponseDto.builder()
+                    .reserved(false)
+                    .failed(failed)
+                    .build();
+        }
+        List<Product> soldOut = productRepository.findAllByIdInAndBalance(items.keySet(), 0);
+        if (!soldOut.isEmpty()) {
+            productsCounterService.recount(soldOut.stream()
+                    .map(Product::getCategory)
+                    .flatMap(category -> Stream.of(category.getId(), category.getCategoryId()))
+                    .toList());
+            soldOut.forEach(searchIndexService::index);
+            soldOut.forEach(popularProductsService::update);
+        }
+        productsChangeService.productsChanged(items.keySet());
+        return ProductStockReservationResponseDto.builder()
+                .reserved(true)
+                .failed(List.of())
+                .build();
+    }
+
+    /**
+     * Release stock reserved with idempotency key, reserved amounts are returned to products balances once.
+     * Release of reservation which was not applied prevents applying it later
+     *
+     * @param reservationId Reservation idempotency key
+     */
+
+    @Override
+    public void releaseStock(String reservationId) {
+        log.info("ProductServiceImpl.releaseStock: release stock of reservation {}", reservationId);
+        Map<Integer, Integer> items = productRepository.releaseReservation(reservationId);
+        if (items.isEmpty()) {
+            log.info("ProductServiceImpl.releaseStock: nothing to release by reservation {}", reservationId);
+            return;
+        }
+        productRepository.incrementBalances(items);
+        List<Product> products = productRepository.findAllById(items.keySet());
+        productsCounterService.recount(products.stream()
+                .map(Product::getCategory)
+                .flatMap(category -> Stream.of(category.getId(), category.getCategoryId()))
+                .toList());
+        products.forEach(searchIndexService::index);
+        products.forEach(popularProductsService::update);
+        productsChangeService.productsChanged(items.keySet());
     }
 
     /**
@@ -254,35 +390,38 @@ public class ProductServiceImpl extends EventWritingService implements ProductSe
     public void delete(Product product) {
         log.info("ProductServiceImpl.delete: delete product = {}", product);
         productRepository.deleteById(product.getId());
+        productsCounterService.recount(product.getCategory());
+        searchIndexService.remove(product);
+        popularProductsService.remove(product);
+        productsChangeService.productsChanged(List.of(product.getId()));
         if (product.getImages() != null && !product.getImages().isEmpty()) {
-            mqSuppliers.getUploadsDeleteObjectSink().emitNext(MessageBuilder
-                    .withPayload(
-                            UploadsDeleteObjectsDto.builder()
-                                    .object_names(product.getImages())
-                                    .type(UploadDto.Type.PRODUCT_IMAGE)
-                                    .build()
-                    ).build(), Sinks.EmitFailureHandler.FAIL_FAST);
+            outbox.publish(Bindings.UPLOADS_DELETE_OBJECTS, UploadsDeleteObjectsDto.builder()
+                    .object_names(product.getImages())
+                    .type(UploadDto.Type.PRODUCT_IMAGE)
+                    .build());
         }
-        super.writeEvent(mqSuppliers, "Deleted product: %s (ID %d)".formatted(product.getName(), product.getId()));
+        super.writeEvent(outbox, "Deleted product: %s (ID %d)".formatted(product.getName(), product.getId()));
     }
 
     /**
-     * Update product rating
+     * Update ratings of products with a single batched statement
      *
-     * @param productUpdateRatingDto DTO with update data
-     * @throws EntityNotFoundException Product entity not found
+     * @param ratings Map of Product identifiers to ratings
      */
 
     @Override
-    public void updateProductRating(ProductUpdateRatingDto productUpdateRatingDto) throws EntityNotFoundException {
-        log.info("ProductServiceImpl.updateProductRating: update product rating = {}", productUpdateRatingDto);
-        Product product = productRepository.findById(productUpdateRatingDto.getId())
-                .orElseThrow(() -> {
-                    log.error("ProductServiceImpl.updateProductRating: Product with id {} not found",
-                            productUpdateRatingDto.getId());
-                    return new EntityNotFoundException("Product not found");
-                });
-        product.setRating(productUpdateRatingDto.getRating());
-        productRepository.save(product);
+    public void updateProductRatings(Map<Integer, Double> ratings) {
+        log.info("ProductServiceImpl.updateProductRatings: update ratings of products = {}", ratings);
+        if (ratings.isEmpty()) {
+            return;
+        }
+        List<Integer> updated = productRepository.updateRatings(ratings);
+        if (updated.size() < ratings.size()) {
+            log.warn("ProductServiceImpl.updateProductRatings: Products not found: {}", ratings.keySet().stream()
+                    .filter(id -> !updated.contains(id))
+                    .toList());
+        }
+        productRepository.findAllById(updated).forEach(popularProductsService::update);
+        productsChangeService.productsChanged(updated);
     }
 }
@@ -0,0 +1,145 @@
+package net.rewerk.webstore.products.service.popular;
+
+import lombok.NonNull;
+import net.rewerk.webstore.dto.response.product.ProductResponseDto;
+
+import java.util.*;
+
+/**
+ * Bounded in-memory leaderboard of popular products ordered by rating
+ * Keeps more candidates than published, so products leaving the top are replaced without database queries.
+ * Published snapshot is immutable and replaced on every change, readers never lock
+ *
+ * @author rewerk
+ */
+
+public class PopularProducts {
+    private static final Comparator<ProductResponseDto> RANKING = Comparator
+            .comparing(ProductResponseDto::getRating, Comparator.reverseOrder())
+            .thenComparing(ProductResponseDto::getId);
+    private final int size;
+    private final int capacity;
+    private final TreeSet<ProductResponseDto> ranking = new TreeSet<>(RANKING);
+    private final Map<Integer, ProductResponseDto> candidates = new HashMap<>();
+    private boolean complete = true;
+    private volatile List<ProductResponseDto> snapshot = List.of();
+
+    /**
+     * Create leaderboard
+     *
+     * @param size     Count of published products
+     * @param capacity Count of kept candidates, not less than size
+     */
+
+    public PopularProducts(int size, int capacity) {
+        this.size = size;
+        this.capacity = Math.max(size, capacity);
+    }
+
+    /**
+     * Get published immutable snapshot of popular products
+     *
+     * @return List of popular products ordered by rating
+     */
+
+    public List<ProductResponseDto> snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Get count of kept candidates
+     *
+     * @return Leaderboard capacity
+     */
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Replace candidates with products loaded from database
+     *
+     * @param products Popular products ordered by rating, limited by capacity
+     */
+
+    public synchronized void load(@NonNull List<ProductResponseDto> products) {
+        ranking.clear();
+        candidates.clear();
+        products.stream()
+                .filter(PopularProducts::isEligible)
+                .limit(capacity)
+                .forEach(this::add);
+        complete = products.size() < capacity;
+        publish();
+    }
+
+    /**
+     * Apply product change
+     *
+     * @param product Changed product
+     * @return true if leaderboard lost candidates it can not restore and must be reloaded from database
+     */
+
+    public synchronized boolean update(@NonNull ProductResponseDto product) {
+        this.detach(product.getId());
+        if (isEligible(product) && (complete || ranking.isEmpty() || RANKING.compare(product, ranking.last()) < 0)) {
+            this.add(product);
+            if (ranking.size() > capacity) {
+                candidates.remove(ranking.pollLast().getId());
+                complete = false;
+            }
+        }
+        publish();
+        return !complete && ranking.size() < size;
+    }
+
+    /**
+     * Remove product from leaderboard
+     *
+     * @param id Product identifier
+     * @return true if leaderboard lost candidates it can not restore and must be reloaded from database
+     */
+
+    public synchronized boolean remove(@NonNull Integer id) {
+        if (this.detach(id)) {
+            publish();
+        }
+        return !complete && ranking.size() < size;
+    }
+
+    /**
+     * Check product can be shown in popular products
+     *
+     * @param product Product response DTO
+     * @return true if product is rated, available and its category is enabled
+     */
+
+    public static boolean isEligible(ProductResponseDto product) {
+        return product.getRating() != null
+                && product.getRating() > 0.0
+                && Boolean.TRUE.equals(product.getEnabled())
+                && product.getBalance() != null
+                && product.getBalance() > 0
+                && product.getCategory() != null
+                && Boolean.TRUE.equals(product.getCategory().getEnabled());
+    }
+
+    private void add(ProductResponseDto product) {
+        candidates.put(product.getId(), product);
+        ranking.add(product);
+    }
+
+    private boolean detach(Integer id) {
+        ProductResponseDto previous = candidates.remove(id);
+        if (previous != null) {
+            ranking.remove(previous);
+        }
+        return previous != null;
+    }
+
+    private void publish() {
+        snapshot = ranking.stream()
+                .limit(size)
+                .toList();
+    }
+}
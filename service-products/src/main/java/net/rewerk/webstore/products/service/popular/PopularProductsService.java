@@ -0,0 +1,18 @@
+package net.rewerk.webstore.products.service.popular;
+
+import net.rewerk.webstore.dto.response.product.ProductResponseDto;
+import net.rewerk.webstore.entity.Product;
+
+import java.util.List;
+
+public interface PopularProductsService {
+    List<ProductResponseDto> findPopular();
+
+    void update(Product product);
+
+    void remove(Product product);
+
+    void invalidate();
+
+    void rebuild();
+}
@@ -0,0 +1,149 @@
+package net.rewerk.webstore.products.service.popular.impl;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import net.rewerk.webstore.dto.response.product.ProductResponseDto;
+import net.rewerk.webstore.entity.Product;
+import net.rewerk.webstore.products.dto.mapper.ProductDtoMapper;
+import net.rewerk.webstore.products.repository.ProductRepository;
+import net.rewerk.webstore.products.service.popular.PopularProducts;
+import net.rewerk.webstore.products.service.popular.PopularProductsService;
+import net.rewerk.webstore.utility.TransactionUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Popular products service implementation
+ * Serves popular products from in-memory leaderboard which is updated by product changes after commit,
+ * loaded from database on application startup and rebuilt by schedule as a safety net
+ *
+ * @author rewerk
+ */
+
+@Service
+@Slf4j
+public class PopularProductsServiceImpl implements PopularProductsService {
+    private final ProductRepository productRepository;
+    private final ProductDtoMapper productDtoMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final PopularProducts popularProducts;
+    private final Integer size;
+    private volatile boolean ready = false;
+
+    public PopularProductsServiceImpl(ProductRepository productRepository,
+                                      ProductDtoMapper productDtoMapper,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${products.popular.size:20}") Integer size,
+                                      @Value("${products.popular.capacity:100}") Integer capacity) {
+        this.productRepository = productRepository;
+        this.productDtoMapper = productDtoMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.transactionTemplate.setReadOnly(true);
+        this.popularProducts = new PopularProducts(size, capacity);
+        this.size = size;
+    }
+
+    /**
+     * Find popular products
+     * Reads database until leaderboard is loaded
+     *
+     * @return List of popular products response DTO ordered by rating
+     */
+
+    @Override
+    public List<ProductResponseDto> findPopular() {
+        if (!ready) {
+            log.info("PopularProductsServiceImpl.findPopular: leaderboard is not ready, reading database");
+            return this.load().stream()
+                    .filter(PopularProducts::isEligible)
+                    .limit(size)
+                    .toList();
+        }
+        return popularProducts.snapshot();
+    }
+
+    /**
+     * Apply Product entity change to leaderboard after surrounding transaction commits
+     *
+     * @param product Product entity
+     */
+
+    @Override
+    public void update(@NonNull Product product) {
+        ProductResponseDto dto = productDtoMapper.toDto(product);
+        TransactionUtils.afterCommit(() -> {
+            if (popularProducts.update(dto)) {
+                this.rebuild();
+            }
+        });
+    }
+
+    /**
+     * Remove Product entity from leaderboard after surrounding transaction commits
+     *
+     * @param product Product entity
+     */
+
+    @Override
+    public void remove(@NonNull Product product) {
+        Integer id = product.getId();
+        TransactionUtils.afterCommit(() -> {
+            if (popularProducts.remove(id)) {
+                this.rebuild();
+            }
+        });
+    }
+
+    /**
+     * Rebuild leaderboard after surrounding transaction commits
+     * Used for changes affecting many products, like category visibility
+     */
+
+    @Override
+    public void invalidate() {
+        TransactionUtils.afterCommit(this::rebuild);
+    }
+
+    /**
+     * Rebuild leaderboard from database
+     */
+
+    @Override
+    @Scheduled(cron = "${products.popular.rebuild_cron:0 */10 * * * *}")
+    public void rebuild() {
+        log.info("PopularProductsServiceImpl.rebuild: Rebuilding popular products leaderboard...");
+        try {
+            popularProducts.load(this.load());
+            ready = true;
+        } catch (RuntimeException e) {
+            log.error("PopularProductsServiceImpl.rebuild: Failed to rebuild popular products leaderboard", e);
+        }
+    }
+
+    /**
+     * Load leaderboard on application startup without blocking it
+     */
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        this.rebuild();
+    }
+
+    private List<ProductResponseDto> load() {
+        return transactionTemplate.execute(_ -> productDtoMapper.toDto(
+                productRepository.findTopPopularProducts(Limit.of(popularProducts.capacity()))
+        ));
+    }
+}
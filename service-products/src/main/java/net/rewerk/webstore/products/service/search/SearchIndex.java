@@ -0,0 +1,301 @@
+package net.rewerk.webstore.products.service.search;
+
+import lombok.NonNull;
+import net.rewerk.webstore.entity.Brand;
+import net.rewerk.webstore.entity.Category;
+import net.rewerk.webstore.entity.Product;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * In-memory tokenized n-gram inverted index over product, category and brand names and product tags
+ * Matching semantics are the same as the former LIKE '%query%' search: a document matches when
+ * its normalized text contains the normalized query. Candidates are found by intersecting the
+ * posting lists of the query n-grams, then verified and ranked by match quality
+ *
+ * @author rewerk
+ */
+
+public class SearchIndex {
+    private static final int MIN_GRAM = 2;
+    private static final int MAX_GRAM = 3;
+    private static final String FIELD_SEPARATOR = "\n";
+    private final Map<Type, Shard> shards = new EnumMap<>(Type.class);
+
+    /**
+     * Indexed entity type
+     */
+
+    public enum Type {
+        PRODUCT,
+        CATEGORY,
+        BRAND
+    }
+
+    /**
+     * Indexed document
+     *
+     * @param type       Entity type
+     * @param id         Entity identifier
+     * @param name       Normalized entity name
+     * @param text       Normalized searchable text (name and tags)
+     * @param enabled    Entity visibility flag (for products - enabled and in stock)
+     * @param categoryId Product category identifier, null for other types
+     */
+
+    public record Document(Type type, Integer id, String name, String text, boolean enabled, Integer categoryId) {
+
+        /**
+         * Create document from Product entity
+         *
+         * @param product Product entity
+         * @return Indexed document
+         */
+
+        public static Document of(@NonNull Product product) {
+            List<String> fields = new ArrayList<>();
+            fields.add(normalize(product.getName()));
+            if (product.getTags() != null) {
+                product.getTags().forEach(tag -> fields.add(normalize(tag)));
+            }
+            return new Document(
+                    Type.PRODUCT,
+                    product.getId(),
+                    fields.getFirst(),
+                    String.join(FIELD_SEPARATOR, fields),
+                    Boolean.TRUE.equals(product.getEnabled())
+                            && product.getBalance() != null
+                            && product.getBalance() > 0,
+                    product.getCategory() != null ? product.getCategory().getId() : null
+            );
+        }
+
+        /**
+         * Create document from Category entity
+         *
+         * @param category Category entity
+         * @return Indexed document
+         */
+
+        public static Document of(@NonNull Category category) {
+            String name = normalize(category.getName());
+            return new Document(
+                    Type.CATEGORY,
+                    category.getId(),
+                    name,
+                    name,
+                    Boolean.TRUE.equals(category.getEnabled()),
+                    null
+            );
+        }
+
+        /**
+         * Create document from Brand entity
+         *
+         * @param brand Brand entity
+         * @return Indexed document
+         */
+
+        public static Document of(@NonNull Brand brand) {
+            String name = normalize(brand.getName());
+            return new Document(Type.BRAND, brand.getId(), name, name, true, null);
+        }
+    }
+
+    /**
+     * Search result
+     *
+     * @param ids   Ranked list of matched entity identifiers, limited by requested size
+     * @param total Total count of matched entities
+     */
+
+    public record Hits(List<Integer> ids, long total) {
+        public static final Hits EMPTY = new Hits(List.of(), 0L);
+    }
+
+    /**
+     * Per entity type index data
+     * Documents and posting lists are concurrent maps, so readers never lock.
+     * Writers are serialized per shard.
+     */
+
+    private static class Shard {
+        private final Map<Integer, Document> documents = new ConcurrentHashMap<>();
+        private final Map<String, Set<Integer>> postings = new ConcurrentHashMap<>();
+    }
+
+    private record Scored(Document document, int score) {
+    }
+
+    public SearchIndex() {
+        for (Type type : Type.values()) {
+            shards.put(type, new Shard());
+        }
+    }
+
+    /**
+     * Add or replace document in index
+     *
+     * @param document Document to index
+     */
+
+    public void put(@NonNull Document document) {
+        Shard shard = shards.get(document.type());
+        synchronized (shard) {
+            Document previous = shard.documents.put(document.id(), document);
+            if (previous != null) {
+                grams(previous.text()).forEach(gram -> unlink(shard, gram, previous.id()));
+            }
+            grams(document.text()).forEach(gram -> shard.postings
+                    .computeIfAbsent(gram, _ -> ConcurrentHashMap.newKeySet())
+                    .add(document.id()));
+        }
+    }
+
+    /**
+     * Remove document from index
+     *
+     * @param type Entity type
+     * @param id   Entity identifier
+     */
+
+    public void remove(@NonNull Type type, @NonNull Integer id) {
+        Shard shard = shards.get(type);
+        synchronized (shard) {
+            Document previous = shard.documents.remove(id);
+            if (previous != null) {
+                grams(previous.text()).forEach(gram -> unlink(shard, gram, id));
+            }
+        }
+    }
+
+    /**
+     * Get count of indexed documents of type
+     *
+     * @param type Entity type
+     * @return Count of indexed documents
+     */
+
+    public int size(@NonNull Type type) {
+        return shards.get(type).documents.size();
+    }
+
+    /**
+     * Search visible documents of type by query
+     *
+     * @param type  Entity type
+     * @param query Search query
+     * @param limit Max count of returned identifiers
+     * @return Ranked search result
+     */
+
+    public Hits search(@NonNull Type type, String query, int limit) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty()) {
+            return Hits.EMPTY;
+        }
+        Shard shard = shards.get(type);
+        List<Scored> matched = candidates(shard, normalized)
+                .map(shard.documents::get)
+                .filter(Objects::nonNull)
+                .filter(this::isVisible)
+                .map(document -> new Scored(document, score(document, normalized)))
+                .filter(scored -> scored.score() > 0)
+                .sorted(Comparator.comparingInt(Scored::score).reversed()
+                        .thenComparingInt(scored -> scored.document().name().length())
+                        .thenComparing(scored -> scored.document().id()))
+                .toList();
+        return new Hits(
+                matched.stream()
+                        .limit(Math.max(limit, 0))
+                        .map(scored -> scored.document().id())
+                        .toList(),
+                matched.size()
+        );
+    }
+
+    /**
+     * Normalize text for indexing and querying: lower case, trimmed, whitespace collapsed
+     *
+     * @param text Source text
+     * @return Normalized text
+     */
+
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private Stream<Integer> candidates(Shard shard, String query) {
+        if (query.length() < MIN_GRAM) {
+            return shard.documents.keySet().stream();
+        }
+        int size = Math.min(query.length(), MAX_GRAM);
+        List<Set<Integer>> lists = new ArrayList<>();
+        for (int i = 0; i + size <= query.length(); i++) {
+            Set<Integer> posting = shard.postings.get(query.substring(i, i + size));
+            if (posting == null) {
+                return Stream.empty();
+            }
+            lists.add(posting);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+        Set<Integer> smallest = lists.getFirst();
+        List<Set<Integer>> rest = lists.subList(1, lists.size());
+        return smallest.stream()
+                .filter(id -> rest.stream().allMatch(posting -> posting.contains(id)));
+    }
+
+    private boolean isVisible(Document document) {
+        if (!document.enabled()) {
+            return false;
+        }
+        if (document.type() == Type.PRODUCT) {
+            Document category = document.categoryId() != null
+                    ? shards.get(Type.CATEGORY).documents.get(document.categoryId())
+                    : null;
+            return category != null && category.enabled();
+        }
+        return true;
+    }
+
+    private static int score(Document document, String query) {
+        String name = document.name();
+        if (name.equals(query)) {
+            return 100;
+        } else if (name.startsWith(query)) {
+            return 80;
+        } else if (name.contains(" " + query)) {
+            return 60;
+        } else if (name.contains(query)) {
+            return 40;
+        } else if (document.text().contains(query)) {
+            return 20;
+        }
+        return 0;
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> result = new HashSet<>();
+        for (int size = MIN_GRAM; size <= MAX_GRAM; size++) {
+            for (int i = 0; i + size <= text.length(); i++) {
+                String gram = text.substring(i, i + size);
+                if (!gram.contains(FIELD_SEPARATOR)) {
+                    result.add(gram);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static void unlink(Shard shard, String gram, Integer id) {
+        shard.postings.computeIfPresent(gram, (_, posting) -> {
+            posting.remove(id);
+            return posting.isEmpty() ? null : posting;
+        });
+    }
+}
@@ -0,0 +1,25 @@
+package net.rewerk.webstore.products.service.search;
+
+import net.rewerk.webstore.entity.Brand;
+import net.rewerk.webstore.entity.Category;
+import net.rewerk.webstore.entity.Product;
+
+public interface SearchIndexService {
+    boolean isReady();
+
+    SearchIndex.Hits search(SearchIndex.Type type, String query, int limit);
+
+    void index(Product product);
+
+    void index(Category category);
+
+    void index(Brand brand);
+
+    void remove(Product product);
+
+    void remove(Category category);
+
+    void remove(Brand brand);
+
+    void rebuild();
+}
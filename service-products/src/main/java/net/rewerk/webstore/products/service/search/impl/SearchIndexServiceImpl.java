@@ -0,0 +1,231 @@
+package net.rewerk.webstore.products.service.search.impl;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.rewerk.webstore.entity.Brand;
+import net.rewerk.webstore.entity.Category;
+import net.rewerk.webstore.entity.Product;
+import net.rewerk.webstore.products.repository.BrandRepository;
+import net.rewerk.webstore.products.repository.CategoryRepository;
+import net.rewerk.webstore.products.repository.ProductRepository;
+import net.rewerk.webstore.products.service.search.SearchIndex;
+import net.rewerk.webstore.products.service.search.SearchIndexService;
+import net.rewerk.webstore.utility.TransactionUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Search index service implementation
+ * Builds in-memory search index from database on application startup, rebuilds it by schedule
+ * as a safety net and applies entity changes after surrounding transaction commits
+ *
+ * @author rewerk
+ */
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SearchIndexServiceImpl implements SearchIndexService {
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final BrandRepository brandRepository;
+    @Value("${search.index.batch_size:500}")
+    private Integer BATCH_SIZE;
+    private final Object updates = new Object();
+    private volatile SearchIndex index = new SearchIndex();
+    private List<Consumer<SearchIndex>> pending;
+    private volatile boolean ready = false;
+
+    /**
+     * Check index is built and can serve search requests
+     *
+     * @return true if index is ready
+     */
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Search entities of type in index
+     *
+     * @param type  Entity type
+     * @param query Search query
+     * @param limit Max count of returned identifiers
+     * @return Ranked search result
+     */
+
+    @Override
+    public SearchIndex.Hits search(@NonNull SearchIndex.Type type, String query, int limit) {
+        log.info("SearchIndexServiceImpl.search: type = {}, query = {}, limit = {}", type, query, limit);
+        return index.search(type, query, limit);
+    }
+
+    /**
+     * Index Product entity
+     *
+     * @param product Product entity
+     */
+
+    @Override
+    public void index(@NonNull Product product) {
+        log.info("SearchIndexServiceImpl.index: index product with id {}", product.getId());
+        SearchIndex.Document document = SearchIndex.Document.of(product);
+        TransactionUtils.afterCommit(() -> apply(target -> target.put(document)));
+    }
+
+    /**
+     * Index Category entity with loaded subcategories
+     *
+     * @param category Category entity
+     */
+
+    @Override
+    public void index(@NonNull Category category) {
+        log.info("SearchIndexServiceImpl.index: index category with id {}", category.getId());
+        List<SearchIndex.Document> documents = new ArrayList<>();
+        collect(category, c -> documents.add(SearchIndex.Document.of(c)));
+        TransactionUtils.afterCommit(() -> apply(target -> documents.forEach(target::put)));
+    }
+
+    /**
+     * Index Brand entity
+     *
+     * @param brand Brand entity
+     */
+
+    @Override
+    public void index(@NonNull Brand brand) {
+        log.info("SearchIndexServiceImpl.index: index brand with id {}", brand.getId());
+        SearchIndex.Document document = SearchIndex.Document.of(brand);
+        TransactionUtils.afterCommit(() -> apply(target -> target.put(document)));
+    }
+
+    /**
+     * Remove Product entity from index
+     *
+     * @param product Product entity
+     */
+
+    @Override
+    public void remove(@NonNull Product product) {
+        log.info("SearchIndexServiceImpl.remove: remove product with id {}", product.getId());
+        Integer id = product.getId();
+        TransactionUtils.afterCommit(() -> apply(target -> target.remove(SearchIndex.Type.PRODUCT, id)));
+    }
+
+    /**
+     * Remove Category entity with loaded subcategories from index
+     *
+     * @param category Category entity
+     */
+
+    @Override
+    public void remove(@NonNull Category category) {
+        log.info("SearchIndexServiceImpl.remove: remove category with id {}", category.getId());
+        List<Integer> ids = new ArrayList<>();
+        collect(category, c -> ids.add(c.getId()));
+        TransactionUtils.afterCommit(() -> apply(target ->
+                ids.forEach(id -> target.remove(SearchIndex.Type.CATEGORY, id))));
+    }
+
+    /**
+     * Remove Brand entity from index
+     *
+     * @param brand Brand entity
+     */
+
+    @Override
+    public void remove(@NonNull Brand brand) {
+        log.info("SearchIndexServiceImpl.remove: remove brand with id {}", brand.getId());
+        Integer id = brand.getId();
+        TransactionUtils.afterCommit(() -> apply(target -> target.remove(SearchIndex.Type.BRAND, id)));
+    }
+
+    /**
+     * Build index on application startup without blocking it
+     * Search falls back to database queries until index is ready
+     */
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        this.rebuild();
+    }
+
+    /**
+     * Rebuild index from database and atomically replace current one
+     * Incremental updates committed while rebuilding are buffered and replayed on the new index before the swap.
+     * Scheduled as a safety net for changes missed by incremental updates
+     */
+
+    @Override
+    @Scheduled(cron = "${search.index.rebuild_cron:@hourly}")
+    public synchronized void rebuild() {
+        log.info("SearchIndexServiceImpl.rebuild: Rebuilding search index...");
+        synchronized (updates) {
+            pending = new ArrayList<>();
+        }
+        try {
+            SearchIndex rebuilt = new SearchIndex();
+            load(categoryRepository, c -> rebuilt.put(SearchIndex.Document.of(c)));
+            load(brandRepository, b -> rebuilt.put(SearchIndex.Document.of(b)));
+            load(productRepository, p -> rebuilt.put(SearchIndex.Document.of(p)));
+            synchronized (updates) {
+                log.info("SearchIndexServiceImpl.rebuild: replaying {} updates applied while rebuilding", pending.size());
+                pending.forEach(update -> update.accept(rebuilt));
+                index = rebuilt;
+            }
+            ready = true;
+            log.info("SearchIndexServiceImpl.rebuild: Search index rebuilt. products = {}, categories = {}, brands = {}",
+                    rebuilt.size(SearchIndex.Type.PRODUCT),
+                    rebuilt.size(SearchIndex.Type.CATEGORY),
+                    rebuilt.size(SearchIndex.Type.BRAND));
+        } catch (RuntimeException e) {
+            log.error("SearchIndexServiceImpl.rebuild: Failed to rebuild search index", e);
+        } finally {
+            synchronized (updates) {
+                pending = null;
+            }
+        }
+    }
+
+    private void apply(Consumer<SearchIndex> update) {
+        synchronized (updates) {
+            update.accept(index);
+            if (pending != null) {
+                pending.add(update);
+            }
+        }
+    }
+
+    private <T> void load(JpaRepository<T, Integer> repository, Consumer<T> consumer) {
+        Page<T> page = repository.findAll(PageRequest.of(0, BATCH_SIZE, Sort.by("id")));
+        page.forEach(consumer);
+        while (page.hasNext()) {
+            page = repository.findAll(page.nextPageable());
+            page.forEach(consumer);
+        }
+    }
+
+    private void collect(Category category, Consumer<Category> consumer) {
+        consumer.accept(category);
+        if (category.getCategories() != null) {
+            category.getCategories().forEach(child -> collect(child, consumer));
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package net.rewerk.webstore.products.service.tree;
+
+import lombok.NonNull;
+import net.rewerk.webstore.dto.response.category.CategoryResponseDto;
+import net.rewerk.webstore.entity.Category;
+import net.rewerk.webstore.products.repository.projection.CategoryTreeRow;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable versioned snapshot of category tree
+ * Never modified after creation, changes are applied by building a new snapshot and replacing the current one.
+ * Every lookup returns fresh entity or DTO copies, so callers can not modify the snapshot
+ *
+ * @author rewerk
+ */
+
+public final class CategoryTree {
+    public static final CategoryTree EMPTY = new CategoryTree(0L, List.of());
+    private static final Map<String, Function<Node, Comparable<?>>> SORT_PROPERTIES = Map.of(
+            "id", Node::id,
+            "name", Node::name,
+            "description", Node::description,
+            "icon", Node::icon,
+            "categoryId", Node::categoryId,
+            "enabled", Node::enabled,
+            "productsCount", Node::productsCount,
+            "createdAt", Node::createdAt,
+            "updatedAt", Node::updatedAt
+    );
+    private final long version;
+    private final Map<Integer, Node> nodes;
+    private final Map<Integer, List<Integer>> children;
+
+    /**
+     * Category tree node
+     *
+     * @param id            Category identifier
+     * @param name          Category name
+     * @param description   Category description
+     * @param icon          Category icon
+     * @param categoryId    Parent category identifier, null for root categories
+     * @param enabled       Category visibility flag
+     * @param productsCount Count of available products
+     * @param createdAt     Category creation date
+     * @param updatedAt     Category update date
+     */
+
+    public record Node(Integer id,
+                       String name,
+                       String description,
+                       String icon,
+                       Integer categoryId,
+                       Boolean enabled,
+                       Integer productsCount,
+                       Date createdAt,
+                       Date updatedAt) {
+
+        /**
+         * Create node from category tree query row
+         *
+         * @param row Category tree query row
+         * @return Category tree node
+         */
+
+        public static Node of(@NonNull CategoryTreeRow row) {
+            return new Node(
+                    row.getId(),
+                    row.getName(),
+                    row.getDescription(),
+                    row.getIcon(),
+                    row.getCategoryId(),
+                    row.getEnabled(),
+                    row.getProductsCount(),
+                    row.getCreatedAt(),
+                    row.getUpdatedAt()
+            );
+        }
+    }
+
+    public CategoryTree(long version, @NonNull List<Node> nodes) {
+        this.version = version;
+        Map<Integer, Node> byId = new HashMap<>();
+        Map<Integer, List<Integer>> byParent = new HashMap<>();
+        nodes.stream()
+                .sorted(Comparator.comparing(Node::id))
+                .forEach(node -> {
+                    byId.put(node.id(), node);
+                    if (node.categoryId() != null) {
+                        byParent.computeIfAbsent(node.categoryId(), _ -> new ArrayList<>()).add(node.id());
+                    }
+                });
+        this.nodes = Map.copyOf(byId);
+        this.children = byParent.entrySet().stream()
+                .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, entry -> List.copyOf(entry.getValue())));
+    }
+
+    private CategoryTree(long version, Map<Integer, Node> nodes, Map<Integer, List<Integer>> children) {
+        this.version = version;
+        this.nodes = nodes;
+        this.children = children;
+    }
+
+    /**
+     * Create next snapshot version with changed products count of categories
+     * Structure of the tree is shared with this snapshot, only nodes with changed count are replaced
+     *
+     * @param productsCounts Products count by category identifier, unknown identifiers are skipped
+     * @return New category tree snapshot or this snapshot if no count changed
+     */
+
+    public CategoryTree withProductsCounts(@NonNull Map<Integer, Integer> productsCounts) {
+        Map<Integer, Node> changed = new HashMap<>(nodes);
+        boolean isChanged = false;
+        for (Map.Entry<Integer, Integer> entry : productsCounts.entrySet()) {
+            Node node = nodes.get(entry.getKey());
+            if (node != null && !Objects.equals(node.productsCount(), entry.getValue())) {
+                changed.put(node.id(), new Node(node.id(), node.name(), node.description(), node.icon(),
+                        node.categoryId(), node.enabled(), entry.getValue(), node.createdAt(), node.updatedAt()));
+                isChanged = true;
+            }
+        }
+        return isChanged ? new CategoryTree(version + 1, Map.copyOf(changed), children) : this;
+    }
+
+    /**
+     * Get snapshot version
+     *
+     * @return Snapshot version
+     */
+
+    public long version() {
+        return version;
+    }
+
+    /**
+     * Get count of categories in snapshot
+     *
+     * @return Count of categories
+     */
+
+    public int size() {
+        return nodes.size();
+    }
+
+    /**
+     * Find detached Category entity copy with subcategories by identifier
+     *
+     * @param id Category identifier
+     * @return Optional of Category entity
+     */
+
+    public Optional<Category> find(Integer id) {
+        return Optional.ofNullable(nodes.get(id)).map(this::toEntity);
+    }
+
+    /**
+     * Find Category response DTO copies by identifiers
+     *
+     * @param ids List of Category identifiers
+     * @return List of Category response DTO in order of snapshot, unknown identifiers are skipped
+     */
+
+    public List<CategoryResponseDto> findByIds(@NonNull Collection<Integer> ids) {
+        return new HashSet<>(ids).stream()
+                .map(nodes::get)
+                .filter(Objects::nonNull)
+                .sorted(Comparator.comparing(Node::id))
+                .map(this::toDto)
+                .toList();
+    }
+
+    /**
+     * Check snapshot can sort nodes by sort of pageable request
+     *
+     * @param sort Spring Sort object
+     * @return true if all sort properties are supported
+     */
+
+    public static boolean isSortable(@NonNull Sort sort) {
+        return sort.stream().allMatch(order -> SORT_PROPERTIES.containsKey(order.getProperty()));
+    }
+
+    /**
+     * Find page of Category response DTO by filter and pageable request
+     *
+     * @param filter   Category node filter
+     * @param pageable Spring Pageable object, sort properties must be supported
+     * @return Page of Category response DTO
+     */
+
+    public Page<CategoryResponseDto> findAll(@NonNull Predicate<Node> filter, @NonNull Pageable pageable) {
+        List<Node> matched = nodes.values().stream()
+                .filter(filter)
+                .sorted(comparator(pageable.getSort()))
+                .toList();
+        List<CategoryResponseDto> content = matched.stream()
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .map(this::toDto)
+                .toList();
+        return new PageImpl<>(content, pageable, matched.size());
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Comparator<Node> comparator(Sort sort) {
+        Comparator<Node> result = (_, _) -> 0;
+        for (Sort.Order order : sort) {
+            Function<Node, Comparable> getter = (Function) SORT_PROPERTIES.get(order.getProperty());
+            // nulls are ordered as in PostgreSQL: last for ascending, first for descending order
+            Comparator<Comparable> values = order.isAscending()
+                    ? Comparator.nullsLast(Comparator.<Comparable>naturalOrder())
+                    : Comparator.nullsFirst(Comparator.<Comparable>naturalOrder().reversed());
+            result = result.thenComparing(getter, values);
+        }
+        return result.thenComparing(Node::id);
+    }
+
+    private List<Node> childrenOf(Node node) {
+        return children.getOrDefault(node.id(), List.of()).stream()
+                .map(nodes::get)
+                .toList();
+    }
+
+    private Category toEntity(Node node) {
+        Category category = Category.builder()
+                .name(node.name())
+                .description(node.description())
+                .icon(node.icon())
+                .categoryId(node.categoryId())
+                .enabled(node.enabled())
+                .productsCount(node.productsCount())
+                .categories(childrenOf(node).stream()
+                        .map(this::toEntity)
+                        .collect(Collectors.toCollection(ArrayList::new)))
+                .build();
+        category.setId(node.id());
+        category.setCreatedAt(node.createdAt());
+        category.setUpdatedAt(node.updatedAt());
+        return category;
+    }
+
+    private CategoryResponseDto toDto(Node node) {
+        return CategoryResponseDto.builder()
+                .id(node.id())
+                .name(node.name())
+                .description(node.description())
+                .icon(node.icon())
+                .categoryId(node.categoryId())
+                .enabled(node.enabled())
+                .productsCount(node.productsCount())
+                .categories(childrenOf(node).stream()
+                        .map(this::toDto)
+                        .collect(Collectors.toCollection(ArrayList::new)))
+                .build();
+    }
+}
@@ -0,0 +1,15 @@
+package net.rewerk.webstore.products.service.tree;
+
+import java.util.Map;
+
+public interface CategoryTreeService {
+    boolean isReady();
+
+    CategoryTree getTree();
+
+    void invalidate();
+
+    void updateProductsCounts(Map<Integer, Integer> productsCounts);
+
+    void refresh();
+}
@@ -0,0 +1,135 @@
+package net.rewerk.webstore.products.service.tree.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.rewerk.webstore.products.repository.CategoryRepository;
+import net.rewerk.webstore.products.service.tree.CategoryTree;
+import net.rewerk.webstore.products.service.tree.CategoryTreeService;
+import net.rewerk.webstore.utility.TransactionUtils;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Category tree service implementation
+ * Holds immutable category tree snapshot loaded with single recursive query.
+ * Snapshot is rebuilt after commit of transactions which changed categories and by schedule to pick up
+ * changes made by other service instances. Changed products counts are applied to the current snapshot
+ * without rebuilding it
+ *
+ * @author rewerk
+ */
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CategoryTreeServiceImpl implements CategoryTreeService {
+    private final CategoryRepository categoryRepository;
+    private final AtomicLong requested = new AtomicLong();
+    private final Object lock = new Object();
+    private long loaded = -1L;
+    private volatile CategoryTree tree = CategoryTree.EMPTY;
+    private volatile boolean ready = false;
+
+    /**
+     * Check category tree is loaded and can serve requests
+     *
+     * @return true if tree is ready
+     */
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Get current category tree snapshot
+     *
+     * @return Category tree snapshot
+     */
+
+    @Override
+    public CategoryTree getTree() {
+        return tree;
+    }
+
+    /**
+     * Rebuild category tree after surrounding transaction commits
+     */
+
+    @Override
+    public void invalidate() {
+        TransactionUtils.afterCommit(this::refresh);
+    }
+
+    /**
+     * Apply products count of categories to current snapshot after surrounding transaction commits
+     * Snapshot which is not loaded yet is skipped, it reads the counts when loaded
+     *
+     * @param productsCounts Products count by category identifier
+     */
+
+    @Override
+    public void updateProductsCounts(Map<Integer, Integer> productsCounts) {
+        if (productsCounts.isEmpty()) {
+            return;
+        }
+        TransactionUtils.afterCommit(() -> this.applyProductsCounts(productsCounts));
+    }
+
+    /**
+     * Rebuild category tree and replace current snapshot
+     * Concurrent refresh requests are coalesced: request is skipped if a rebuild started after it was made
+     */
+
+    @Override
+    @Scheduled(cron = "${category.tree.refresh_cron:0 * * * * *}")
+    public void refresh() {
+        long request = requested.incrementAndGet();
+        synchronized (lock) {
+            if (loaded >= request) {
+                return;
+            }
+            long snapshot = requested.get();
+            try {
+                CategoryTree rebuilt = new CategoryTree(
+                        tree.version() + 1,
+                        categoryRepository.findTree().stream()
+                                .map(CategoryTree.Node::of)
+                                .toList()
+                );
+                tree = rebuilt;
+                ready = true;
+                loaded = snapshot;
+                log.info("CategoryTreeServiceImpl.refresh: Category tree rebuilt. version = {}, categories = {}",
+                        rebuilt.version(), rebuilt.size());
+            } catch (RuntimeException e) {
+                log.error("CategoryTreeServiceImpl.refresh: Failed to rebuild category tree", e);
+            }
+        }
+    }
+
+    private void applyProductsCounts(Map<Integer, Integer> productsCounts) {
+        synchronized (lock) {
+            if (ready) {
+                tree = tree.withProductsCounts(productsCounts);
+            }
+        }
+    }
+
+    /**
+     * Load category tree on application startup without blocking it
+     * Categories are read from database until tree is ready
+     */
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        this.refresh();
+    }
+}
@@ -5,6 +5,7 @@ import lombok.NonNull;
 import net.rewerk.webstore.dto.request.category.CategorySearchDto;
 import net.rewerk.webstore.entity.Category;
 import net.rewerk.webstore.entity.User;
+import net.rewerk.webstore.products.service.tree.CategoryTree;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.util.ArrayList;
@@ -45,4 +46,32 @@ public abstract class CategorySpecification {
             return cb.and(predicates.toArray(new Predicate[0]));
         };
     }
+
+    /**
+     * Get category tree node filter by search DTO and user with the same conditions as JPA specification
+     *
+     * @param categorySearchDto DTO with search parameters
+     * @param user              Authenticated user
+     * @return Category tree node filter
+     */
+
+    public static java.util.function.Predicate<CategoryTree.Node> getPredicate(
+            @NonNull CategorySearchDto categorySearchDto,
+            User user
+    ) {
+        java.util.function.Predicate<CategoryTree.Node> predicate = _ -> true;
+        Integer categoryId = categorySearchDto.getCategory_id();
+        if (categoryId == null) {
+            predicate = predicate.and(node -> node.categoryId() == null);
+        } else if (categoryId > 0) {
+            predicate = predicate.and(node -> categoryId.equals(node.categoryId()));
+        }
+        if (user == null || !List.of(User.Role.ROLE_ADMIN, User.Role.ROLE_SERVICE).contains(user.getRole())) {
+            predicate = predicate.and(node -> Boolean.TRUE.equals(node.enabled()));
+        } else if (categorySearchDto.getEnabled() != null) {
+            Boolean enabled = categorySearchDto.getEnabled();
+            predicate = predicate.and(node -> enabled.equals(node.enabled()));
+        }
+        return predicate;
+    }
 }
@@ -0,0 +1,18 @@
+-- materialized count of available products in category and its enabled subcategories
+alter table categories
+    add column if not exists products_count integer not null default 0;
+create index if not exists products_category_id_available_idx on products (category_id)
+    where deleted = false and enabled = true and balance > 0;
+
+update categories c
+set products_count = (select count(*)
+                      from products p
+                      where p.deleted = false
+                        and p.enabled = true
+                        and p.balance > 0
+                        and (p.category_id = c.id
+                          or p.category_id in (select s.id
+                                               from categories s
+                                               where s.category_id = c.id
+                                                 and s.deleted = false
+                                                 and s.enabled = true)));
@@ -0,0 +1,11 @@
+-- stock_reservations table, idempotency keys of applied stock reservations
+-- released reservation without items is a tombstone of reservation released before it was applied
+create table stock_reservations
+(
+    id          character varying(64) not null primary key,
+    product_ids integer[]              not null default '{}',
+    amounts     integer[]              not null default '{}',
+    released    boolean                not null default false,
+    created_at  timestamp              not null default now(),
+    updated_at  timestamp              not null default now()
+);
@@ -0,0 +1,15 @@
+-- outbox table, messages written in the transactions of changes and relayed to Kafka in identifier order
+-- dead messages failed max relay attempts and are kept for investigation
+create table outbox
+(
+    id          bigserial              not null primary key,
+    binding     character varying(255) not null,
+    message_key character varying(255),
+    payload     text                   not null,
+    attempts    integer                not null default 0,
+    dead        boolean                not null default false,
+    last_error  text,
+    created_at  timestamp              not null default now()
+);
+
+create index outbox_pending_idx on outbox (id) where dead = false;
@@ -0,0 +1,11 @@
+-- processed_messages table, identifiers of consumed SCS messages for skipping redeliveries
+-- records are purged after messages.dedup.ttl_hours
+create table processed_messages
+(
+    consumer     character varying(255) not null,
+    message_id   character varying(255) not null,
+    processed_at timestamp              not null default now(),
+    primary key (consumer, message_id)
+);
+
+create index processed_messages_processed_at_idx on processed_messages (processed_at);
@@ -0,0 +1,5 @@
+-- outbox relay picks only due messages, later messages with the same binding and key are held
+-- while an earlier one is dead or waits for retry
+drop index if exists outbox_dead_idx;
+
+create index outbox_held_idx on outbox (binding, message_key, id) where dead = true or next_attempt_at is not null;
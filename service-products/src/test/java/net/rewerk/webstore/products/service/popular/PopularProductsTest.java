@@ -0,0 +1,58 @@
+package net.rewerk.webstore.products.service.popular;
+
+import net.rewerk.webstore.dto.response.category.CategoryResponseDto;
+import net.rewerk.webstore.dto.response.product.ProductResponseDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PopularProductsTest {
+
+    private ProductResponseDto product(Integer id, Double rating, Integer balance) {
+        return ProductResponseDto.builder()
+                .id(id)
+                .rating(rating)
+                .balance(balance)
+                .enabled(true)
+                .category(CategoryResponseDto.builder().id(1).enabled(true).build())
+                .build();
+    }
+
+    @Test
+    public void givenLoadedLeaderboard_whenUpdateRatings_thenReorderSnapshot() {
+        PopularProducts popular = new PopularProducts(2, 3);
+        popular.load(List.of(product(1, 4.5, 1), product(2, 4.0, 1)));
+
+        assertThat(popular.update(product(3, 4.8, 1))).isFalse();
+        assertThat(popular.snapshot()).extracting(ProductResponseDto::getId).containsExactly(3, 1);
+
+        assertThat(popular.update(product(1, 3.0, 1))).isFalse();
+        assertThat(popular.snapshot()).extracting(ProductResponseDto::getId).containsExactly(3, 2);
+    }
+
+    @Test
+    public void givenUnavailableProduct_whenUpdate_thenRemoveItFromSnapshot() {
+        PopularProducts popular = new PopularProducts(2, 3);
+        popular.load(List.of(product(1, 4.5, 1), product(2, 4.0, 1), product(3, 3.5, 1)));
+        List<ProductResponseDto> previous = popular.snapshot();
+
+        assertThat(popular.update(product(1, 4.5, 0))).isFalse();
+
+        assertThat(popular.snapshot()).extracting(ProductResponseDto::getId).containsExactly(2, 3);
+        assertThat(previous).extracting(ProductResponseDto::getId).containsExactly(1, 2);
+    }
+
+    @Test
+    public void givenIncompleteLeaderboard_whenCandidatesExhausted_thenRequestRebuild() {
+        PopularProducts popular = new PopularProducts(2, 2);
+        popular.load(List.of(product(1, 4.5, 1), product(2, 4.0, 1)));
+
+        assertThat(popular.update(product(4, 1.0, 1))).isFalse();
+        assertThat(popular.snapshot()).extracting(ProductResponseDto::getId).containsExactly(1, 2);
+
+        assertThat(popular.remove(1)).isTrue();
+        assertThat(popular.snapshot()).extracting(ProductResponseDto::getId).containsExactly(2);
+    }
+}
@@ -0,0 +1,105 @@
+package net.rewerk.webstore.products.service.search;
+
+import net.rewerk.webstore.entity.Brand;
+import net.rewerk.webstore.entity.Category;
+import net.rewerk.webstore.entity.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SearchIndexTest {
+    private SearchIndex index;
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        index = new SearchIndex();
+        category = Category.builder().name("Smartphones").enabled(true).build();
+        category.setId(1);
+        index.put(SearchIndex.Document.of(category));
+    }
+
+    private Product product(Integer id, String name, List<String> tags, Integer balance) {
+        Product product = Product.builder()
+                .name(name)
+                .tags(tags)
+                .balance(balance)
+                .enabled(true)
+                .category(category)
+                .build();
+        product.setId(id);
+        return product;
+    }
+
+    @Test
+    public void givenProducts_whenSearch_thenReturnRankedSubstringMatches() {
+        index.put(SearchIndex.Document.of(product(1, "Phone case", List.of(), 5)));
+        index.put(SearchIndex.Document.of(product(2, "Smart Phone X", List.of(), 5)));
+        index.put(SearchIndex.Document.of(product(3, "Headphones", List.of(), 5)));
+        index.put(SearchIndex.Document.of(product(4, "Laptop", List.of(), 5)));
+
+        SearchIndex.Hits hits = index.search(SearchIndex.Type.PRODUCT, " PHONE ", 10);
+
+        assertThat(hits.total()).isEqualTo(3);
+        assertThat(hits.ids()).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    public void givenProductTags_whenSearchByTag_thenReturnProduct() {
+        index.put(SearchIndex.Document.of(product(1, "Model S", List.of("Wireless charging"), 5)));
+
+        assertThat(index.search(SearchIndex.Type.PRODUCT, "wireless", 10).ids()).containsExactly(1);
+        assertThat(index.search(SearchIndex.Type.PRODUCT, "s wi", 10).ids()).isEmpty();
+    }
+
+    @Test
+    public void givenUnavailableProducts_whenSearch_thenSkipThem() {
+        index.put(SearchIndex.Document.of(product(1, "Phone one", List.of(), 0)));
+        index.put(SearchIndex.Document.of(product(2, "Phone two", List.of(), 5)));
+        category.setEnabled(false);
+        Category other = Category.builder().name("Other").enabled(true).build();
+        other.setId(2);
+        index.put(SearchIndex.Document.of(other));
+        Product moved = product(3, "Phone three", List.of(), 5);
+        moved.setCategory(other);
+        index.put(SearchIndex.Document.of(moved));
+
+        assertThat(index.search(SearchIndex.Type.PRODUCT, "phone", 10).ids()).containsExactly(2, 3);
+
+        index.put(SearchIndex.Document.of(category));
+
+        assertThat(index.search(SearchIndex.Type.PRODUCT, "phone", 10).ids()).containsExactly(3);
+    }
+
+    @Test
+    public void givenUpdatedAndRemovedDocuments_whenSearch_thenReturnActualState() {
+        Brand brand = Brand.builder().name("Acme").build();
+        brand.setId(1);
+        index.put(SearchIndex.Document.of(brand));
+        brand.setName("Globex");
+        index.put(SearchIndex.Document.of(brand));
+
+        assertThat(index.search(SearchIndex.Type.BRAND, "acme", 10).total()).isZero();
+        assertThat(index.search(SearchIndex.Type.BRAND, "glob", 10).ids()).containsExactly(1);
+
+        index.remove(SearchIndex.Type.BRAND, 1);
+
+        assertThat(index.search(SearchIndex.Type.BRAND, "glob", 10).total()).isZero();
+        assertThat(index.size(SearchIndex.Type.BRAND)).isZero();
+    }
+
+    @Test
+    public void givenManyMatches_whenSearchWithLimit_thenReturnLimitedIdsAndFullTotal() {
+        for (int i = 1; i <= 5; i++) {
+            index.put(SearchIndex.Document.of(product(i, "Phone " + i, List.of(), 1)));
+        }
+
+        SearchIndex.Hits hits = index.search(SearchIndex.Type.PRODUCT, "ph", 2);
+
+        assertThat(hits.ids()).containsExactly(1, 2);
+        assertThat(hits.total()).isEqualTo(5);
+    }
+}
@@ -0,0 +1,77 @@
+package net.rewerk.webstore.products.service.search.impl;
+
+import net.rewerk.webstore.entity.Category;
+import net.rewerk.webstore.entity.Product;
+import net.rewerk.webstore.products.repository.BrandRepository;
+import net.rewerk.webstore.products.repository.CategoryRepository;
+import net.rewerk.webstore.products.repository.ProductRepository;
+import net.rewerk.webstore.products.service.search.SearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class SearchIndexServiceImplTest {
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+    private final CategoryRepository categoryRepository = mock(CategoryRepository.class);
+    private final BrandRepository brandRepository = mock(BrandRepository.class);
+    private final SearchIndexServiceImpl service = new SearchIndexServiceImpl(productRepository,
+            categoryRepository, brandRepository);
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "BATCH_SIZE", 10);
+        category = Category.builder().name("Electronics").enabled(true).build();
+        category.setId(1);
+        when(categoryRepository.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(category)));
+        when(brandRepository.findAll(any(Pageable.class))).thenReturn(Page.empty());
+    }
+
+    private Product product(Integer id, String name) {
+        Product product = Product.builder()
+                .name(name)
+                .balance(5)
+                .enabled(true)
+                .category(category)
+                .build();
+        product.setId(id);
+        return product;
+    }
+
+    @Test
+    public void givenUpdatesWhileRebuilding_whenRebuild_thenKeepThemInNewIndex() {
+        Product phone = product(1, "Phone");
+        Product laptop = product(2, "Laptop");
+        when(productRepository.findAll(any(Pageable.class))).thenAnswer(_ -> {
+            service.index(laptop);
+            service.remove(phone);
+            return new PageImpl<>(List.of(phone));
+        });
+
+        service.rebuild();
+
+        assertThat(service.isReady()).isTrue();
+        assertThat(service.search(SearchIndex.Type.PRODUCT, "laptop", 10).ids()).containsExactly(2);
+        assertThat(service.search(SearchIndex.Type.PRODUCT, "phone", 10).ids()).isEmpty();
+    }
+
+    @Test
+    public void givenUpdateAfterRebuild_whenIndex_thenApplyToCurrentIndex() {
+        when(productRepository.findAll(any(Pageable.class))).thenReturn(Page.empty());
+        service.rebuild();
+
+        service.index(product(1, "Phone"));
+
+        assertThat(service.search(SearchIndex.Type.PRODUCT, "phone", 10).ids()).containsExactly(1);
+    }
+}
@@ -0,0 +1,88 @@
+package net.rewerk.webstore.products.service.tree;
+
+import net.rewerk.webstore.dto.response.category.CategoryResponseDto;
+import net.rewerk.webstore.entity.Category;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CategoryTreeTest {
+    private CategoryTree tree;
+
+    private CategoryTree.Node node(Integer id, String name, Integer parentId, boolean enabled) {
+        return new CategoryTree.Node(id, name, null, null, parentId, enabled, id * 10, null, null);
+    }
+
+    @BeforeEach
+    void setUp() {
+        tree = new CategoryTree(1L, List.of(
+                node(1, "Electronics", null, true),
+                node(2, "Smartphones", 1, true),
+                node(3, "Laptops", 1, false),
+                node(4, "Books", null, true),
+                node(5, "Cases", 2, true)
+        ));
+    }
+
+    @Test
+    public void givenTree_whenFindById_thenReturnDetachedCopyWithSubtree() {
+        Category category = tree.find(1).orElseThrow();
+
+        assertThat(category.getCategories()).extracting(Category::getId).containsExactly(2, 3);
+        assertThat(category.getCategories().getFirst().getCategories()).extracting(Category::getId).containsExactly(5);
+        assertThat(category.getProductsCount()).isEqualTo(10);
+
+        category.setName("Changed");
+        category.getCategories().clear();
+
+        Category other = tree.find(1).orElseThrow();
+        assertThat(other.getName()).isEqualTo("Electronics");
+        assertThat(other.getCategories()).hasSize(2);
+        assertThat(tree.find(42)).isEmpty();
+    }
+
+    @Test
+    public void givenFilterAndSort_whenFindAll_thenReturnSortedPage() {
+        Page<CategoryResponseDto> page = tree.findAll(
+                node -> node.enabled(),
+                PageRequest.of(0, 2, Sort.by(Sort.Direction.ASC, "name"))
+        );
+
+        assertThat(page.getTotalElements()).isEqualTo(4);
+        assertThat(page.getContent()).extracting(CategoryResponseDto::getName).containsExactly("Books", "Cases");
+
+        Page<CategoryResponseDto> roots = tree.findAll(
+                node -> node.categoryId() == null,
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "productsCount"))
+        );
+
+        assertThat(roots.getContent()).extracting(CategoryResponseDto::getId).containsExactly(4, 1);
+        assertThat(roots.getContent().get(1).getCategories()).hasSize(2);
+    }
+
+    @Test
+    public void givenUnknownSortProperty_whenCheckSortable_thenReturnFalse() {
+        assertThat(CategoryTree.isSortable(Sort.by("name", "id"))).isTrue();
+        assertThat(CategoryTree.isSortable(Sort.by("products.name"))).isFalse();
+        assertThat(CategoryTree.isSortable(Sort.unsorted())).isTrue();
+    }
+
+    @Test
+    public void givenChangedProductsCounts_whenWithProductsCounts_thenReplaceOnlyChangedNodes() {
+        CategoryTree updated = tree.withProductsCounts(Map.of(2, 7, 4, 40, 42, 1));
+
+        assertThat(updated.version()).isEqualTo(2L);
+        assertThat(updated.find(2).orElseThrow().getProductsCount()).isEqualTo(7);
+        assertThat(updated.find(1).orElseThrow().getCategories()).extracting(Category::getId).containsExactly(2, 3);
+        assertThat(updated.find(1).orElseThrow().getCategories().getFirst().getProductsCount()).isEqualTo(7);
+        assertThat(tree.find(2).orElseThrow().getProductsCount()).isEqualTo(20);
+        assertThat(tree.withProductsCounts(Map.of(4, 40))).isSameAs(tree);
+    }
+}
@@ -0,0 +1,25 @@
+package net.rewerk.webstore.reviews.mq;
+
+/**
+ * Spring Cloud Streams output bindings, messages are written to them through outbox
+ *
+ * @author rewerk
+ */
+
+public final class Bindings {
+
+    /**
+     * Output binding of write events SCS queue
+     */
+
+    public static final String EVENTS_WRITE = "writeEventsMQProducer-out-0";
+
+    /**
+     * Output binding of update product rating SCS queue
+     */
+
+    public static final String PRODUCT_UPDATE_RATING = "updateProductRatingMQProducer-out-0";
+
+    private Bindings() {
+    }
+}
@@ -0,0 +1,23 @@
+package net.rewerk.webstore.reviews.repository;
+
+import net.rewerk.webstore.reviews.service.rating.RatingWindow;
+
+import java.util.Optional;
+
+/**
+ * Review repository fragment for persisted product rating windows
+ *
+ * @author rewerk
+ */
+
+public interface ProductRatingRepository {
+    void initProductRating(Integer productId, int size);
+
+    Optional<RatingWindow> findProductRating(Integer productId, int size);
+
+    Optional<RatingWindow> findProductRatingForUpdate(Integer productId, int size);
+
+    Optional<int[]> findPreviousRating(Integer productId, Integer reviewId);
+
+    void saveProductRating(Integer productId, RatingWindow window);
+}
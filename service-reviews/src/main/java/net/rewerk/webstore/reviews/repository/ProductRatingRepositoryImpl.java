@@ -0,0 +1,103 @@
+package net.rewerk.webstore.reviews.repository;
+
+import lombok.RequiredArgsConstructor;
+import net.rewerk.webstore.reviews.service.rating.RatingWindow;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Optional;
+
+/**
+ * Review repository fragment implementation
+ *
+ * @author rewerk
+ */
+
+@RequiredArgsConstructor
+public class ProductRatingRepositoryImpl implements ProductRatingRepository {
+    private static final String INIT = "insert into product_ratings (product_id, review_ids, ratings)" +
+            " select ?, coalesce(array_agg(r.id order by r.id desc), '{}')," +
+            " coalesce(array_agg(r.rating order by r.id desc), '{}')" +
+            " from (select id, rating from reviews where product_id = ? and deleted = false" +
+            " order by id desc limit ?) r" +
+            " on conflict (product_id) do nothing";
+    private static final String FIND = "select review_ids, ratings from product_ratings where product_id = ?";
+    private static final String FIND_FOR_UPDATE = FIND + " for update";
+    private static final String FIND_PREVIOUS = "select id, rating from reviews" +
+            " where product_id = ? and deleted = false and id < ? order by id desc limit 1";
+    private static final String SAVE = "update product_ratings set review_ids = ?, ratings = ?, updated_at = now()" +
+            " where product_id = ?";
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Build product rating window from last reviews if product has no persisted window
+     *
+     * @param productId Product identifier
+     * @param size      Window size
+     */
+
+    @Override
+    public void initProductRating(Integer productId, int size) {
+        jdbcTemplate.update(INIT, productId, productId, size);
+    }
+
+    /**
+     * Find persisted product rating window
+     *
+     * @param productId Product identifier
+     * @param size      Window size
+     * @return Optional of rating window
+     */
+
+    @Override
+    public Optional<RatingWindow> findProductRating(Integer productId, int size) {
+        return jdbcTemplate.query(FIND, rs -> rs.next() ? Optional.of(window(rs, size)) : Optional.empty(),
+                productId);
+    }
+
+    /**
+     * Find persisted product rating window and lock it until the end of transaction
+     *
+     * @param productId Product identifier
+     * @param size      Window size
+     * @return Optional of rating window
+     */
+
+    @Override
+    public Optional<RatingWindow> findProductRatingForUpdate(Integer productId, int size) {
+        return jdbcTemplate.query(FIND_FOR_UPDATE, rs -> rs.next() ? Optional.of(window(rs, size)) : Optional.empty(),
+                productId);
+    }
+
+    /**
+     * Find the newest not deleted review of product older than given review
+     *
+     * @param productId Product identifier
+     * @param reviewId  Review identifier
+     * @return Optional of review identifier and rating pair
+     */
+
+    @Override
+    public Optional<int[]> findPreviousRating(Integer productId, Integer reviewId) {
+        return jdbcTemplate.query(FIND_PREVIOUS,
+                rs -> rs.next() ? Optional.of(new int[]{rs.getInt(1), rs.getInt(2)}) : Optional.empty(),
+                productId, reviewId);
+    }
+
+    /**
+     * Save product rating window
+     *
+     * @param productId Product identifier
+     * @param window    Rating window
+     */
+
+    @Override
+    public void saveProductRating(Integer productId, RatingWindow window) {
+        jdbcTemplate.update(SAVE, window.reviewIds(), window.ratings(), productId);
+    }
+
+    private static RatingWindow window(ResultSet rs, int size) throws SQLException {
+        return RatingWindow.of(size, (Integer[]) rs.getArray(1).getArray(), (Integer[]) rs.getArray(2).getArray());
+    }
+}
@@ -17,7 +17,8 @@ import java.util.UUID;
  */
 
 @Repository
-public interface ReviewRepository extends JpaRepository<Review, Integer>, JpaSpecificationExecutor<Review> {
+public interface ReviewRepository extends JpaRepository<Review, Integer>, JpaSpecificationExecutor<Review>,
+        ProductRatingRepository {
     boolean existsByOrderIdAndProductIdAndUserId(Integer orderId, Integer productId, UUID userId);
 
     @Query(
@@ -26,18 +27,5 @@ public interface ReviewRepository extends JpaRepository<Review, Integer>, JpaSpe
     )
     List<List<String>> findAllImagesByProductId(Integer productId);
 
-    @Query(
-            value = "select r.rating from reviews r where r.product_id = :productId order by id desc limit 50",
-            nativeQuery = true
-    )
-    List<Integer> findLastRatingsByProductId(Integer productId);
-
-    @Query(
-            value = "select avg(r.rating) from " +
-                    "(select rating from reviews where product_id = :productId order by id desc limit 50) as r",
-            nativeQuery = true
-    )
-    Double findActualAverageRatingByProductId(Integer productId);
-
     long countByCreatedAtGreaterThan(Date createdAtIsGreaterThan);
 }
@@ -10,12 +10,12 @@ import net.rewerk.webstore.entity.Review;
 import net.rewerk.webstore.reviews.dto.mapper.ReviewDtoMapper;
 import net.rewerk.webstore.reviews.feign.client.UsersFeignClient;
 import net.rewerk.webstore.reviews.service.aggregator.ReviewAggregatorService;
+import net.rewerk.webstore.utility.AggregationUtils;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
-import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -61,12 +61,10 @@ public class ReviewAggregatorServiceImpl implements ReviewAggregatorService {
         List<UUID> uuids = reviews.stream().map(Review::getUserId).distinct().toList();
         PayloadResponseDto<UserResponseDto> usersPayload = usersFeignClient.getByIds(uuids);
         List<ReviewResponseDto> mapped = reviewDtoMapper.toDto(reviews);
-        mapped.forEach(review -> {
-            Optional<UserResponseDto> user = usersPayload.getPayload().stream()
-                    .filter(usr -> review.getUserId().equals(usr.getId()))
-                    .findFirst();
-            user.ifPresent(review::setUser);
-        });
+        AggregationUtils.join(mapped,
+                ReviewResponseDto::getUserId,
+                AggregationUtils.indexBy(usersPayload.getPayload(), UserResponseDto::getId),
+                ReviewResponseDto::setUser);
         return mapped;
     }
 
@@ -12,33 +12,32 @@ import net.rewerk.webstore.dto.response.SinglePayloadResponseDto;
 import net.rewerk.webstore.dto.response.order.OrderResponseDto;
 import net.rewerk.webstore.dto.response.order_product.OrderProductResponseDto;
 import net.rewerk.webstore.dto.response.product.ProductActualRatingResponseDto;
-import net.rewerk.webstore.dto.response.product.ProductResponseDto;
 import net.rewerk.webstore.dto.response.review.ReviewLastRatingsDto;
 import net.rewerk.webstore.dto.response.review.ReviewProbeResponseDto;
 import net.rewerk.webstore.dto.response.review.ReviewResponseDto;
 import net.rewerk.webstore.dto.response.review.ReviewStatsReportResponseDto;
 import net.rewerk.webstore.entity.Review;
+import net.rewerk.webstore.outbox.Outbox;
 import net.rewerk.webstore.reviews.feign.client.OrdersFeignClient;
-import net.rewerk.webstore.reviews.mq.Suppliers;
+import net.rewerk.webstore.reviews.mq.Bindings;
 import net.rewerk.webstore.reviews.repository.ReviewRepository;
 import net.rewerk.webstore.reviews.service.aggregator.ReviewAggregatorService;
 import net.rewerk.webstore.reviews.service.entity.ReviewService;
+import net.rewerk.webstore.reviews.service.rating.ProductRatingService;
+import net.rewerk.webstore.reviews.service.rating.RatingWindow;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
-import org.springframework.integration.support.MessageBuilder;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import reactor.core.publisher.Sinks;
 
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.*;
-import java.util.stream.IntStream;
 
 /**
  * Review entity service implementation
@@ -55,7 +54,8 @@ public class ReviewServiceImpl implements ReviewService {
     private final ReviewRepository reviewRepository;
     private final OrdersFeignClient ordersFeignClient;
     private final ReviewAggregatorService reviewAggregatorService;
-    private final Suppliers mqSuppliers;
+    private final Outbox outbox;
+    private final ProductRatingService productRatingService;
 
     /**
      * Find reviews by Review JPA specification and Spring Pageable request
@@ -108,9 +108,8 @@ public class ReviewServiceImpl implements ReviewService {
         }
         SinglePayloadResponseDto<OrderResponseDto> orderPayload = ordersFeignClient
                 .getOrderById(createDto.getOrder_id());
-        ProductResponseDto product = orderPayload.getPayload().getProducts().stream()
-                .map(OrderProductResponseDto::getProduct)
-                .filter(pProduct -> pProduct.getId().equals(createDto.getProduct_id()))
+        OrderProductResponseDto orderProduct = orderPayload.getPayload().getProducts().stream()
+                .filter(item -> Objects.equals(item.getProductId(), createDto.getProduct_id()))
                 .findFirst().orElseThrow(() -> {
                     log.error("ReviewServiceImpl.create: product with id {} was not found in order",
                             createDto.getProduct_id());
@@ -121,20 +120,15 @@ public class ReviewServiceImpl implements ReviewService {
                 .text(createDto.getText())
                 .orderId(orderPayload.getPayload().getId())
                 .rating(createDto.getRating())
-                .productId(product.getId())
+                .productId(orderProduct.getProductId())
                 .userId(userId)
                 .build());
-        mqSuppliers.getProductUpdateRatingSink().emitNext(MessageBuilder
-                .withPayload(ProductUpdateRatingDto.builder()
-                        .id(result.getProductId())
-                        .rating(reviewRepository.findActualAverageRatingByProductId(product.getId()))
-                        .build())
-                .build(), Sinks.EmitFailureHandler.FAIL_FAST);
+        this.updateRating(result.getProductId(), productRatingService.add(result));
         return reviewAggregatorService.aggregate(result);
     }
 
     /**
-     * Delete Review entity
+     * Delete Review entity, product rating is updated without deleted review
      *
      * @param review Review entity to delete
      */
@@ -144,6 +138,7 @@ public class ReviewServiceImpl implements ReviewService {
         log.info("ReviewServiceImpl.delete: remove review {}", review);
         this.writeEvent("Deleted review: ID %d".formatted(review.getId()));
         reviewRepository.delete(review);
+        this.updateRating(review.getProductId(), productRatingService.remove(review));
     }
 
     /**
@@ -198,12 +193,10 @@ public class ReviewServiceImpl implements ReviewService {
     public ReviewLastRatingsDto findLastRatingsByProductId(Integer productId) {
         log.info("ReviewServiceImpl.findLastRatingsByProductId: find last ratings for product by productId = {}",
                 productId);
-        Map<Integer, Long> result = new HashMap<>();
-        List<Integer> lastRatings = reviewRepository.findLastRatingsByProductId(productId);
-        IntStream.range(1, 6).forEach(i -> result.put(i, (long) Collections.frequency(lastRatings, i)));
+        RatingWindow window = productRatingService.get(productId);
         return ReviewLastRatingsDto.builder()
-                .total(lastRatings.size())
-                .ratings(result)
+                .total(window.size())
+                .ratings(window.histogram())
                 .build();
     }
 
@@ -220,7 +213,7 @@ public class ReviewServiceImpl implements ReviewService {
                 productId);
         return ProductActualRatingResponseDto.builder()
                 .product_id(productId)
-                .rating(reviewRepository.findActualAverageRatingByProductId(productId))
+                .rating(productRatingService.get(productId).average())
                 .build();
     }
 
@@ -262,6 +255,19 @@ public class ReviewServiceImpl implements ReviewService {
         return images.stream().flatMap(Collection::stream).limit(MAX_IMAGES_TO_PRODUCT).toList();
     }
 
+    /**
+     * Service method for send actual product rating to SCS product rating update queue
+     *
+     * @param productId Product entity identifier
+     * @param rating    Actual average rating of product
+     */
+    private void updateRating(Integer productId, Double rating) {
+        outbox.publish(Bindings.PRODUCT_UPDATE_RATING, productId, ProductUpdateRatingDto.builder()
+                .id(productId)
+                .rating(rating)
+                .build());
+    }
+
     /**
      * Service method for send messages to SCS event writing queue
      *
@@ -276,10 +282,9 @@ public class ReviewServiceImpl implements ReviewService {
             throw new UnsupportedOperationException("No authentication found");
         }
         Jwt jwt = (Jwt) authentication.getPrincipal();
-        mqSuppliers.getEventsWriteSink().emitNext(MessageBuilder.withPayload(EventsWriteDto.builder()
+        outbox.publish(Bindings.EVENTS_WRITE, EventsWriteDto.builder()
                 .user_id(UUID.fromString(jwt.getSubject()))
                 .text(text)
-                .build()
-        ).build(), Sinks.EmitFailureHandler.FAIL_FAST);
+                .build());
     }
 }
@@ -0,0 +1,11 @@
+package net.rewerk.webstore.reviews.service.rating;
+
+import net.rewerk.webstore.entity.Review;
+
+public interface ProductRatingService {
+    RatingWindow get(Integer productId);
+
+    Double add(Review review);
+
+    Double remove(Review review);
+}
@@ -0,0 +1,172 @@
+package net.rewerk.webstore.reviews.service.rating;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Sliding window of last product ratings with counts per rating and running sum
+ * Entries are ordered from newest to oldest review, histogram and average are read without iterating the window
+ *
+ * @author rewerk
+ */
+
+public class RatingWindow {
+    public static final int MIN_RATING = 1;
+    public static final int MAX_RATING = 5;
+    private final int capacity;
+    private final Deque<int[]> entries = new ArrayDeque<>();
+    private final long[] counts = new long[MAX_RATING + 1];
+    private long sum;
+
+    /**
+     * Create empty rating window
+     *
+     * @param capacity Maximum count of last ratings in window
+     */
+
+    public RatingWindow(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Create rating window from persisted entries, entries over capacity are dropped
+     *
+     * @param capacity  Maximum count of last ratings in window
+     * @param reviewIds Review identifiers ordered from newest to oldest
+     * @param ratings   Review ratings in the same order
+     * @return Rating window
+     */
+
+    public static RatingWindow of(int capacity, Integer[] reviewIds, Integer[] ratings) {
+        RatingWindow window = new RatingWindow(capacity);
+        for (int i = 0; i < reviewIds.length && i < capacity; i++) {
+            window.addOldest(reviewIds[i], ratings[i]);
+        }
+        return window;
+    }
+
+    /**
+     * Add rating of new review, the oldest rating leaves full window
+     *
+     * @param reviewId Review identifier
+     * @param rating   Review rating
+     * @return True if rating was added, false if review is already in window
+     */
+
+    public boolean add(int reviewId, int rating) {
+        if (this.contains(reviewId)) {
+            return false;
+        }
+        entries.addFirst(this.entry(reviewId, rating));
+        if (entries.size() > capacity) {
+            this.count(entries.removeLast(), -1);
+        }
+        return true;
+    }
+
+    /**
+     * Add rating of review older than all reviews in window, used to refill window after removal
+     *
+     * @param reviewId Review identifier
+     * @param rating   Review rating
+     * @return True if rating was added, false if window is full
+     */
+
+    public boolean addOldest(int reviewId, int rating) {
+        if (this.isFull()) {
+            return false;
+        }
+        entries.addLast(this.entry(reviewId, rating));
+        return true;
+    }
+
+    /**
+     * Remove rating of deleted review
+     *
+     * @param reviewId Review identifier
+     * @return True if review was in window
+     */
+
+    public boolean remove(int reviewId) {
+        var iterator = entries.iterator();
+        while (iterator.hasNext()) {
+            int[] entry = iterator.next();
+            if (entry[0] == reviewId) {
+                iterator.remove();
+                this.count(entry, -1);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean isFull() {
+        return entries.size() >= capacity;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Get identifier of the oldest review in window
+     *
+     * @return Review identifier or null if window is empty
+     */
+
+    public Integer oldestReviewId() {
+        return entries.isEmpty() ? null : entries.getLast()[0];
+    }
+
+    /**
+     * Get average rating of window
+     *
+     * @return Average rating or null if window is empty
+     */
+
+    public Double average() {
+        return entries.isEmpty() ? null : (double) sum / entries.size();
+    }
+
+    /**
+     * Get counts of ratings in window
+     *
+     * @return Map of rating to count for every rating from 1 to 5
+     */
+
+    public Map<Integer, Long> histogram() {
+        Map<Integer, Long> result = new HashMap<>();
+        for (int rating = MIN_RATING; rating <= MAX_RATING; rating++) {
+            result.put(rating, counts[rating]);
+        }
+        return result;
+    }
+
+    public Integer[] reviewIds() {
+        return entries.stream().map(entry -> entry[0]).toArray(Integer[]::new);
+    }
+
+    public Integer[] ratings() {
+        return entries.stream().map(entry -> entry[1]).toArray(Integer[]::new);
+    }
+
+    private boolean contains(int reviewId) {
+        return entries.stream().anyMatch(entry -> entry[0] == reviewId);
+    }
+
+    private int[] entry(int reviewId, int rating) {
+        if (rating < MIN_RATING || rating > MAX_RATING) {
+            throw new IllegalArgumentException("Rating must be between 1 and 5");
+        }
+        int[] entry = new int[]{reviewId, rating};
+        this.count(entry, 1);
+        return entry;
+    }
+
+    private void count(int[] entry, int delta) {
+        counts[entry[1]] += delta;
+        sum += (long) entry[1] * delta;
+    }
+}
@@ -0,0 +1,97 @@
+package net.rewerk.webstore.reviews.service.rating.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import net.rewerk.webstore.entity.Review;
+import net.rewerk.webstore.reviews.repository.ReviewRepository;
+import net.rewerk.webstore.reviews.service.rating.ProductRatingService;
+import net.rewerk.webstore.reviews.service.rating.RatingWindow;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Product rating service implementation
+ * Every product has a persisted window of its last ratings, which is updated on review create and delete
+ * under row lock. Missing windows are built from last reviews, so a window can be rebuilt by deleting its row
+ *
+ * @author rewerk
+ */
+
+@Service
+@Transactional
+@Slf4j
+public class ProductRatingServiceImpl implements ProductRatingService {
+    private final ReviewRepository reviewRepository;
+    private final Integer windowSize;
+
+    public ProductRatingServiceImpl(ReviewRepository reviewRepository,
+                                    @Value("${reviews.rating.window_size:50}") Integer windowSize) {
+        this.reviewRepository = reviewRepository;
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * Get rating window of product
+     *
+     * @param productId Product identifier
+     * @return Rating window
+     */
+
+    @Override
+    public RatingWindow get(Integer productId) {
+        log.info("ProductRatingServiceImpl.get: productId = {}", productId);
+        Optional<RatingWindow> window = reviewRepository.findProductRating(productId, windowSize);
+        if (window.isPresent()) {
+            return window.get();
+        }
+        reviewRepository.initProductRating(productId, windowSize);
+        return reviewRepository.findProductRating(productId, windowSize)
+                .orElseGet(() -> new RatingWindow(windowSize));
+    }
+
+    /**
+     * Add rating of created review to product rating window
+     *
+     * @param review Created review
+     * @return Actual average rating of product
+     */
+
+    @Override
+    public Double add(Review review) {
+        log.info("ProductRatingServiceImpl.add: productId = {}, reviewId = {}", review.getProductId(), review.getId());
+        RatingWindow window = this.lock(review.getProductId());
+        if (window.add(review.getId(), review.getRating())) {
+            reviewRepository.saveProductRating(review.getProductId(), window);
+        }
+        return window.average();
+    }
+
+    /**
+     * Remove rating of deleted review from product rating window, window is refilled with previous review
+     *
+     * @param review Deleted review
+     * @return Actual average rating of product
+     */
+
+    @Override
+    public Double remove(Review review) {
+        log.info("ProductRatingServiceImpl.remove: productId = {}, reviewId = {}",
+                review.getProductId(), review.getId());
+        RatingWindow window = this.lock(review.getProductId());
+        if (window.remove(review.getId())) {
+            Integer oldest = window.oldestReviewId();
+            reviewRepository.findPreviousRating(review.getProductId(), oldest == null ? review.getId() : oldest)
+                    .ifPresent(previous -> window.addOldest(previous[0], previous[1]));
+            reviewRepository.saveProductRating(review.getProductId(), window);
+        }
+        return window.average();
+    }
+
+    private RatingWindow lock(Integer productId) {
+        reviewRepository.initProductRating(productId, windowSize);
+        return reviewRepository.findProductRatingForUpdate(productId, windowSize)
+                .orElseThrow(() -> new IllegalStateException("Product rating window not found"));
+    }
+}
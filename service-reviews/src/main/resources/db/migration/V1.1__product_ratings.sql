@@ -0,0 +1,20 @@
+-- product_ratings table, window of last product ratings ordered from newest review
+create table product_ratings
+(
+    product_id integer   not null primary key,
+    review_ids integer[] not null default '{}',
+    ratings    integer[] not null default '{}',
+    updated_at timestamp not null default now()
+);
+
+-- backfill from last 50 reviews of every product
+insert into product_ratings (product_id, review_ids, ratings)
+select r.product_id, array_agg(r.id order by r.id desc), array_agg(r.rating order by r.id desc)
+from (select id,
+             product_id,
+             rating,
+             row_number() over (partition by product_id order by id desc) as position
+      from reviews
+      where deleted = false) r
+where r.position <= 50
+group by r.product_id;
@@ -0,0 +1,43 @@
+package net.rewerk.webstore.reviews.service.rating;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RatingWindowTest {
+
+    @Test
+    public void givenFullWindow_whenAdd_thenOldestRatingLeavesCountsAndAverage() {
+        RatingWindow window = RatingWindow.of(3, new Integer[]{3, 2, 1}, new Integer[]{5, 4, 1});
+        assertThat(window.average()).isEqualTo(10.0 / 3);
+
+        assertThat(window.add(4, 3)).isTrue();
+        assertThat(window.add(4, 3)).isFalse();
+
+        assertThat(window.reviewIds()).containsExactly(4, 3, 2);
+        assertThat(window.histogram()).containsEntry(1, 0L).containsEntry(3, 1L).containsEntry(4, 1L)
+                .containsEntry(5, 1L);
+        assertThat(window.average()).isEqualTo(4.0);
+    }
+
+    @Test
+    public void givenRemovedRating_whenRefilledWithOlderReview_thenWindowKeepsOrder() {
+        RatingWindow window = RatingWindow.of(2, new Integer[]{5, 4}, new Integer[]{2, 4});
+
+        assertThat(window.remove(7)).isFalse();
+        assertThat(window.remove(5)).isTrue();
+        assertThat(window.oldestReviewId()).isEqualTo(4);
+        assertThat(window.addOldest(3, 5)).isTrue();
+        assertThat(window.addOldest(2, 5)).isFalse();
+
+        assertThat(window.reviewIds()).containsExactly(4, 3);
+        assertThat(window.ratings()).containsExactly(4, 5);
+        assertThat(window.histogram()).containsEntry(2, 0L).containsEntry(5, 1L);
+        assertThat(window.size()).isEqualTo(2);
+        assertThat(window.average()).isEqualTo(4.5);
+
+        window.remove(4);
+        window.remove(3);
+        assertThat(window.average()).isNull();
+    }
+}
@@ -1,5 +1,8 @@
 package net.rewerk.webstore.uploads.configuration;
 
+import net.rewerk.webstore.utility.MessageDeduplicator;
+import net.rewerk.webstore.utility.WindowMessageDeduplicator;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.MessageSource;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -57,4 +60,17 @@ public class ApplicationConfiguration {
     public Function<String, String> uppercase() {
         return String::toUpperCase;
     }
+
+    /**
+     * Configure deduplicator of consumed SCS messages
+     * Uploads service has no database, so recent message identifiers are kept in memory
+     *
+     * @param windowSize Count of remembered message identifiers
+     * @return Message deduplicator
+     */
+
+    @Bean
+    public MessageDeduplicator messageDeduplicator(@Value("${messages.dedup.window_size:10000}") Integer windowSize) {
+        return new WindowMessageDeduplicator(windowSize);
+    }
 }
@@ -2,8 +2,10 @@ package net.rewerk.webstore.uploads.mq;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import net.rewerk.exception.OperationInterruptedException;
 import net.rewerk.webstore.dto.mq.uploads.UploadsDeleteObjectsDto;
 import net.rewerk.webstore.uploads.service.UploadService;
+import net.rewerk.webstore.utility.MessageDeduplicator;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.messaging.Message;
@@ -22,9 +24,12 @@ import java.util.function.Consumer;
 @Slf4j
 public class Consumers {
     private final UploadService uploadService;
+    private final MessageDeduplicator messageDeduplicator;
 
     /**
      * Consumer for delete object from Google Cloud Storage
+     * Redelivered messages are skipped, objects are already deleted.
+     * Consumer waits for deletions, failed message is forgotten and rethrown, so binder retries it
      *
      * @return Consumer for delete GCS object
      */
@@ -32,11 +37,24 @@ public class Consumers {
     @Bean
     public Consumer<Message<UploadsDeleteObjectsDto>> deleteUploadObjectConsumer() {
         return message -> {
+            String messageId = MessageDeduplicator.messageId(message.getHeaders());
+            if (!messageDeduplicator.isFirstDelivery("deleteUploadObjectConsumer", messageId)) {
+                log.warn("SCS deleteUploadObjectConsumer: skipped redelivered message {}", message.getPayload());
+                return;
+            }
             log.info("SCS deleteUploadObjectConsumer: deleting object {}", message.getPayload());
             try {
                 uploadService.deleteObjects(message.getPayload());
             } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                messageDeduplicator.forget("deleteUploadObjectConsumer", messageId);
                 log.error("SCS deleteUploadObjectConsumer: interrupted while deleting object: error {}", e.getMessage());
+                throw new OperationInterruptedException("Deleting objects interrupted");
+            } catch (RuntimeException e) {
+                messageDeduplicator.forget("deleteUploadObjectConsumer", messageId);
+                log.error("SCS deleteUploadObjectConsumer: failed to delete objects, message is retried: error {}",
+                        e.getMessage());
+                throw e;
             }
         };
     }
@@ -21,6 +21,8 @@ import java.io.IOException;
 import java.net.URL;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -140,14 +142,32 @@ public class UploadService {
 
     /**
      * Multiple delete objects from Google Cloud Storage bucket by delete objects request DTO
+     * Waits for all deletions, objects which do not exist anymore are treated as deleted,
+     * so repeated request after partial failure completes
      *
      * @param dto DTO with information about objects to delete
      * @throws InterruptedException Thread execution interrupted
+     * @throws CompletionException  Deletion of any object failed
      */
 
     public void deleteObjects(@NonNull UploadsDeleteObjectsDto dto) throws InterruptedException {
         log.info("UploadService.deleteObjects: dto = {}", dto);
-        this.deleteObjects(dto.getObject_names(), dto.getType());
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (String objectName : dto.getObject_names()) {
+            futures.add(CompletableFuture.runAsync(() -> {
+                try {
+                    deleteObject(objectName, dto.getType());
+                } catch (CloudFileNotFound e) {
+                    log.warn("UploadService.deleteObjects: object {} is already deleted", objectName);
+                }
+            }));
+        }
+        CompletableFuture<Void> all = CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+        try {
+            all.get();
+        } catch (ExecutionException e) {
+            throw new CompletionException(e.getCause());
+        }
     }
 
     /**
@@ -1,12 +1,17 @@
 package net.rewerk.users.configuration;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
+import net.rewerk.webstore.utility.TwoTierCacheManager;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 
 import java.time.Duration;
 
@@ -21,6 +26,7 @@ public class ApplicationConfiguration {
 
     /**
      * Configure application primary Cache manager
+     * With cache.redis.enabled local Caffeine caches are backed by shared Redis caches of all instances
      *
      * @return Cache manager
      */
@@ -29,13 +35,43 @@ public class ApplicationConfiguration {
     @Primary
     public CacheManager cacheManager(
             @Value("${cache.ttl_minutes:10}") Integer ttl,
-            @Value("${cache.size_limit:1000}") Integer size_limit
+            @Value("${cache.size_limit:1000}") Integer size_limit,
+            @Value("${cache.redis.enabled:false}") Boolean redisEnabled,
+            @Value("${cache.redis.ttl_minutes:10}") Integer redisTtl,
+            @Value("${cache.redis.channel:${spring.application.name}.cache.invalidations}") String channel,
+            @Value("${spring.application.name}") String applicationName,
+            ObjectProvider<RedisConnectionFactory> redisConnectionFactory
     ) {
-        CaffeineCacheManager cacheManager = new CaffeineCacheManager("caffeine");
-        cacheManager.setCaffeine(Caffeine.newBuilder()
+        Caffeine<Object, Object> caffeine = Caffeine.newBuilder()
                 .expireAfterWrite(Duration.ofMinutes(ttl))
-                .maximumSize(size_limit)
-        );
+                .maximumSize(size_limit);
+        if (redisEnabled) {
+            return TwoTierCacheManager.redis(
+                    caffeine,
+                    redisConnectionFactory.getObject(),
+                    applicationName,
+                    Duration.ofMinutes(redisTtl),
+                    channel
+            );
+        }
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager("caffeine");
+        cacheManager.setCaffeine(caffeine);
         return cacheManager;
     }
+
+    /**
+     * Configure listener of cache invalidations published by other instances
+     *
+     * @return Redis message listener container
+     */
+
+    @Bean
+    @ConditionalOnProperty(name = "cache.redis.enabled", havingValue = "true")
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(
+            CacheManager cacheManager,
+            RedisConnectionFactory redisConnectionFactory,
+            @Value("${cache.redis.channel:${spring.application.name}.cache.invalidations}") String channel
+    ) {
+        return ((TwoTierCacheManager) cacheManager).subscribe(redisConnectionFactory, channel);
+    }
 }
@@ -3,7 +3,11 @@ package net.rewerk.users.controller;
 import lombok.RequiredArgsConstructor;
 import net.rewerk.webstore.dto.response.SinglePayloadResponseDto;
 import net.rewerk.webstore.dto.response.me.MeResponseDto;
+import net.rewerk.webstore.dto.response.me.SessionSummaryResponseDto;
+import net.rewerk.users.service.summary.SessionSummaryService;
 import net.rewerk.users.util.KeycloakClient;
+import net.rewerk.webstore.utility.ResponseUtils;
+import net.rewerk.webstore.utility.SecurityUtils;
 import org.keycloak.admin.client.Keycloak;
 import org.keycloak.admin.client.resource.UserResource;
 import org.springframework.beans.factory.annotation.Value;
@@ -35,6 +39,7 @@ public class MeController {
     @Value("${keycloak_admin.realm}")
     private String realm;
     private final KeycloakClient keycloakClient;
+    private final SessionSummaryService sessionSummaryService;
 
     /**
      * GET endpoint for retrieve current authenticated user details
@@ -49,23 +54,33 @@ public class MeController {
             @AuthenticationPrincipal Jwt jwt,
             Authentication authentication
     ) {
-        Optional<? extends GrantedAuthority> role = authentication.getAuthorities().stream()
-                .filter(authority -> authority.getAuthority().startsWith("ROLE_"))
-                .findFirst();
         return ResponseEntity.ok().body(SinglePayloadResponseDto.<MeResponseDto>builder()
                 .code(HttpStatus.OK.value())
                 .message(HttpStatus.OK.getReasonPhrase())
-                .payload(MeResponseDto.builder()
-                        .id(UUID.fromString(jwt.getSubject()))
-                        .username(jwt.getClaimAsString(StandardClaimNames.PREFERRED_USERNAME))
-                        .email(jwt.getClaimAsString(StandardClaimNames.EMAIL))
-                        .firstName(jwt.getClaimAsString(StandardClaimNames.GIVEN_NAME))
-                        .lastName(jwt.getClaimAsString(StandardClaimNames.FAMILY_NAME))
-                        .role(role.map(GrantedAuthority::getAuthority).orElse(null))
-                        .build())
+                .payload(this.toMeResponseDto(jwt, authentication))
                 .build());
     }
 
+    /**
+     * GET endpoint for retrieve current authenticated user session summary in single request:
+     * user details, basket, favorites, order counters and payment stats
+     *
+     * @param jwt            OAuth2 jwt token
+     * @param authentication Spring Security Authentication object
+     * @return Response with status 200 and payload with session summary response DTO
+     */
+
+    @GetMapping("me/summary")
+    public ResponseEntity<SinglePayloadResponseDto<SessionSummaryResponseDto>> summary(
+            @AuthenticationPrincipal Jwt jwt,
+            Authentication authentication
+    ) {
+        return ResponseUtils.createSingleResponse(sessionSummaryService.get(
+                SecurityUtils.getUserFromJwtToken(jwt, authentication),
+                this.toMeResponseDto(jwt, authentication)
+        ));
+    }
+
     /**
      * GET endpoint for provide close Keycloak's authenticated user session
      *
@@ -84,4 +99,18 @@ public class MeController {
         }
         return ResponseEntity.noContent().build();
     }
+
+    private MeResponseDto toMeResponseDto(Jwt jwt, Authentication authentication) {
+        Optional<? extends GrantedAuthority> role = authentication.getAuthorities().stream()
+                .filter(authority -> authority.getAuthority().startsWith("ROLE_"))
+                .findFirst();
+        return MeResponseDto.builder()
+                .id(UUID.fromString(jwt.getSubject()))
+                .username(jwt.getClaimAsString(StandardClaimNames.PREFERRED_USERNAME))
+                .email(jwt.getClaimAsString(StandardClaimNames.EMAIL))
+                .firstName(jwt.getClaimAsString(StandardClaimNames.GIVEN_NAME))
+                .lastName(jwt.getClaimAsString(StandardClaimNames.FAMILY_NAME))
+                .role(role.map(GrantedAuthority::getAuthority).orElse(null))
+                .build();
+    }
 }
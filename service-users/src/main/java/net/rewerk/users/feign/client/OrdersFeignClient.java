@@ -0,0 +1,38 @@
+package net.rewerk.users.feign.client;
+
+import net.rewerk.users.feign.client.fallback.OrdersFeignClientFallback;
+import net.rewerk.users.feign.configuration.DefaultConfiguration;
+import net.rewerk.webstore.dto.response.SinglePayloadResponseDto;
+import net.rewerk.webstore.dto.response.order.OrdersSummaryResponseDto;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.UUID;
+
+/**
+ * Feign client for retrieve orders information
+ *
+ * @author rewerk
+ */
+
+@FeignClient(
+        name = "orders-client",
+        url = "${services.orders.base_uri}",
+        configuration = {
+                DefaultConfiguration.class
+        },
+        fallback = OrdersFeignClientFallback.class
+)
+public interface OrdersFeignClient {
+
+    /**
+     * Method for retrieve user orders summary (order counters and payment stats)
+     *
+     * @param userId User identifier
+     * @return Response with single payload with orders summary response DTO
+     */
+
+    @GetMapping("summary")
+    SinglePayloadResponseDto<OrdersSummaryResponseDto> getSummary(@RequestParam("user_id") UUID userId);
+}
@@ -50,10 +50,6 @@ public interface ProductsFeignClient {
      * @return Response with payload with collection of Product entity response DTO
      */
 
-    @Cacheable(
-            value = "caffeine",
-            key = "'products-client-getProductsByIds' + #ids"
-    )
     @GetMapping("by_ids")
     PayloadResponseDto<ProductResponseDto> getProductsByIds(@RequestParam List<Integer> ids);
 }
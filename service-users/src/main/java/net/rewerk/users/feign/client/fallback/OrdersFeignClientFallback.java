@@ -0,0 +1,26 @@
+package net.rewerk.users.feign.client.fallback;
+
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import net.rewerk.users.feign.client.OrdersFeignClient;
+import net.rewerk.webstore.dto.response.SinglePayloadResponseDto;
+import net.rewerk.webstore.dto.response.order.OrdersSummaryResponseDto;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Fallback class for OrdersFeignClient
+ *
+ * @author rewerk
+ */
+
+@Component
+@Slf4j
+public class OrdersFeignClientFallback implements OrdersFeignClient {
+    @Override
+    public SinglePayloadResponseDto<OrdersSummaryResponseDto> getSummary(UUID userId) {
+        log.error("OrdersFeignClient: getSummary fallback called. userId: {}", userId);
+        throw new EntityNotFoundException("Orders summary not found");
+    }
+}
@@ -0,0 +1,83 @@
+package net.rewerk.users.mq;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.rewerk.users.service.cache.FeignCacheEvictionService;
+import net.rewerk.users.service.cache.SessionSummaryCacheService;
+import net.rewerk.users.service.entity.BasketService;
+import net.rewerk.webstore.dto.mq.orders.OrdersChangeDto;
+import net.rewerk.webstore.dto.mq.products.ProductsChangeDto;
+import net.rewerk.webstore.dto.request.basket.BasketMultipleDeleteDto;
+import net.rewerk.webstore.entity.User;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.Message;
+
+import java.util.function.Consumer;
+
+/**
+ * Spring Cloud Streams consumers
+ *
+ * @author rewerk
+ */
+
+@RequiredArgsConstructor
+@Configuration
+@Slf4j
+public class Consumers {
+    private final FeignCacheEvictionService feignCacheEvictionService;
+    private final SessionSummaryCacheService sessionSummaryCacheService;
+    private final BasketService basketService;
+
+    /**
+     * Consumer for products changes, evicts cached products and categories
+     *
+     * @return Consumer for products change
+     */
+
+    @Bean
+    public Consumer<Message<ProductsChangeDto>> productsChangeMQConsumer() {
+        return message -> {
+            log.info("SCS products change mq consumer: consumed {}", message.getPayload());
+            feignCacheEvictionService.evict(message.getPayload());
+        };
+    }
+
+    /**
+     * Consumer for orders changes, evicts cached session summary of orders owner
+     *
+     * @return Consumer for orders change
+     */
+
+    @Bean
+    public Consumer<Message<OrdersChangeDto>> ordersChangeMQConsumer() {
+        return message -> {
+            log.info("SCS orders change mq consumer: consumed {}", message.getPayload());
+            if (message.getPayload().getUser_id() != null) {
+                sessionSummaryCacheService.evict(message.getPayload().getUser_id());
+            }
+        };
+    }
+
+    /**
+     * Consumer for basket clear commands of confirmed checkouts
+     * Deletion skips baskets which are already deleted, so repeated commands are harmless
+     *
+     * @return Consumer for basket clear commands
+     */
+
+    @Bean
+    public Consumer<Message<BasketMultipleDeleteDto>> basketClearMQConsumer() {
+        return message -> {
+            BasketMultipleDeleteDto dto = message.getPayload();
+            log.info("SCS basket clear mq consumer: consumed {}", dto);
+            if (dto.getUser_id() == null || dto.getBasket_ids() == null || dto.getBasket_ids().isEmpty()) {
+                return;
+            }
+            basketService.deleteAllById(dto, User.builder()
+                    .id(dto.getUser_id())
+                    .role(User.Role.ROLE_SERVICE)
+                    .build());
+        };
+    }
+}
@@ -0,0 +1,15 @@
+package net.rewerk.users.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Basket repository fragment for batch inserts
+ *
+ * @author rewerk
+ */
+
+public interface BasketBatchRepository {
+    List<Integer> insertAllIgnoringExisting(UUID userId, Collection<Integer> productIds);
+}
@@ -0,0 +1,49 @@
+package net.rewerk.users.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Basket repository fragment implementation
+ *
+ * @author rewerk
+ */
+
+@RequiredArgsConstructor
+public class BasketBatchRepositoryImpl implements BasketBatchRepository {
+    private static final String INSERT_BASKET = "insert into basket (user_id, product_id, amount) values (?, ?, 1)" +
+            " on conflict (user_id, product_id) do nothing";
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Insert basket rows with amount 1 for products missing in user basket with a single JDBC batch
+     * Rows already inserted by concurrent transactions are skipped, rows are inserted in product identifier order
+     *
+     * @param userId     User identifier
+     * @param productIds Collection of Product identifiers
+     * @return List of Product identifiers which were inserted
+     */
+
+    @Override
+    public List<Integer> insertAllIgnoringExisting(UUID userId, Collection<Integer> productIds) {
+        List<Integer> sorted = productIds.stream()
+                .distinct()
+                .sorted()
+                .toList();
+        int[] counts = jdbcTemplate.batchUpdate(INSERT_BASKET, sorted.stream()
+                .map(productId -> new Object[]{userId, productId})
+                .toList());
+        List<Integer> inserted = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                inserted.add(sorted.get(i));
+            }
+        }
+        return inserted;
+    }
+}
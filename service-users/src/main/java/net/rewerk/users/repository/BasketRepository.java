@@ -18,7 +18,8 @@ import java.util.UUID;
  */
 
 @Repository
-public interface BasketRepository extends JpaRepository<Basket, Integer>, JpaSpecificationExecutor<Basket> {
+public interface BasketRepository extends JpaRepository<Basket, Integer>, JpaSpecificationExecutor<Basket>,
+        BasketBatchRepository {
     boolean existsByProductIdAndUserId(Integer productId, UUID userId);
 
     List<Basket> findAllByIdInAndUserId(Collection<Integer> ids, UUID userId);
@@ -5,11 +5,12 @@ import lombok.extern.slf4j.Slf4j;
 import net.rewerk.users.dto.mapper.BasketDtoMapper;
 import net.rewerk.users.feign.client.ProductsFeignClient;
 import net.rewerk.users.service.aggregator.BasketResponseAggregatorService;
-import net.rewerk.webstore.dto.response.PayloadResponseDto;
+import net.rewerk.users.service.cache.ProductsCacheService;
 import net.rewerk.webstore.dto.response.SinglePayloadResponseDto;
 import net.rewerk.webstore.dto.response.basket.BasketResponseDto;
 import net.rewerk.webstore.dto.response.product.ProductResponseDto;
 import net.rewerk.webstore.entity.Basket;
+import net.rewerk.webstore.utility.AggregationUtils;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.stereotype.Service;
@@ -29,6 +30,7 @@ import java.util.List;
 public class BasketResponseAggregatorServiceImpl implements BasketResponseAggregatorService {
     private final BasketDtoMapper basketDtoMapper;
     private final ProductsFeignClient productsFeignClient;
+    private final ProductsCacheService productsCacheService;
 
     /**
      * Single Basket entity response data aggregator
@@ -61,19 +63,12 @@ public class BasketResponseAggregatorServiceImpl implements BasketResponseAggreg
         List<BasketResponseDto> mappedList = baskets.stream()
                 .map(basketDtoMapper::toResponseDto)
                 .toList();
-        PayloadResponseDto<ProductResponseDto> productsResponse = productsFeignClient.getProductsByIds(baskets.stream()
-                .map(Basket::getProductId)
-                .distinct()
-                .toList()
-        );
-        if (productsResponse != null && productsResponse.getPayload() != null) {
-            List<ProductResponseDto> products = productsResponse.getPayload();
-            mappedList = mappedList.stream()
-                    .peek(basketDto -> products.stream()
-                            .filter(p -> basketDto.getProductId().equals(p.getId()))
-                            .findFirst().ifPresent(basketDto::setProduct))
-                    .toList();
-        }
+        AggregationUtils.join(mappedList,
+                BasketResponseDto::getProductId,
+                AggregationUtils.indexBy(productsCacheService.getProductsByIds(baskets.stream()
+                        .map(Basket::getProductId)
+                        .toList()), ProductResponseDto::getId),
+                BasketResponseDto::setProduct);
         return mappedList;
     }
 
@@ -5,11 +5,12 @@ import lombok.extern.slf4j.Slf4j;
 import net.rewerk.users.dto.mapper.FavoriteDtoMapper;
 import net.rewerk.users.feign.client.ProductsFeignClient;
 import net.rewerk.users.service.aggregator.FavoriteResponseAggregatorService;
-import net.rewerk.webstore.dto.response.PayloadResponseDto;
+import net.rewerk.users.service.cache.ProductsCacheService;
 import net.rewerk.webstore.dto.response.SinglePayloadResponseDto;
 import net.rewerk.webstore.dto.response.favorite.FavoriteResponseDto;
 import net.rewerk.webstore.dto.response.product.ProductResponseDto;
 import net.rewerk.webstore.entity.Favorite;
+import net.rewerk.webstore.utility.AggregationUtils;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.stereotype.Service;
@@ -29,6 +30,7 @@ import java.util.List;
 public class FavoriteResponseAggregatorServiceImpl implements FavoriteResponseAggregatorService {
     private final FavoriteDtoMapper favoriteDtoMapper;
     private final ProductsFeignClient productsFeignClient;
+    private final ProductsCacheService productsCacheService;
 
     /**
      * Single Favorite entity response data aggregator
@@ -61,20 +63,12 @@ public class FavoriteResponseAggregatorServiceImpl implements FavoriteResponseAg
         List<FavoriteResponseDto> mappedList = favorites.stream()
                 .map(favoriteDtoMapper::toResponseDto)
                 .toList();
-        PayloadResponseDto<ProductResponseDto> productsResponse = productsFeignClient
-                .getProductsByIds(favorites.stream()
+        AggregationUtils.join(mappedList,
+                FavoriteResponseDto::getProductId,
+                AggregationUtils.indexBy(productsCacheService.getProductsByIds(favorites.stream()
                         .map(Favorite::getProductId)
-                        .distinct()
-                        .toList()
-                );
-        if (productsResponse != null && productsResponse.getPayload() != null) {
-            List<ProductResponseDto> products = productsResponse.getPayload();
-            mappedList = mappedList.stream()
-                    .peek(favoriteDto -> products.stream()
-                            .filter(p -> favoriteDto.getProductId().equals(p.getId()))
-                            .findFirst().ifPresent(favoriteDto::setProduct))
-                    .toList();
-        }
+                        .toList()), ProductResponseDto::getId),
+                FavoriteResponseDto::setProduct);
         return mappedList;
     }
 
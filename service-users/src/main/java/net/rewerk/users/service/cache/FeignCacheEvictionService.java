@@ -0,0 +1,7 @@
+package net.rewerk.users.service.cache;
+
+import net.rewerk.webstore.dto.mq.products.ProductsChangeDto;
+
+public interface FeignCacheEvictionService {
+    void evict(ProductsChangeDto change);
+}
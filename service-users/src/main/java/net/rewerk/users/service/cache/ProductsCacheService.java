@@ -0,0 +1,12 @@
+package net.rewerk.users.service.cache;
+
+import net.rewerk.webstore.dto.response.product.ProductResponseDto;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ProductsCacheService {
+    List<ProductResponseDto> getProductsByIds(Collection<Integer> ids);
+
+    void evict(Collection<Integer> ids);
+}
@@ -0,0 +1,12 @@
+package net.rewerk.users.service.cache;
+
+import net.rewerk.webstore.dto.response.me.SessionSummaryResponseDto;
+
+import java.util.UUID;
+import java.util.function.Supplier;
+
+public interface SessionSummaryCacheService {
+    SessionSummaryResponseDto get(UUID userId, Supplier<SessionSummaryResponseDto> loader);
+
+    void evict(UUID userId);
+}
@@ -0,0 +1,95 @@
+package net.rewerk.users.service.cache.impl;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.rewerk.users.service.cache.FeignCacheEvictionService;
+import net.rewerk.users.service.cache.ProductsCacheService;
+import net.rewerk.webstore.dto.mq.products.ProductsChangeDto;
+import net.rewerk.webstore.utility.TwoTierCache;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Feign clients cache eviction service implementation
+ * Evicts exact cache entries of products and categories Feign clients affected by products changes.
+ * Products are cached by identifier, categories entries are keyed by list of product identifiers
+ * and evicted when the list contains changed product.
+ * Category changes are reflected in every product response, so they evict all products and categories entries.
+ * With two-tier cache batch entries are evicted from shared tier when they are held by local tier,
+ * other shared batch entries expire by time to live
+ *
+ * @author rewerk
+ */
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FeignCacheEvictionServiceImpl implements FeignCacheEvictionService {
+    public static final String CACHE_NAME = "caffeine";
+    private static final String PRODUCT_KEY = "products-client-getProduct";
+    private static final String CATEGORIES_KEY = "categories-client-getCategoriesByProductIds";
+    private final CacheManager cacheManager;
+    private final ProductsCacheService productsCacheService;
+
+    /**
+     * Evict cache entries affected by products change
+     *
+     * @param change Products change DTO
+     */
+
+    @Override
+    public void evict(@NonNull ProductsChangeDto change) {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache == null || !(cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache)) {
+            log.warn("FeignCacheEvictionServiceImpl.evict: cache {} is not a caffeine cache", CACHE_NAME);
+            return;
+        }
+        Set<Integer> productIds = change.getProduct_ids() == null ? Set.of() : new HashSet<>(change.getProduct_ids());
+        boolean categoriesChanged = change.getCategory_ids() != null && !change.getCategory_ids().isEmpty();
+        if (categoriesChanged && cache instanceof TwoTierCache twoTierCache) {
+            twoTierCache.evictByPrefix(PRODUCT_KEY);
+            twoTierCache.evictByPrefix(CATEGORIES_KEY);
+            log.info("FeignCacheEvictionServiceImpl.evict: evicted products and categories entries for change {}",
+                    change);
+            return;
+        }
+        Predicate<Object> affected = categoriesChanged
+                ? key -> key instanceof String k
+                && (k.startsWith(PRODUCT_KEY) || k.startsWith(CATEGORIES_KEY))
+                : key -> key instanceof String k
+                && matches(k, CATEGORIES_KEY, productIds);
+        if (!categoriesChanged) {
+            productIds.forEach(id -> cache.evict(PRODUCT_KEY + id));
+            productsCacheService.evict(productIds);
+        }
+        List<?> keys = nativeCache.asMap().keySet().stream()
+                .filter(affected)
+                .toList();
+        keys.forEach(cache::evict);
+        log.info("FeignCacheEvictionServiceImpl.evict: evicted {} batch entries for change {}", keys.size(), change);
+    }
+
+    private static boolean matches(String key, String prefix, Set<Integer> productIds) {
+        if (productIds.isEmpty() || !key.startsWith(prefix + "[") || !key.endsWith("]")) {
+            return false;
+        }
+        String ids = key.substring(prefix.length() + 1, key.length() - 1);
+        if (ids.isBlank()) {
+            return false;
+        }
+        return Arrays.stream(ids.split(","))
+                .map(String::trim)
+                .anyMatch(id -> {
+                    try {
+                        return productIds.contains(Integer.valueOf(id));
+                    } catch (NumberFormatException _) {
+                        return true;
+                    }
+                });
+    }
+}
@@ -0,0 +1,72 @@
+package net.rewerk.users.service.cache.impl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import net.rewerk.users.feign.client.ProductsFeignClient;
+import net.rewerk.users.service.cache.ProductsCacheService;
+import net.rewerk.webstore.dto.response.PayloadResponseDto;
+import net.rewerk.webstore.dto.response.product.ProductResponseDto;
+import net.rewerk.webstore.utility.MultiGetCache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Products cache service implementation
+ * Caches products by identifier in application cache, batch lookups fetch only missing products
+ * with single products client call
+ *
+ * @author rewerk
+ */
+
+@Service
+@Slf4j
+public class ProductsCacheServiceImpl implements ProductsCacheService {
+    private static final String KEY_PREFIX = "products-client-getProductsByIds#";
+    private final ProductsFeignClient productsFeignClient;
+    private final MultiGetCache<Integer, ProductResponseDto> cache;
+
+    public ProductsCacheServiceImpl(ProductsFeignClient productsFeignClient,
+                                    CacheManager cacheManager,
+                                    MeterRegistry meterRegistry) {
+        this.productsFeignClient = productsFeignClient;
+        this.cache = new MultiGetCache<>(
+                Objects.requireNonNull(cacheManager.getCache(FeignCacheEvictionServiceImpl.CACHE_NAME)),
+                "products-client",
+                KEY_PREFIX,
+                ProductResponseDto::getId,
+                meterRegistry
+        );
+    }
+
+    /**
+     * Get products by identifiers
+     *
+     * @param ids Collection of Product identifiers
+     * @return List of Product response DTO in order of identifiers, unknown products are skipped
+     */
+
+    @Override
+    public List<ProductResponseDto> getProductsByIds(@NonNull Collection<Integer> ids) {
+        return cache.getAll(ids, missing -> {
+            log.info("ProductsCacheServiceImpl.getProductsByIds: fetching missing products = {}", missing);
+            PayloadResponseDto<ProductResponseDto> payload = productsFeignClient.getProductsByIds(missing);
+            return payload == null || payload.getPayload() == null ? List.of() : payload.getPayload();
+        });
+    }
+
+    /**
+     * Evict cached products
+     *
+     * @param ids Collection of Product identifiers
+     */
+
+    @Override
+    public void evict(@NonNull Collection<Integer> ids) {
+        cache.evictAll(ids);
+    }
+}
@@ -0,0 +1,85 @@
+package net.rewerk.users.service.cache.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import net.rewerk.users.service.cache.SessionSummaryCacheService;
+import net.rewerk.webstore.dto.response.me.SessionSummaryResponseDto;
+import net.rewerk.webstore.utility.TransactionUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * User session summary cache service implementation
+ * Keeps complete summaries per user for a short window, partial summaries are never cached.
+ * Evictions bump the generation of user stripe, so summaries loaded before eviction are not cached after it
+ *
+ * @author rewerk
+ */
+
+@Service
+@Slf4j
+public class SessionSummaryCacheServiceImpl implements SessionSummaryCacheService {
+    private static final int STRIPES = 64;
+    private final Cache<UUID, SessionSummaryResponseDto> cache;
+    private final AtomicLongArray generations = new AtomicLongArray(STRIPES);
+
+    public SessionSummaryCacheServiceImpl(@Value("${users.summary.ttl_seconds:30}") Integer ttl,
+                                          @Value("${users.summary.size:10000}") Integer size) {
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttl))
+                .maximumSize(size)
+                .build();
+    }
+
+    /**
+     * Get cached user session summary or load and cache it
+     *
+     * @param userId User identifier
+     * @param loader Session summary loader
+     * @return Session summary response DTO, must not be modified
+     */
+
+    @Override
+    public SessionSummaryResponseDto get(@NonNull UUID userId, @NonNull Supplier<SessionSummaryResponseDto> loader) {
+        SessionSummaryResponseDto cached = cache.getIfPresent(userId);
+        if (cached != null) {
+            return cached;
+        }
+        int stripe = stripe(userId);
+        long generation = generations.get(stripe);
+        SessionSummaryResponseDto loaded = loader.get();
+        if (!Boolean.TRUE.equals(loaded.getPartial())) {
+            // checked under map lock, so eviction either prevents the put or removes the entry after it
+            cache.asMap().compute(userId, (_, current) -> generations.get(stripe) == generation ? loaded : current);
+        }
+        return loaded;
+    }
+
+    /**
+     * Evict user session summary, within transaction eviction is applied after commit
+     *
+     * @param userId User identifier
+     */
+
+    @Override
+    public void evict(@NonNull UUID userId) {
+        TransactionUtils.afterCommit(() -> this.invalidate(userId));
+    }
+
+    private void invalidate(UUID userId) {
+        log.info("SessionSummaryCacheServiceImpl.invalidate: userId = {}", userId);
+        generations.incrementAndGet(stripe(userId));
+        cache.invalidate(userId);
+    }
+
+    private static int stripe(UUID userId) {
+        return Math.floorMod(userId.hashCode(), STRIPES);
+    }
+}
@@ -0,0 +1,138 @@
+package net.rewerk.users.service.directory;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.NonNull;
+import net.rewerk.webstore.dto.response.user.UserResponseDto;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Size-bounded local directory of users
+ * Entries are refreshed in background after refresh interval and expire after expiration interval.
+ * Missing users of batch lookup are loaded with single bulk loader call, unknown users are not cached.
+ * Lookups return DTO copies, so callers can not modify cached entries
+ *
+ * @author rewerk
+ */
+
+public class UserDirectory {
+    private final LoadingCache<UUID, UserResponseDto> cache;
+
+    /**
+     * Create user directory
+     *
+     * @param maximumSize  Max count of cached users
+     * @param refreshAfter Interval after which entry is reloaded in background on access
+     * @param expireAfter  Interval after which entry is evicted
+     * @param loader       Bulk loader of users by identifiers, unknown identifiers are omitted from result
+     */
+
+    public UserDirectory(long maximumSize,
+                         @NonNull Duration refreshAfter,
+                         @NonNull Duration expireAfter,
+                         @NonNull Function<Set<UUID>, Map<UUID, UserResponseDto>> loader) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .refreshAfterWrite(refreshAfter)
+                .expireAfterWrite(expireAfter)
+                .recordStats()
+                .build(new CacheLoader<>() {
+                    @Override
+                    public UserResponseDto load(@NonNull UUID id) {
+                        return loader.apply(Set.of(id)).get(id);
+                    }
+
+                    @Override
+                    public Map<UUID, UserResponseDto> loadAll(@NonNull Set<? extends UUID> ids) {
+                        return loader.apply(Set.copyOf(ids));
+                    }
+                });
+    }
+
+    /**
+     * Get user by identifier
+     *
+     * @param id User identifier
+     * @return User response DTO or null if user not found
+     */
+
+    public UserResponseDto get(@NonNull UUID id) {
+        return copy(cache.get(id));
+    }
+
+    /**
+     * Get users by identifiers, missing users are loaded with single bulk call
+     *
+     * @param ids List of user identifiers
+     * @return List of user response DTO in order of identifiers, duplicates and unknown users are skipped
+     */
+
+    public List<UserResponseDto> getAll(@NonNull Collection<UUID> ids) {
+        Set<UUID> unique = new LinkedHashSet<>(ids);
+        unique.remove(null);
+        Map<UUID, UserResponseDto> users = cache.getAll(unique);
+        return unique.stream()
+                .map(users::get)
+                .filter(Objects::nonNull)
+                .map(UserDirectory::copy)
+                .toList();
+    }
+
+    /**
+     * Put users to directory
+     *
+     * @param users Collection of user response DTO
+     */
+
+    public void putAll(@NonNull Collection<UserResponseDto> users) {
+        Map<UUID, UserResponseDto> entries = new HashMap<>();
+        users.stream()
+                .filter(user -> user != null && user.getId() != null)
+                .forEach(user -> entries.put(user.getId(), copy(user)));
+        cache.putAll(entries);
+    }
+
+    /**
+     * Invalidate users, next lookup loads them again
+     *
+     * @param ids Collection of user identifiers
+     */
+
+    public void invalidateAll(@NonNull Collection<UUID> ids) {
+        cache.invalidateAll(ids);
+    }
+
+    /**
+     * Get estimated count of cached users
+     *
+     * @return Count of cached users
+     */
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * Register directory cache metrics
+     *
+     * @param registry Meter registry
+     * @param name     Cache name tag
+     */
+
+    public void bindTo(@NonNull MeterRegistry registry, @NonNull String name) {
+        CaffeineCacheMetrics.monitor(registry, cache, name);
+    }
+
+    private static UserResponseDto copy(UserResponseDto user) {
+        return user == null ? null : UserResponseDto.builder()
+                .id(user.getId())
+                .username(user.getUsername())
+                .build();
+    }
+}
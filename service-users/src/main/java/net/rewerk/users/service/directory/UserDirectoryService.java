@@ -0,0 +1,19 @@
+package net.rewerk.users.service.directory;
+
+import net.rewerk.webstore.dto.response.user.UserResponseDto;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface UserDirectoryService {
+    UserResponseDto get(UUID id);
+
+    List<UserResponseDto> getAll(Collection<UUID> ids);
+
+    void invalidate(Collection<UUID> ids);
+
+    void warmUp();
+
+    void sync();
+}
@@ -0,0 +1,132 @@
+package net.rewerk.users.service.directory;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import net.rewerk.webstore.dto.response.user.UserResponseDto;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Function;
+
+/**
+ * Concurrent loader of users from remote directory
+ * Lookups run on virtual threads, count of concurrent lookups is limited, so remote directory is not overloaded.
+ * Concurrent lookups of the same user are coalesced into single remote call
+ *
+ * @author rewerk
+ */
+
+@Slf4j
+public class UserLoader implements AutoCloseable {
+    private final Function<UUID, UserResponseDto> lookup;
+    private final Semaphore permits;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ConcurrentMap<UUID, CompletableFuture<UserResponseDto>> inFlight = new ConcurrentHashMap<>();
+    private final Timer found;
+    private final Timer notFound;
+    private final Timer failed;
+    private final Counter coalesced;
+
+    /**
+     * Create user loader
+     *
+     * @param lookup      Single user remote lookup, returns null for unknown user
+     * @param concurrency Max count of concurrent remote lookups
+     * @param registry    Meter registry for lookup metrics
+     */
+
+    public UserLoader(@NonNull Function<UUID, UserResponseDto> lookup, int concurrency, @NonNull MeterRegistry registry) {
+        this.lookup = lookup;
+        this.permits = new Semaphore(concurrency);
+        this.found = lookupTimer(registry, "found");
+        this.notFound = lookupTimer(registry, "not_found");
+        this.failed = lookupTimer(registry, "error");
+        this.coalesced = Counter.builder("users.directory.lookup.coalesced")
+                .description("Count of user lookups joined to in-flight lookup of the same user")
+                .register(registry);
+    }
+
+    /**
+     * Load users by identifiers concurrently
+     * Unknown users and failed lookups are omitted from result
+     *
+     * @param ids Set of user identifiers
+     * @return Map of user response DTO by identifier
+     */
+
+    public Map<UUID, UserResponseDto> loadAll(@NonNull Set<UUID> ids) {
+        Map<UUID, CompletableFuture<UserResponseDto>> futures = new HashMap<>();
+        ids.forEach(id -> futures.put(id, this.load(id)));
+        Map<UUID, UserResponseDto> users = new HashMap<>();
+        futures.forEach((id, future) -> {
+            try {
+                UserResponseDto user = future.join();
+                if (user != null) {
+                    users.put(id, user);
+                }
+            } catch (CompletionException | CancellationException e) {
+                log.warn("UserLoader.loadAll: User lookup failed: {}, {}", id, e.getMessage());
+            }
+        });
+        return users;
+    }
+
+    /**
+     * Stop lookups executor
+     */
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private CompletableFuture<UserResponseDto> load(UUID id) {
+        CompletableFuture<UserResponseDto> created = new CompletableFuture<>();
+        CompletableFuture<UserResponseDto> existing = inFlight.putIfAbsent(id, created);
+        if (existing != null) {
+            coalesced.increment();
+            return existing;
+        }
+        try {
+            executor.execute(() -> this.run(id, created));
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(id, created);
+            created.completeExceptionally(e);
+        }
+        return created;
+    }
+
+    private void run(UUID id, CompletableFuture<UserResponseDto> future) {
+        try {
+            permits.acquire();
+            try {
+                long start = System.nanoTime();
+                try {
+                    UserResponseDto user = lookup.apply(id);
+                    (user == null ? notFound : found).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    future.complete(user);
+                } catch (RuntimeException e) {
+                    failed.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    future.completeExceptionally(e);
+                }
+            } finally {
+                permits.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.completeExceptionally(e);
+        } finally {
+            inFlight.remove(id, future);
+        }
+    }
+
+    private static Timer lookupTimer(MeterRegistry registry, String outcome) {
+        return Timer.builder("users.directory.lookup")
+                .description("Latency of single user remote lookup")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+}
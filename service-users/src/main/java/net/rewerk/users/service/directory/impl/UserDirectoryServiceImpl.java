@@ -0,0 +1,223 @@
+package net.rewerk.users.service.directory.impl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.ws.rs.NotFoundException;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import net.rewerk.users.service.directory.UserDirectory;
+import net.rewerk.users.service.directory.UserDirectoryService;
+import net.rewerk.users.service.directory.UserLoader;
+import net.rewerk.users.util.KeycloakClient;
+import net.rewerk.webstore.dto.response.user.UserResponseDto;
+import org.keycloak.admin.client.resource.RealmResource;
+import org.keycloak.representations.idm.AdminEventRepresentation;
+import org.keycloak.representations.idm.EventRepresentation;
+import org.keycloak.representations.idm.UserRepresentation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * User directory service implementation
+ * Serves user lookups from local directory in front of Keycloak admin API.
+ * Directory is warmed in bulk on application startup, entries changed in Keycloak are invalidated
+ * by periodic delta sync of Keycloak admin and user events
+ *
+ * @author rewerk
+ */
+
+@Service
+@Slf4j
+public class UserDirectoryServiceImpl implements UserDirectoryService {
+    private static final List<String> USER_RESOURCE_TYPES = List.of("USER");
+    private static final List<String> USER_EVENT_TYPES = List.of("UPDATE_PROFILE", "UPDATE_EMAIL", "DELETE_ACCOUNT");
+    private static final String USERS_RESOURCE_PATH = "users/";
+    private final KeycloakClient keycloakClient;
+    private final UserLoader loader;
+    private final UserDirectory directory;
+    private final String realm;
+    private final Integer pageSize;
+    private final Long maximumSize;
+    private final Long syncOverlap;
+    private final AtomicLong lastSync = new AtomicLong(System.currentTimeMillis());
+
+    public UserDirectoryServiceImpl(KeycloakClient keycloakClient,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${keycloak_admin.realm}") String realm,
+                                    @Value("${users.directory.size:10000}") Long maximumSize,
+                                    @Value("${users.directory.refresh_minutes:5}") Long refreshAfter,
+                                    @Value("${users.directory.expire_minutes:60}") Long expireAfter,
+                                    @Value("${users.directory.page_size:100}") Integer pageSize,
+                                    @Value("${users.directory.sync_overlap_ms:5000}") Long syncOverlap,
+                                    @Value("${users.directory.lookup_concurrency:8}") Integer lookupConcurrency) {
+        this.keycloakClient = keycloakClient;
+        this.realm = realm;
+        this.pageSize = pageSize;
+        this.maximumSize = maximumSize;
+        this.syncOverlap = syncOverlap;
+        this.loader = new UserLoader(this::fetch, lookupConcurrency, meterRegistry);
+        this.directory = new UserDirectory(
+                maximumSize,
+                Duration.ofMinutes(refreshAfter),
+                Duration.ofMinutes(expireAfter),
+                loader::loadAll
+        );
+        this.directory.bindTo(meterRegistry, "users.directory");
+    }
+
+    /**
+     * Get user by identifier
+     *
+     * @param id User identifier
+     * @return User response DTO or null if user not found
+     */
+
+    @Override
+    public UserResponseDto get(@NonNull UUID id) {
+        return directory.get(id);
+    }
+
+    /**
+     * Get users by identifiers, users missing in directory are fetched from Keycloak concurrently
+     *
+     * @param ids Collection of user identifiers
+     * @return List of user response DTO, unknown users are skipped
+     */
+
+    @Override
+    public List<UserResponseDto> getAll(@NonNull Collection<UUID> ids) {
+        return directory.getAll(ids);
+    }
+
+    /**
+     * Invalidate users in directory
+     *
+     * @param ids Collection of user identifiers
+     */
+
+    @Override
+    public void invalidate(@NonNull Collection<UUID> ids) {
+        if (!ids.isEmpty()) {
+            log.info("UserDirectoryServiceImpl.invalidate: Invalidating users, count {}", ids.size());
+            directory.invalidateAll(ids);
+        }
+    }
+
+    /**
+     * Warm directory up with users listed page by page, limited by directory size
+     */
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    @Override
+    public void warmUp() {
+        lastSync.set(System.currentTimeMillis());
+        long loaded = 0;
+        try {
+            RealmResource resource = keycloakClient.getClient().realm(realm);
+            List<UserRepresentation> page;
+            do {
+                page = resource.users().list((int) loaded, pageSize);
+                directory.putAll(page.stream()
+                        .map(UserDirectoryServiceImpl::toDto)
+                        .toList());
+                loaded += page.size();
+            } while (page.size() == pageSize && loaded < maximumSize);
+            log.info("UserDirectoryServiceImpl.warmUp: Directory warmed up with {} users", loaded);
+        } catch (RuntimeException e) {
+            log.warn("UserDirectoryServiceImpl.warmUp: Directory warm up stopped after {} users: {}", loaded, e.getMessage());
+        }
+    }
+
+    /**
+     * Invalidate users changed in Keycloak since previous sync
+     * Reads user admin events (create, update, delete) and self-service profile events
+     */
+
+    @Scheduled(cron = "${users.directory.sync_cron:0 * * * * *}")
+    @Override
+    public void sync() {
+        long from = lastSync.get() - syncOverlap;
+        long to = System.currentTimeMillis();
+        Set<UUID> changed = new HashSet<>();
+        try {
+            RealmResource resource = keycloakClient.getClient().realm(realm);
+            List<AdminEventRepresentation> adminEvents;
+            int first = 0;
+            do {
+                adminEvents = resource.getAdminEvents(null, null, null, null, null, null,
+                        USER_RESOURCE_TYPES, from, to, first, pageSize, "asc");
+                adminEvents.stream()
+                        .map(AdminEventRepresentation::getResourcePath)
+                        .map(UserDirectoryServiceImpl::parseUserId)
+                        .flatMap(Optional::stream)
+                        .forEach(changed::add);
+                first += pageSize;
+            } while (adminEvents.size() == pageSize);
+            List<EventRepresentation> userEvents;
+            first = 0;
+            do {
+                userEvents = resource.getEvents(USER_EVENT_TYPES, null, null, from, to, null,
+                        first, pageSize, "asc");
+                userEvents.stream()
+                        .map(EventRepresentation::getUserId)
+                        .map(UserDirectoryServiceImpl::parseUserId)
+                        .flatMap(Optional::stream)
+                        .forEach(changed::add);
+                first += pageSize;
+            } while (userEvents.size() == pageSize);
+        } catch (RuntimeException e) {
+            log.warn("UserDirectoryServiceImpl.sync: Delta sync failed, will retry from the same point: {}", e.getMessage());
+            return;
+        }
+        this.invalidate(changed);
+        lastSync.set(to);
+    }
+
+    /**
+     * Stop user loader on context shutdown
+     */
+
+    @PreDestroy
+    public void close() {
+        loader.close();
+    }
+
+    private UserResponseDto fetch(UUID id) {
+        log.info("UserDirectoryServiceImpl.fetch: Fetching user missing in directory: {}", id);
+        try {
+            return toDto(keycloakClient.getClient().realm(realm).users().get(id.toString()).toRepresentation());
+        } catch (NotFoundException _) {
+            log.info("UserDirectoryServiceImpl.fetch: User not found: {}", id);
+            return null;
+        }
+    }
+
+    private static Optional<UUID> parseUserId(String value) {
+        if (value == null) {
+            return Optional.empty();
+        }
+        String id = value.startsWith(USERS_RESOURCE_PATH) ? value.substring(USERS_RESOURCE_PATH.length()) : value;
+        int separator = id.indexOf('/');
+        try {
+            return Optional.of(UUID.fromString(separator < 0 ? id : id.substring(0, separator)));
+        } catch (IllegalArgumentException _) {
+            return Optional.empty();
+        }
+    }
+
+    private static UserResponseDto toDto(UserRepresentation representation) {
+        return UserResponseDto.builder()
+                .id(UUID.fromString(representation.getId()))
+                .username(representation.getUsername())
+                .build();
+    }
+}
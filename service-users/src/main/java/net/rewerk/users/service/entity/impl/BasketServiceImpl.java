@@ -14,6 +14,8 @@ import net.rewerk.users.feign.client.CategoriesFeignClient;
 import net.rewerk.users.feign.client.ProductsFeignClient;
 import net.rewerk.users.repository.BasketRepository;
 import net.rewerk.users.service.aggregator.BasketResponseAggregatorService;
+import net.rewerk.users.service.cache.ProductsCacheService;
+import net.rewerk.users.service.cache.SessionSummaryCacheService;
 import net.rewerk.users.service.entity.BasketService;
 import net.rewerk.webstore.dto.response.PayloadResponseDto;
 import net.rewerk.webstore.dto.response.SinglePayloadResponseDto;
@@ -48,8 +50,10 @@ public class BasketServiceImpl implements BasketService {
     private final BasketDtoMapper basketDtoMapper;
     private final BasketRepository basketRepository;
     private final ProductsFeignClient productsFeignClient;
+    private final ProductsCacheService productsCacheService;
     private final CategoriesFeignClient categoriesFeignClient;
     private final BasketResponseAggregatorService basketResponseAggregatorService;
+    private final SessionSummaryCacheService sessionSummaryCacheService;
 
     /**
      * Create Basket entity
@@ -73,6 +77,7 @@ public class BasketServiceImpl implements BasketService {
         basket.setUserId(userId);
         BasketResponseDto result = basketDtoMapper.toResponseDto(basketRepository.save(basket));
         result.setProduct(productPayload.getPayload());
+        sessionSummaryCacheService.evict(userId);
         return result;
     }
 
@@ -103,6 +108,7 @@ public class BasketServiceImpl implements BasketService {
             basket.setAmount(dto.getAmount());
         }
         basketRepository.save(basket);
+        sessionSummaryCacheService.evict(userId);
     }
 
     /**
@@ -125,6 +131,7 @@ public class BasketServiceImpl implements BasketService {
                     log.error("BasketServiceImpl.delete: Basket does not exist");
                     throw new EntityNotFoundException("Basket item not found");
                 });
+        sessionSummaryCacheService.evict(userId);
     }
 
     /**
@@ -149,6 +156,7 @@ public class BasketServiceImpl implements BasketService {
                 .map(Basket::getId)
                 .collect(Collectors.toList())
         );
+        sessionSummaryCacheService.evict(userId);
     }
 
     /**
@@ -228,6 +236,8 @@ public class BasketServiceImpl implements BasketService {
 
     /**
      * Sync local saved basket
+     * Products are validated with single remote call, missing basket rows are inserted with single batch.
+     * Unknown products are skipped, rows inserted by concurrent sync of the same user are not duplicated
      *
      * @param productIds List of Product identifiers
      * @param user       Authenticated user
@@ -238,17 +248,28 @@ public class BasketServiceImpl implements BasketService {
                      @NonNull User user
     ) {
         log.info("BasketServiceImpl.sync: sync local saved basket productIds = {}, user = {}", productIds, user);
-        List<Basket> basketIds = basketRepository.findAllByProductIdInAndUserId(productIds, user.getId());
-        List<Integer> missingProducts = CommonUtils.lostItemsInList(productIds, basketIds.stream()
+        List<Integer> uniqueProductIds = productIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        List<Basket> baskets = basketRepository.findAllByProductIdInAndUserId(uniqueProductIds, user.getId());
+        List<Integer> missingProducts = CommonUtils.lostItemsInList(uniqueProductIds, baskets.stream()
                 .map(Basket::getProductId)
                 .toList());
-        if (!missingProducts.isEmpty()) {
-            missingProducts.forEach(productId -> {
-                this.create(BasketCreateDto.builder()
-                        .amount(1)
-                        .product_id(productId)
-                        .build(), user.getId());
-            });
+        if (missingProducts.isEmpty()) {
+            return;
+        }
+        List<Integer> existingProducts = productsCacheService.getProductsByIds(missingProducts).stream()
+                .map(ProductResponseDto::getId)
+                .toList();
+        if (existingProducts.size() < missingProducts.size()) {
+            log.warn("BasketServiceImpl.sync: skipping unknown products = {}",
+                    CommonUtils.lostItemsInList(missingProducts, existingProducts));
+        }
+        if (!existingProducts.isEmpty()) {
+            List<Integer> inserted = basketRepository.insertAllIgnoringExisting(user.getId(), existingProducts);
+            log.info("BasketServiceImpl.sync: inserted basket products = {}", inserted);
+            sessionSummaryCacheService.evict(user.getId());
         }
     }
 }
@@ -10,6 +10,7 @@ import net.rewerk.users.feign.client.CategoriesFeignClient;
 import net.rewerk.users.feign.client.ProductsFeignClient;
 import net.rewerk.users.repository.FavoriteRepository;
 import net.rewerk.users.service.aggregator.FavoriteResponseAggregatorService;
+import net.rewerk.users.service.cache.SessionSummaryCacheService;
 import net.rewerk.users.service.entity.FavoriteService;
 import net.rewerk.webstore.dto.response.PayloadResponseDto;
 import net.rewerk.webstore.dto.response.SinglePayloadResponseDto;
@@ -44,6 +45,7 @@ public class FavoriteServiceImpl implements FavoriteService {
     private final FavoriteResponseAggregatorService favoriteResponseAggregatorService;
     private final ProductsFeignClient productsFeignClient;
     private final CategoriesFeignClient categoriesFeignClient;
+    private final SessionSummaryCacheService sessionSummaryCacheService;
 
     /**
      * Find Favorite entity by identifier
@@ -140,6 +142,7 @@ public class FavoriteServiceImpl implements FavoriteService {
         if (product != null) {
             result.setProduct(product);
         }
+        sessionSummaryCacheService.evict(userId);
         return result;
     }
 
@@ -157,5 +160,6 @@ public class FavoriteServiceImpl implements FavoriteService {
             throw new EntityNotFoundException("Favorite not found");
         }
         favoriteRepository.delete(favorite);
+        sessionSummaryCacheService.evict(userId);
     }
 }
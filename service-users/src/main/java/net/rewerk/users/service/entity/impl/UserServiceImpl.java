@@ -2,12 +2,13 @@ package net.rewerk.users.service.entity.impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import net.rewerk.exception.UserNotFoundException;
+import net.rewerk.users.service.directory.UserDirectoryService;
 import net.rewerk.users.service.entity.UserService;
 import net.rewerk.users.util.KeycloakClient;
 import net.rewerk.webstore.dto.request.user.UserSearchDto;
 import net.rewerk.webstore.dto.response.user.UserResponseDto;
 import org.keycloak.admin.client.Keycloak;
-import org.keycloak.admin.client.resource.UserResource;
 import org.keycloak.representations.idm.UserRepresentation;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -28,9 +29,11 @@ public class UserServiceImpl implements UserService {
     @Value("${keycloak_admin.realm}")
     private String realm;
     private final KeycloakClient keycloakClient;
+    private final UserDirectoryService userDirectoryService;
 
     /**
      * Get user information by identifier
+     * Served from user directory
      *
      * @param id User identifier to search
      * @return User response DTO
@@ -39,31 +42,25 @@ public class UserServiceImpl implements UserService {
     @Override
     public UserResponseDto getById(UUID id) {
         log.info("UserServiceImpl.getById: Getting user by id: {}", id);
-        Keycloak client = keycloakClient.getClient();
-        UserResource resource = client.realm(realm).users().get(id.toString());
-        if (resource == null) {
-            return null;
+        UserResponseDto user = userDirectoryService.get(id);
+        if (user == null) {
+            throw new UserNotFoundException("User not found");
         }
-        UserRepresentation representation = resource.toRepresentation();
-        return UserResponseDto.builder()
-                .id(UUID.fromString(representation.getId()))
-                .username(representation.getUsername())
-                .build();
+        return user;
     }
 
     /**
      * Get list of users by identifiers
+     * Served from user directory, missing users are fetched from Keycloak concurrently
      *
      * @param ids List of users identifiers
-     * @return List of users response DTO
+     * @return List of users response DTO, unknown users are skipped
      */
 
     @Override
     public List<UserResponseDto> getByIds(List<UUID> ids) {
         log.info("UserServiceImpl.getByIds: Getting list of users by list of ids: {}", ids);
-        return ids.stream()
-                .map(this::getById)
-                .toList();
+        return userDirectoryService.getAll(ids);
     }
 
     /**
@@ -0,0 +1,9 @@
+package net.rewerk.users.service.summary;
+
+import net.rewerk.webstore.dto.response.me.MeResponseDto;
+import net.rewerk.webstore.dto.response.me.SessionSummaryResponseDto;
+import net.rewerk.webstore.entity.User;
+
+public interface SessionSummaryService {
+    SessionSummaryResponseDto get(User user, MeResponseDto me);
+}
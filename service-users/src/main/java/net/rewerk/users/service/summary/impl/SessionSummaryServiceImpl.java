@@ -0,0 +1,141 @@
+package net.rewerk.users.service.summary.impl;
+
+import jakarta.annotation.PreDestroy;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import net.rewerk.users.feign.client.OrdersFeignClient;
+import net.rewerk.users.service.cache.SessionSummaryCacheService;
+import net.rewerk.users.service.entity.BasketService;
+import net.rewerk.users.service.entity.FavoriteService;
+import net.rewerk.users.service.summary.SessionSummaryService;
+import net.rewerk.users.specification.BasketSpecification;
+import net.rewerk.users.specification.FavoriteSpecification;
+import net.rewerk.webstore.dto.response.SinglePayloadResponseDto;
+import net.rewerk.webstore.dto.response.basket.BasketResponseDto;
+import net.rewerk.webstore.dto.response.favorite.FavoriteResponseDto;
+import net.rewerk.webstore.dto.response.me.MeResponseDto;
+import net.rewerk.webstore.dto.response.me.SessionSummaryResponseDto;
+import net.rewerk.webstore.dto.response.order.OrdersSummaryResponseDto;
+import net.rewerk.webstore.entity.User;
+import net.rewerk.webstore.utility.AggregationUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * User session summary service implementation
+ * Basket, favorites and orders summary are requested concurrently with per-call timeout,
+ * failed or timed out parts are left empty and the summary is marked as partial.
+ * Complete summaries are cached per user and evicted on basket, favorite and order changes
+ *
+ * @author rewerk
+ */
+
+@Service
+@Slf4j
+public class SessionSummaryServiceImpl implements SessionSummaryService {
+    private final BasketService basketService;
+    private final FavoriteService favoriteService;
+    private final OrdersFeignClient ordersFeignClient;
+    private final SessionSummaryCacheService sessionSummaryCacheService;
+    private final ExecutorService executorService;
+    private final Executor executor;
+    private final Integer itemsLimit;
+    private final Long timeout;
+
+    public SessionSummaryServiceImpl(BasketService basketService,
+                                     FavoriteService favoriteService,
+                                     OrdersFeignClient ordersFeignClient,
+                                     SessionSummaryCacheService sessionSummaryCacheService,
+                                     @Value("${users.summary.items_limit:50}") Integer itemsLimit,
+                                     @Value("${users.summary.concurrency:64}") Integer concurrency,
+                                     @Value("${users.summary.timeout_ms:2000}") Long timeout) {
+        this.basketService = basketService;
+        this.favoriteService = favoriteService;
+        this.ordersFeignClient = ordersFeignClient;
+        this.sessionSummaryCacheService = sessionSummaryCacheService;
+        this.itemsLimit = itemsLimit;
+        this.timeout = timeout;
+        this.executorService = AggregationUtils.newExecutor("users-summary", concurrency);
+        this.executor = new DelegatingSecurityContextExecutor(executorService);
+    }
+
+    /**
+     * Get user session summary
+     *
+     * @param user Authenticated user
+     * @param me   Authenticated user details
+     * @return Session summary response DTO
+     */
+
+    @Override
+    public SessionSummaryResponseDto get(@NonNull User user, @NonNull MeResponseDto me) {
+        log.info("SessionSummaryServiceImpl.get: user.id = {}", user.getId());
+        return sessionSummaryCacheService.get(user.getId(), () -> this.load(user))
+                .toBuilder()
+                .me(me)
+                .build();
+    }
+
+    /**
+     * Stop summary lookups executor on context shutdown
+     */
+
+    @PreDestroy
+    public void shutdown() {
+        executorService.shutdownNow();
+    }
+
+    private SessionSummaryResponseDto load(User user) {
+        PageRequest pageRequest = PageRequest.of(0, itemsLimit, Sort.by("id"));
+        CompletableFuture<Page<BasketResponseDto>> basketFuture = this.async("basket",
+                () -> basketService.findAll(BasketSpecification.getSpecification(user), pageRequest));
+        CompletableFuture<Page<FavoriteResponseDto>> favoritesFuture = this.async("favorites",
+                () -> favoriteService.findAll(FavoriteSpecification.getSpecification(user), pageRequest));
+        CompletableFuture<OrdersSummaryResponseDto> ordersFuture = this.async("orders", () -> {
+            SinglePayloadResponseDto<OrdersSummaryResponseDto> response = ordersFeignClient.getSummary(user.getId());
+            return response == null ? null : response.getPayload();
+        });
+        Page<BasketResponseDto> basket = basketFuture.join();
+        Page<FavoriteResponseDto> favorites = favoritesFuture.join();
+        OrdersSummaryResponseDto orders = ordersFuture.join();
+        return SessionSummaryResponseDto.builder()
+                .basket(basket == null ? List.of() : basket.getContent())
+                .basket_total(basket == null ? null : basket.getTotalElements())
+                .favorites(favorites == null ? List.of() : favorites.getContent())
+                .favorites_total(favorites == null ? null : favorites.getTotalElements())
+                .order_counters(orders == null ? null : orders.getCounters())
+                .payment_stats(orders == null ? null : orders.getPayment_stats())
+                .partial(basket == null || favorites == null || orders == null)
+                .build();
+    }
+
+    private <T> CompletableFuture<T> async(String part, Supplier<T> lookup) {
+        CompletableFuture<T> future;
+        try {
+            future = CompletableFuture.supplyAsync(lookup, executor);
+        } catch (RejectedExecutionException e) {
+            log.warn("SessionSummaryServiceImpl.load: {} lookup rejected, returning partial summary: {}",
+                    part, e.getMessage());
+            return CompletableFuture.completedFuture(null);
+        }
+        return future
+                .orTimeout(timeout, TimeUnit.MILLISECONDS)
+                .exceptionally(e -> {
+                    log.warn("SessionSummaryServiceImpl.load: {} lookup failed, returning partial summary: {}",
+                            part, e.getMessage());
+                    return null;
+                });
+    }
+}
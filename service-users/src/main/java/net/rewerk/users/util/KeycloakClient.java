@@ -1,15 +1,26 @@
 package net.rewerk.users.util;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.annotation.PreDestroy;
+import jakarta.ws.rs.client.Client;
+import jakarta.ws.rs.client.ClientBuilder;
 import lombok.extern.slf4j.Slf4j;
+import org.jboss.resteasy.client.jaxrs.ResteasyClientBuilder;
 import org.keycloak.OAuth2Constants;
+import org.keycloak.admin.client.JacksonProvider;
 import org.keycloak.admin.client.Keycloak;
 import org.keycloak.admin.client.KeycloakBuilder;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * Utility class for create Keycloak admin client
+ * Client uses pooled HTTP connections shared by all request threads and records per-endpoint metrics.
+ * Access token is refreshed in background before it expires, so requests do not wait for token refresh
  *
  * @author rewerk
  */
@@ -18,14 +29,21 @@ import org.springframework.stereotype.Component;
 @Slf4j
 public class KeycloakClient {
     private final Keycloak keycloak;
+    private final Counter tokenRefreshFailures;
 
     /**
      * Constructor
      * Creates Keycloak admin client instance
      *
-     * @param username Keycloak admin username
-     * @param password Keycloak admin password
-     * @param uri      Keycloak admin URI
+     * @param username            Keycloak admin username
+     * @param password            Keycloak admin password
+     * @param uri                 Keycloak admin URI
+     * @param poolSize            Max count of pooled HTTP connections
+     * @param poolCheckoutTimeout Max time to wait for pooled connection in milliseconds
+     * @param connectTimeout      Connect timeout in milliseconds
+     * @param readTimeout         Read timeout in milliseconds
+     * @param tokenMinValidity    Min validity of access token in seconds, token is refreshed when less remains
+     * @param meterRegistry       Meter registry for client metrics
      */
 
     public KeycloakClient(
@@ -34,11 +52,31 @@ public class KeycloakClient {
             @Value("${keycloak_admin.password}")
             String password,
             @Value("${keycloak_admin.uri}")
-            String uri
+            String uri,
+            @Value("${keycloak_admin.pool.size:50}")
+            Integer poolSize,
+            @Value("${keycloak_admin.pool.checkout_timeout_ms:2000}")
+            Long poolCheckoutTimeout,
+            @Value("${keycloak_admin.connect_timeout_ms:2000}")
+            Long connectTimeout,
+            @Value("${keycloak_admin.read_timeout_ms:5000}")
+            Long readTimeout,
+            @Value("${keycloak_admin.token.min_validity_seconds:30}")
+            Long tokenMinValidity,
+            MeterRegistry meterRegistry
     ) {
         log.info("KeycloakClient: Creating Keycloak instance...");
         final String REALM = "master";
         final String CLIENT_ID = "admin-cli";
+        Client client = ((ResteasyClientBuilder) ClientBuilder.newBuilder())
+                .connectionPoolSize(poolSize)
+                .maxPooledPerRoute(poolSize)
+                .connectionCheckoutTimeout(poolCheckoutTimeout, TimeUnit.MILLISECONDS)
+                .connectTimeout(connectTimeout, TimeUnit.MILLISECONDS)
+                .readTimeout(readTimeout, TimeUnit.MILLISECONDS)
+                .register(new JacksonProvider(), 100)
+                .register(new KeycloakMetricsFilter(meterRegistry))
+                .build();
         keycloak = KeycloakBuilder.builder()
                 .serverUrl(uri)
                 .realm(REALM)
@@ -46,7 +84,12 @@ public class KeycloakClient {
                 .password(password)
                 .clientId(CLIENT_ID)
                 .grantType(OAuth2Constants.PASSWORD)
+                .resteasyClient(client)
                 .build();
+        keycloak.tokenManager().setMinTokenValidity(tokenMinValidity);
+        tokenRefreshFailures = Counter.builder("keycloak.admin.token.refresh.failures")
+                .description("Count of failed background access token refreshes")
+                .register(meterRegistry);
         log.info("KeycloakClient: Keycloak instance created.");
     }
 
@@ -61,6 +104,24 @@ public class KeycloakClient {
         return keycloak;
     }
 
+    /**
+     * Refresh access token if it expires within min validity
+     * Scheduling interval must be shorter than min validity
+     */
+
+    @Scheduled(
+            fixedDelayString = "${keycloak_admin.token.refresh_interval_ms:10000}",
+            initialDelayString = "${keycloak_admin.token.refresh_interval_ms:10000}"
+    )
+    public void refreshToken() {
+        try {
+            keycloak.tokenManager().getAccessToken();
+        } catch (RuntimeException e) {
+            tokenRefreshFailures.increment();
+            log.warn("KeycloakClient: Access token refresh failed: {}", e.getMessage());
+        }
+    }
+
     /**
      * Graceful close Keycloak admin client
      */
@@ -0,0 +1,61 @@
+package net.rewerk.users.util;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.ws.rs.client.ClientRequestContext;
+import jakarta.ws.rs.client.ClientRequestFilter;
+import jakarta.ws.rs.client.ClientResponseContext;
+import jakarta.ws.rs.client.ClientResponseFilter;
+import jakarta.ws.rs.core.Response;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Keycloak admin client filter for per-endpoint latency and error metrics
+ * Identifiers in request path are replaced with placeholder to keep endpoint tag cardinality bounded
+ *
+ * @author rewerk
+ */
+
+public class KeycloakMetricsFilter implements ClientRequestFilter, ClientResponseFilter {
+    private static final String START_PROPERTY = KeycloakMetricsFilter.class.getName() + ".start";
+    private static final Pattern IDENTIFIER_SEGMENT = Pattern.compile(
+            "/([0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}|\\d+)(?=/|$)"
+    );
+    private final MeterRegistry registry;
+
+    public KeycloakMetricsFilter(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void filter(ClientRequestContext request) {
+        request.setProperty(START_PROPERTY, System.nanoTime());
+    }
+
+    @Override
+    public void filter(ClientRequestContext request, ClientResponseContext response) {
+        if (request.getProperty(START_PROPERTY) instanceof Long start) {
+            Timer.builder("keycloak.admin.requests")
+                    .description("Latency of Keycloak admin client requests")
+                    .tag("method", request.getMethod())
+                    .tag("endpoint", endpoint(request.getUri().getPath()))
+                    .tag("status", String.valueOf(response.getStatus()))
+                    .tag("outcome", Response.Status.Family.familyOf(response.getStatus()).name())
+                    .register(registry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Replace identifiers in request path with placeholder
+     *
+     * @param path Request path
+     * @return Endpoint path template
+     */
+
+    public static String endpoint(String path) {
+        return IDENTIFIER_SEGMENT.matcher(path).replaceAll("/{id}");
+    }
+}
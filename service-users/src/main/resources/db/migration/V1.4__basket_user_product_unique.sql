@@ -0,0 +1,8 @@
+-- keep single basket row per user and product, so basket sync can insert idempotently
+delete
+from basket b
+    using basket d
+where b.user_id = d.user_id
+  and b.product_id = d.product_id
+  and b.id > d.id;
+create unique index if not exists basket_user_id_product_id_uidx on basket (user_id, product_id);
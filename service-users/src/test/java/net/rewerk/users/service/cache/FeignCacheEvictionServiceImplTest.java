@@ -0,0 +1,68 @@
+package net.rewerk.users.service.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.rewerk.users.feign.client.ProductsFeignClient;
+import net.rewerk.users.service.cache.impl.FeignCacheEvictionServiceImpl;
+import net.rewerk.users.service.cache.impl.ProductsCacheServiceImpl;
+import net.rewerk.webstore.dto.mq.products.ProductsChangeDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class FeignCacheEvictionServiceImplTest {
+    private final CaffeineCacheManager cacheManager = new CaffeineCacheManager("caffeine");
+    private final ProductsCacheService productsCacheService = new ProductsCacheServiceImpl(
+            mock(ProductsFeignClient.class),
+            cacheManager,
+            new SimpleMeterRegistry()
+    );
+    private final FeignCacheEvictionService service = new FeignCacheEvictionServiceImpl(cacheManager, productsCacheService);
+    private Cache cache;
+
+    @BeforeEach
+    public void setUp() {
+        cache = cacheManager.getCache("caffeine");
+        cache.put("products-client-getProduct1", "product 1");
+        cache.put("products-client-getProduct12", "product 12");
+        cache.put("products-client-getProductsByIds#1", "product 1");
+        cache.put("products-client-getProductsByIds#12", "product 12");
+        cache.put("categories-client-getCategoriesByProductIds" + List.of(2, 1), "categories 2, 1");
+        cache.put("categories-client-getCategoriesByProductIds" + List.of(13), "categories 13");
+        cache.put("users-other-key", "other");
+    }
+
+    @Test
+    public void givenProductsChange_whenEvict_thenEvictOnlyEntriesWithChangedProducts() {
+        service.evict(ProductsChangeDto.builder()
+                .product_ids(List.of(1))
+                .category_ids(List.of())
+                .build());
+
+        assertThat(cache.get("products-client-getProduct1")).isNull();
+        assertThat(cache.get("products-client-getProduct12")).isNotNull();
+        assertThat(cache.get("products-client-getProductsByIds#1")).isNull();
+        assertThat(cache.get("products-client-getProductsByIds#12")).isNotNull();
+        assertThat(cache.get("categories-client-getCategoriesByProductIds" + List.of(2, 1))).isNull();
+        assertThat(cache.get("categories-client-getCategoriesByProductIds" + List.of(13))).isNotNull();
+        assertThat(cache.get("users-other-key")).isNotNull();
+    }
+
+    @Test
+    public void givenCategoriesChange_whenEvict_thenEvictAllProductsAndCategoriesEntries() {
+        service.evict(ProductsChangeDto.builder()
+                .product_ids(List.of())
+                .category_ids(List.of(5))
+                .build());
+
+        assertThat(cache.get("products-client-getProduct12")).isNull();
+        assertThat(cache.get("products-client-getProductsByIds#12")).isNull();
+        assertThat(cache.get("categories-client-getCategoriesByProductIds" + List.of(13))).isNull();
+        assertThat(cache.get("users-other-key")).isNotNull();
+    }
+}
@@ -0,0 +1,47 @@
+package net.rewerk.users.service.cache;
+
+import net.rewerk.users.service.cache.impl.SessionSummaryCacheServiceImpl;
+import net.rewerk.webstore.dto.response.me.SessionSummaryResponseDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SessionSummaryCacheServiceImplTest {
+    private final SessionSummaryCacheService service = new SessionSummaryCacheServiceImpl(30, 100);
+    private final UUID userId = UUID.randomUUID();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private Supplier<SessionSummaryResponseDto> loader(boolean partial, Runnable during) {
+        return () -> {
+            loads.incrementAndGet();
+            during.run();
+            return SessionSummaryResponseDto.builder()
+                    .basket_total((long) loads.get())
+                    .partial(partial)
+                    .build();
+        };
+    }
+
+    @Test
+    public void givenCompleteSummary_whenGet_thenCacheUntilEvicted() {
+        assertThat(service.get(userId, loader(true, () -> {})).getBasket_total()).isEqualTo(1L);
+        assertThat(service.get(userId, loader(false, () -> {})).getBasket_total()).isEqualTo(2L);
+        assertThat(service.get(userId, loader(false, () -> {})).getBasket_total()).isEqualTo(2L);
+
+        service.evict(userId);
+
+        assertThat(service.get(userId, loader(false, () -> {})).getBasket_total()).isEqualTo(3L);
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    public void givenEvictionDuringLoad_whenGet_thenDoNotCacheStaleSummary() {
+        assertThat(service.get(userId, loader(false, () -> service.evict(userId))).getBasket_total()).isEqualTo(1L);
+        assertThat(service.get(userId, loader(false, () -> {})).getBasket_total()).isEqualTo(2L);
+        assertThat(service.get(userId, loader(false, () -> {})).getBasket_total()).isEqualTo(2L);
+    }
+}
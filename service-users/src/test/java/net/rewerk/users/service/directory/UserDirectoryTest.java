@@ -0,0 +1,58 @@
+package net.rewerk.users.service.directory;
+
+import net.rewerk.webstore.dto.response.user.UserResponseDto;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class UserDirectoryTest {
+    private static final UUID FIRST = UUID.randomUUID();
+    private static final UUID SECOND = UUID.randomUUID();
+    private static final UUID UNKNOWN = UUID.randomUUID();
+    private final List<Set<UUID>> loads = new ArrayList<>();
+    private final UserDirectory directory = new UserDirectory(100, Duration.ofMinutes(5), Duration.ofMinutes(60),
+            ids -> {
+                loads.add(ids);
+                Map<UUID, UserResponseDto> users = new HashMap<>();
+                ids.stream()
+                        .filter(id -> !UNKNOWN.equals(id))
+                        .forEach(id -> users.put(id, user(id, "loaded")));
+                return users;
+            });
+
+    private UserResponseDto user(UUID id, String username) {
+        return UserResponseDto.builder()
+                .id(id)
+                .username(username)
+                .build();
+    }
+
+    @Test
+    public void givenWarmedDirectory_whenGetAll_thenLoadOnlyMissesInSingleCall() {
+        directory.putAll(List.of(user(FIRST, "cached")));
+
+        List<UserResponseDto> users = directory.getAll(List.of(FIRST, SECOND, UNKNOWN, FIRST));
+
+        assertThat(users).extracting(UserResponseDto::getId).containsExactly(FIRST, SECOND);
+        assertThat(users).extracting(UserResponseDto::getUsername).containsExactly("cached", "loaded");
+        assertThat(loads).containsExactly(Set.of(SECOND, UNKNOWN));
+        assertThat(directory.getAll(List.of(FIRST, SECOND))).hasSize(2);
+        assertThat(loads).hasSize(1);
+    }
+
+    @Test
+    public void givenInvalidatedUser_whenGet_thenLoadItAgain() {
+        directory.putAll(List.of(user(FIRST, "cached")));
+        directory.get(FIRST).setUsername("modified");
+
+        assertThat(directory.get(FIRST).getUsername()).isEqualTo("cached");
+
+        directory.invalidateAll(List.of(FIRST));
+
+        assertThat(directory.get(FIRST).getUsername()).isEqualTo("loaded");
+        assertThat(directory.get(UNKNOWN)).isNull();
+    }
+}
@@ -0,0 +1,89 @@
+package net.rewerk.users.service.directory;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.rewerk.webstore.dto.response.user.UserResponseDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class UserLoaderTest {
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private UserResponseDto user(UUID id) {
+        return UserResponseDto.builder()
+                .id(id)
+                .username(id.toString())
+                .build();
+    }
+
+    @Test
+    public void givenManyMisses_whenLoadAll_thenRunLookupsConcurrentlyWithinLimit() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        Set<UUID> ids = IntStream.range(0, 20)
+                .mapToObj(_ -> UUID.randomUUID())
+                .collect(Collectors.toSet());
+        try (UserLoader loader = new UserLoader(id -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            sleep(20);
+            running.decrementAndGet();
+            return user(id);
+        }, 4, registry)) {
+            assertThat(loader.loadAll(ids)).containsOnlyKeys(ids);
+        }
+
+        assertThat(maxRunning.get()).isBetween(2, 4);
+        assertThat(registry.get("users.directory.lookup").tag("outcome", "found").timer().count()).isEqualTo(20);
+    }
+
+    @Test
+    public void givenConcurrentCallers_whenLoadSameUser_thenCoalesceLookup() throws Exception {
+        UUID id = UUID.randomUUID();
+        UUID unknown = UUID.randomUUID();
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        try (UserLoader loader = new UserLoader(requested -> {
+            calls.incrementAndGet();
+            await(release);
+            return unknown.equals(requested) ? null : user(requested);
+        }, 4, registry)) {
+            CompletableFuture<Map<UUID, UserResponseDto>> first = CompletableFuture
+                    .supplyAsync(() -> loader.loadAll(Set.of(id, unknown)));
+            CompletableFuture<Map<UUID, UserResponseDto>> second = CompletableFuture
+                    .supplyAsync(() -> loader.loadAll(Set.of(id)));
+            while (registry.counter("users.directory.lookup.coalesced").count() < 1) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            assertThat(first.get(5, TimeUnit.SECONDS)).containsOnlyKeys(id);
+            assertThat(second.get(5, TimeUnit.SECONDS)).containsOnlyKeys(id);
+        }
+
+        assertThat(calls.get()).isEqualTo(2);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package net.rewerk.users.util;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.keycloak.representations.idm.UserRepresentation;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class KeycloakClientTest {
+    private static final String USER_ID = UUID.randomUUID().toString();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicInteger tokenRequests = new AtomicInteger();
+    private HttpServer server;
+    private KeycloakClient keycloakClient;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/realms/master/protocol/openid-connect/token", exchange -> {
+            tokenRequests.incrementAndGet();
+            respond(exchange, 200, """
+                    {"access_token":"token","expires_in":20,"refresh_expires_in":1800,
+                    "refresh_token":"refresh","token_type":"Bearer"}""");
+        });
+        server.createContext("/admin/realms/webstore/users/", exchange -> {
+            if (exchange.getRequestURI().getPath().endsWith(USER_ID)) {
+                respond(exchange, 200, "{\"id\":\"" + USER_ID + "\",\"username\":\"alice\",\"unknown\":true}");
+            } else {
+                respond(exchange, 404, "{\"error\":\"User not found\"}");
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (keycloakClient != null) {
+            keycloakClient.close();
+        }
+        server.stop(0);
+    }
+
+    private KeycloakClient client(long tokenMinValidity) {
+        return new KeycloakClient("admin", "admin", "http://127.0.0.1:" + server.getAddress().getPort(),
+                4, 1000L, 1000L, 1000L, tokenMinValidity, registry);
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+
+    @Test
+    public void givenValidToken_whenLookupUsers_thenReuseTokenAndRecordEndpointMetrics() {
+        keycloakClient = client(5);
+
+        for (int i = 0; i < 2; i++) {
+            UserRepresentation user = keycloakClient.getClient().realm("webstore").users().get(USER_ID)
+                    .toRepresentation();
+            assertThat(user.getUsername()).isEqualTo("alice");
+        }
+        keycloakClient.refreshToken();
+
+        assertThat(tokenRequests.get()).isEqualTo(1);
+        assertThat(registry.get("keycloak.admin.requests")
+                .tag("endpoint", "/admin/realms/webstore/users/{id}")
+                .tag("outcome", "SUCCESSFUL")
+                .timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    public void givenExpiringToken_whenRefreshToken_thenRefreshBeforeExpiry() {
+        keycloakClient = client(60);
+        keycloakClient.getClient().realm("webstore").users().get(USER_ID).toRepresentation();
+
+        keycloakClient.refreshToken();
+
+        assertThat(tokenRequests.get()).isEqualTo(2);
+        assertThat(registry.counter("keycloak.admin.token.refresh.failures").count()).isZero();
+    }
+
+    @Test
+    public void givenIdentifiersInPath_whenResolveEndpoint_thenReplaceThemWithPlaceholder() {
+        assertThat(KeycloakMetricsFilter.endpoint("/admin/realms/webstore/users/" + USER_ID + "/groups/12"))
+                .isEqualTo("/admin/realms/webstore/users/{id}/groups/{id}");
+    }
+}
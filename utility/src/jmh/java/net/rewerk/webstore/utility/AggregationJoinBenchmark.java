@@ -0,0 +1,85 @@
+package net.rewerk.webstore.utility;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Join of remote payload to page of responses: linear scan per response against hash index
+ * Page responses reference payload items in random order, as order lines reference fetched products
+ *
+ * @author rewerk
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AggregationJoinBenchmark {
+    @Param({"100", "1000"})
+    private int pageSize;
+    private List<Product> payload;
+    private List<Line> responses;
+
+    private record Product(Integer id, String name) {
+    }
+
+    private static final class Line {
+        private final Integer productId;
+        private Product product;
+
+        private Line(Integer productId) {
+            this.productId = productId;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        payload = new ArrayList<>(pageSize);
+        List<Integer> ids = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            payload.add(new Product(i, "product-" + i));
+            ids.add(i);
+        }
+        Collections.shuffle(ids, random);
+        responses = ids.stream().map(Line::new).toList();
+    }
+
+    @Benchmark
+    public List<Line> linearScan() {
+        for (Line line : responses) {
+            line.product = payload.stream()
+                    .filter(product -> product.id().equals(line.productId))
+                    .findFirst()
+                    .orElse(null);
+        }
+        return responses;
+    }
+
+    @Benchmark
+    public List<Line> indexedJoin() {
+        AggregationUtils.join(responses,
+                line -> line.productId,
+                AggregationUtils.indexBy(payload, Product::id),
+                (line, product) -> line.product = product);
+        return responses;
+    }
+}
@@ -0,0 +1,133 @@
+package net.rewerk.webstore.utility;
+
+import net.rewerk.webstore.dto.response.PayloadResponseDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Response aggregation utility methods
+ * Remote lookups of aggregators are issued concurrently on a bounded executor, every lookup has its own timeout
+ * and is resolved to empty list on timeout, failure or rejection, so a slow or failed dependency
+ * only leaves its data unset.
+ * Fetched payloads are indexed by identifier once and joined to responses with hash lookups
+ *
+ * @author rewerk
+ */
+
+public abstract class AggregationUtils {
+    private static final Logger log = LoggerFactory.getLogger(AggregationUtils.class);
+
+    /**
+     * Create bounded executor for aggregator lookups
+     * Every lookup runs on its own virtual thread, count of concurrent lookups is limited by concurrency,
+     * lookup submitted when limit is reached is rejected
+     *
+     * @param name        Executor name, used as thread name prefix
+     * @param concurrency Max count of concurrent lookups
+     * @return Executor service, must be shut down by owner
+     */
+
+    public static ExecutorService newExecutor(String name, int concurrency) {
+        return new BoundedVirtualExecutor(name, concurrency);
+    }
+
+    /**
+     * Fetch payload by identifiers asynchronously
+     *
+     * @param name     Lookup name for logging
+     * @param ids      List of identifiers, lookup is skipped for empty list
+     * @param call     Remote call by identifiers
+     * @param executor Executor to run call
+     * @param timeout  Lookup timeout
+     * @param <I>      Generic type of identifier
+     * @param <T>      Generic type of payload item
+     * @return Future of payload list, never completed exceptionally, empty list if executor rejected the lookup
+     */
+
+    public static <I, T> CompletableFuture<List<T>> fetch(String name,
+                                                          List<I> ids,
+                                                          Function<List<I>, PayloadResponseDto<T>> call,
+                                                          Executor executor,
+                                                          Duration timeout) {
+        if (ids.isEmpty()) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+        CompletableFuture<PayloadResponseDto<T>> future;
+        try {
+            future = CompletableFuture.supplyAsync(() -> call.apply(ids), executor);
+        } catch (RejectedExecutionException e) {
+            log.warn("AggregationUtils.fetch: {} lookup rejected, aggregating partial result: {}",
+                    name, e.getMessage());
+            return CompletableFuture.completedFuture(List.of());
+        }
+        return future
+                .thenApply(response -> response == null || response.getPayload() == null
+                        ? List.<T>of()
+                        : response.getPayload())
+                .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .exceptionally(e -> {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    log.warn("AggregationUtils.fetch: {} lookup failed, aggregating partial result: {}",
+                            name,
+                            cause instanceof TimeoutException ? "timed out after " + timeout.toMillis() + " ms" : cause.toString());
+                    return List.of();
+                });
+    }
+
+    /**
+     * Index payload items by key
+     * Items with null key are skipped, first item wins for duplicated keys
+     *
+     * @param items Payload items
+     * @param key   Key extractor, usually identifier getter
+     * @param <K>   Generic type of key
+     * @param <T>   Generic type of payload item
+     * @return Map of payload items by key
+     */
+
+    public static <K, T> Map<K, T> indexBy(Collection<T> items, Function<T, K> key) {
+        Map<K, T> index = HashMap.newHashMap(items.size());
+        for (T item : items) {
+            K itemKey = item == null ? null : key.apply(item);
+            if (itemKey != null) {
+                index.putIfAbsent(itemKey, item);
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Join indexed payload items to responses by key
+     * Responses without key or without matching item are left unchanged
+     *
+     * @param responses Responses to populate
+     * @param key       Key extractor of response, usually related entity identifier getter
+     * @param index     Payload items indexed by key
+     * @param setter    Setter of joined item to response
+     * @param <R>       Generic type of response
+     * @param <K>       Generic type of key
+     * @param <T>       Generic type of payload item
+     */
+
+    public static <R, K, T> void join(Collection<R> responses,
+                                      Function<R, K> key,
+                                      Map<K, T> index,
+                                      BiConsumer<R, T> setter) {
+        for (R response : responses) {
+            K responseKey = key.apply(response);
+            T item = responseKey == null ? null : index.get(responseKey);
+            if (item != null) {
+                setter.accept(response, item);
+            }
+        }
+    }
+}
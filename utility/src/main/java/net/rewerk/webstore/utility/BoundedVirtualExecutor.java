@@ -0,0 +1,80 @@
+package net.rewerk.webstore.utility;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executor running every task on its own virtual thread with bounded count of concurrent tasks
+ * Task submitted when all permits are taken is rejected instead of queued or run on the calling thread,
+ * so callers fail fast under overload and their timeouts keep applying
+ *
+ * @author rewerk
+ */
+
+public class BoundedVirtualExecutor extends AbstractExecutorService {
+    private final ExecutorService delegate;
+    private final Semaphore permits;
+    private final int concurrency;
+
+    /**
+     * Create bounded virtual thread executor
+     *
+     * @param name        Executor name, used as thread name prefix
+     * @param concurrency Max count of concurrent tasks
+     */
+
+    public BoundedVirtualExecutor(String name, int concurrency) {
+        this.delegate = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(name + "-", 0).factory());
+        this.permits = new Semaphore(concurrency);
+        this.concurrency = concurrency;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        if (!permits.tryAcquire()) {
+            throw new RejectedExecutionException("All " + concurrency + " concurrent tasks are running");
+        }
+        try {
+            delegate.execute(() -> {
+                try {
+                    command.run();
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        return delegate.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+}
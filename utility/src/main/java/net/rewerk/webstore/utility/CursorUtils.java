@@ -0,0 +1,153 @@
+package net.rewerk.webstore.utility;
+
+import net.rewerk.exception.UnprocessableOperation;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.util.ClassUtils;
+
+import java.math.BigDecimal;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Keyset pagination cursor utility methods
+ * Cursor is an opaque URL-safe token with sort key values of the last returned row,
+ * each value is stored with its type tag to be bound back to query with the same type.
+ * Enum values are stored by constant name only and resolved against the expected key type,
+ * values of other types must match the expected key type, so tampered cursors are rejected before querying
+ *
+ * @author rewerk
+ */
+
+public abstract class CursorUtils {
+    private static final String INVALID_CURSOR = "Invalid pagination cursor";
+
+    /**
+     * Encode keyset scroll position to cursor token
+     *
+     * @param position Keyset scroll position
+     * @return Cursor token
+     */
+
+    public static String encode(KeysetScrollPosition position) {
+        String raw = position.getKeys().entrySet().stream()
+                .map(entry -> encodePart(entry.getKey()) + "=" + encodeValue(entry.getValue()))
+                .collect(Collectors.joining("&"));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode cursor token to forward keyset scroll position
+     *
+     * @param cursor Cursor token, empty token means first window
+     * @param keys   Expected key names (sort properties) with their attribute types
+     * @return Keyset scroll position
+     * @throws UnprocessableOperation if token is malformed or does not match expected keys
+     */
+
+    public static KeysetScrollPosition decode(String cursor, Map<String, Class<?>> keys) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        Map<String, Object> values = new LinkedHashMap<>();
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            for (String pair : raw.split("&")) {
+                int separator = pair.indexOf('=');
+                if (separator < 1) {
+                    throw new UnprocessableOperation(INVALID_CURSOR);
+                }
+                String key = decodePart(pair.substring(0, separator));
+                if (!keys.containsKey(key)) {
+                    throw new UnprocessableOperation(INVALID_CURSOR);
+                }
+                values.put(key, decodeValue(pair.substring(separator + 1), keys.get(key)));
+            }
+        } catch (IllegalArgumentException e) {
+            throw new UnprocessableOperation(INVALID_CURSOR);
+        }
+        if (!values.keySet().equals(keys.keySet())) {
+            throw new UnprocessableOperation(INVALID_CURSOR);
+        }
+        return ScrollPosition.forward(values);
+    }
+
+    private static String encodeValue(Object value) {
+        return switch (value) {
+            case null -> "N:";
+            case String s -> "S:" + encodePart(s);
+            case Integer i -> "I:" + i;
+            case Long l -> "L:" + l;
+            case Double d -> "D:" + d;
+            case Float f -> "F:" + f;
+            case Boolean b -> "B:" + b;
+            case BigDecimal d -> "M:" + d.toPlainString();
+            case Timestamp t -> "P:" + t.getTime() + "." + t.getNanos();
+            case Date d -> "T:" + d.getTime();
+            case UUID u -> "U:" + u;
+            case Enum<?> e -> "E:" + e.name();
+            default -> throw new IllegalStateException(
+                    "Unsupported cursor key type " + value.getClass().getName()
+            );
+        };
+    }
+
+    private static Object decodeValue(String encoded, Class<?> type) {
+        if (encoded.length() < 2 || encoded.charAt(1) != ':') {
+            throw new UnprocessableOperation(INVALID_CURSOR);
+        }
+        String value = encoded.substring(2);
+        Object decoded = switch (encoded.charAt(0)) {
+            case 'N' -> null;
+            case 'S' -> decodePart(value);
+            case 'I' -> Integer.valueOf(value);
+            case 'L' -> Long.valueOf(value);
+            case 'D' -> Double.valueOf(value);
+            case 'F' -> Float.valueOf(value);
+            case 'B' -> Boolean.valueOf(value);
+            case 'M' -> new BigDecimal(value);
+            case 'P' -> decodeTimestamp(value);
+            case 'T' -> new Date(Long.parseLong(value));
+            case 'U' -> UUID.fromString(value);
+            case 'E' -> decodeEnum(value, type);
+            default -> throw new UnprocessableOperation(INVALID_CURSOR);
+        };
+        if (decoded != null && type != null && !ClassUtils.resolvePrimitiveIfNecessary(type).isInstance(decoded)) {
+            throw new UnprocessableOperation(INVALID_CURSOR);
+        }
+        return decoded;
+    }
+
+    private static Timestamp decodeTimestamp(String value) {
+        String[] parts = value.split("\\.");
+        if (parts.length != 2) {
+            throw new UnprocessableOperation(INVALID_CURSOR);
+        }
+        Timestamp timestamp = new Timestamp(Long.parseLong(parts[0]));
+        timestamp.setNanos(Integer.parseInt(parts[1]));
+        return timestamp;
+    }
+
+    private static Enum<?> decodeEnum(String name, Class<?> type) {
+        if (type != null && type.isEnum()) {
+            for (Object constant : type.getEnumConstants()) {
+                if (((Enum<?>) constant).name().equals(name)) {
+                    return (Enum<?>) constant;
+                }
+            }
+        }
+        throw new UnprocessableOperation(INVALID_CURSOR);
+    }
+
+    private static String encodePart(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static String decodePart(String value) {
+        return URLDecoder.decode(value, StandardCharsets.UTF_8);
+    }
+}
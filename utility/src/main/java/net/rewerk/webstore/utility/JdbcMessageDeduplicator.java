@@ -0,0 +1,68 @@
+package net.rewerk.webstore.utility;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Message deduplicator backed by processed_messages table of service database
+ * Identifiers are recorded in the transaction of the caller, so a rolled back batch is redelivered and processed again.
+ * Records older than time to live are purged, redeliveries are expected within minutes after rebalance
+ *
+ * @author rewerk
+ */
+
+public class JdbcMessageDeduplicator implements MessageDeduplicator {
+    private static final Logger log = LoggerFactory.getLogger(JdbcMessageDeduplicator.class);
+    private static final String INSERT = "insert into processed_messages (consumer, message_id)" +
+            " select ?, unnest(?::character varying[]) on conflict do nothing returning message_id";
+    private static final String FORGET = "delete from processed_messages where consumer = ? and message_id = ?";
+    private static final String PURGE = "delete from processed_messages where processed_at < ?";
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration ttl;
+
+    /**
+     * Create database message deduplicator
+     *
+     * @param jdbcTemplate JDBC template of service database
+     * @param ttl          Time to live of processed message records
+     */
+
+    public JdbcMessageDeduplicator(JdbcTemplate jdbcTemplate, Duration ttl) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ttl = ttl;
+    }
+
+    @Override
+    public Set<String> firstDeliveries(String consumer, Collection<String> messageIds) {
+        if (messageIds.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(jdbcTemplate.queryForList(INSERT, String.class, consumer,
+                messageIds.toArray(String[]::new)));
+    }
+
+    @Override
+    public void forget(String consumer, String messageId) {
+        if (messageId != null) {
+            jdbcTemplate.update(FORGET, consumer, messageId);
+        }
+    }
+
+    /**
+     * Purge processed message records older than time to live
+     */
+
+    @Scheduled(cron = "${messages.dedup.purge_cron:0 */10 * * * *}")
+    public void purge() {
+        int purged = jdbcTemplate.update(PURGE, new Timestamp(System.currentTimeMillis() - ttl.toMillis()));
+        log.info("JdbcMessageDeduplicator.purge: purged {} processed message records", purged);
+    }
+}
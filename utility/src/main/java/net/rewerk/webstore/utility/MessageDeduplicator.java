@@ -0,0 +1,108 @@
+package net.rewerk.webstore.utility;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Deduplicator of consumed SCS messages
+ * Producers attach unique message identifier header, consumers record identifiers of processed messages
+ * and skip redeliveries. Messages without identifier are always processed
+ *
+ * @author rewerk
+ */
+
+public interface MessageDeduplicator {
+    String MESSAGE_ID = "message_id";
+
+    /**
+     * Record delivery of messages to consumer
+     *
+     * @param consumer   Consumer name, identifiers are recorded per consumer
+     * @param messageIds Message identifiers
+     * @return Identifiers which were not delivered to consumer before
+     */
+
+    Set<String> firstDeliveries(String consumer, Collection<String> messageIds);
+
+    /**
+     * Forget delivery of message which failed processing, so its redelivery is processed again
+     *
+     * @param consumer  Consumer name, identifiers are recorded per consumer
+     * @param messageId Message identifier or null
+     */
+
+    void forget(String consumer, String messageId);
+
+    /**
+     * Record delivery of message to consumer
+     *
+     * @param consumer  Consumer name, identifiers are recorded per consumer
+     * @param messageId Message identifier or null
+     * @return True if message has no identifier or was not delivered to consumer before
+     */
+
+    default boolean isFirstDelivery(String consumer, String messageId) {
+        return messageId == null || !this.firstDeliveries(consumer, List.of(messageId)).isEmpty();
+    }
+
+    /**
+     * Record delivery of batch and drop redelivered payloads, including repeats within the batch
+     *
+     * @param consumer   Consumer name, identifiers are recorded per consumer
+     * @param payloads   Batch payloads
+     * @param messageIds Message identifiers of batch payloads in the same order, see messageIds
+     * @param <T>        Generic type of payload
+     * @return Payloads to process
+     */
+
+    default <T> List<T> firstDeliveries(String consumer, List<T> payloads, List<String> messageIds) {
+        List<String> ids = messageIds.stream().filter(Objects::nonNull).toList();
+        Set<String> first = ids.isEmpty() ? Set.of() : new HashSet<>(this.firstDeliveries(consumer, ids));
+        List<T> result = new ArrayList<>(payloads.size());
+        for (int i = 0; i < payloads.size(); i++) {
+            String id = i < messageIds.size() ? messageIds.get(i) : null;
+            if (id == null || first.remove(id)) {
+                result.add(payloads.get(i));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get message identifier from message headers
+     *
+     * @param headers Message headers
+     * @return Message identifier or null
+     */
+
+    static String messageId(Map<String, ?> headers) {
+        return switch (headers.get(MESSAGE_ID)) {
+            case String id -> id;
+            case byte[] id -> new String(id, StandardCharsets.UTF_8);
+            case null, default -> null;
+        };
+    }
+
+    /**
+     * Get message identifiers of batch from per-record converted headers
+     *
+     * @param batchHeaders Value of kafka_batchConvertedHeaders header, list of per-record headers
+     * @return Message identifiers in batch order, null for records without identifier
+     */
+
+    @SuppressWarnings("unchecked")
+    static List<String> messageIds(Object batchHeaders) {
+        if (!(batchHeaders instanceof List<?> list)) {
+            return List.of();
+        }
+        return list.stream()
+                .map(headers -> headers instanceof Map<?, ?> map ? messageId((Map<String, ?>) map) : null)
+                .toList();
+    }
+}
@@ -0,0 +1,112 @@
+package net.rewerk.webstore.utility;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Multi-get cache layer for batch lookups by identifiers
+ * Every value is cached under its own identifier key, so batches sharing identifiers reuse entries.
+ * Hits are served from cache and all misses are loaded with a single batch call.
+ * Hit and miss counts are reported as feign.cache.gets meter tagged with client name
+ *
+ * @param <K> Generic type of identifier
+ * @param <V> Generic type of cached value
+ * @author rewerk
+ */
+
+public class MultiGetCache<K, V> {
+    private final Cache cache;
+    private final String prefix;
+    private final Function<V, K> key;
+    private final Counter hits;
+    private final Counter misses;
+
+    /**
+     * Create multi-get cache layer
+     *
+     * @param cache    Spring cache to store values
+     * @param client   Client name for metrics
+     * @param prefix   Cache key prefix, key of value is prefix followed by identifier
+     * @param key      Identifier extractor of value
+     * @param registry Meter registry
+     */
+
+    public MultiGetCache(Cache cache, String client, String prefix, Function<V, K> key, MeterRegistry registry) {
+        this.cache = cache;
+        this.prefix = prefix;
+        this.key = key;
+        this.hits = counter(registry, client, "hit");
+        this.misses = counter(registry, client, "miss");
+    }
+
+    /**
+     * Get values by identifiers, missing values are loaded with single loader call and cached
+     *
+     * @param ids    Collection of identifiers
+     * @param loader Batch loader of values by list of missing identifiers
+     * @return List of values in order of identifiers, duplicates and unknown identifiers are skipped
+     */
+
+    @SuppressWarnings("unchecked")
+    public List<V> getAll(Collection<K> ids, Function<List<K>, List<V>> loader) {
+        List<K> unique = ids.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        Map<K, V> values = HashMap.newHashMap(unique.size());
+        List<K> missing = new ArrayList<>();
+        for (K id : unique) {
+            Cache.ValueWrapper wrapper = cache.get(this.cacheKey(id));
+            if (wrapper != null && wrapper.get() != null) {
+                values.put(id, (V) wrapper.get());
+            } else {
+                missing.add(id);
+            }
+        }
+        hits.increment(values.size());
+        misses.increment(missing.size());
+        if (!missing.isEmpty()) {
+            Set<K> requested = new HashSet<>(missing);
+            List<V> loaded = loader.apply(missing);
+            if (loaded != null) {
+                loaded.stream()
+                        .filter(Objects::nonNull)
+                        .filter(value -> requested.contains(key.apply(value)))
+                        .forEach(value -> {
+                            cache.put(this.cacheKey(key.apply(value)), value);
+                            values.put(key.apply(value), value);
+                        });
+            }
+        }
+        return unique.stream()
+                .map(values::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Evict cached values by identifiers
+     *
+     * @param ids Collection of identifiers
+     */
+
+    public void evictAll(Collection<K> ids) {
+        ids.forEach(id -> cache.evict(this.cacheKey(id)));
+    }
+
+    private String cacheKey(K id) {
+        return prefix + id;
+    }
+
+    private static Counter counter(MeterRegistry registry, String client, String result) {
+        return Counter.builder("feign.cache.gets")
+                .description("Count of multi-get cache lookups by identifier")
+                .tag("client", client)
+                .tag("result", result)
+                .register(registry);
+    }
+}
@@ -2,8 +2,14 @@ package net.rewerk.webstore.utility;
 
 import net.rewerk.webstore.dto.request.PaginatedRequestParamsDto;
 import net.rewerk.webstore.dto.request.SortedRequestParamsDto;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * Common servlet request utility methods
@@ -45,4 +51,38 @@ public abstract class RequestUtils {
                 )
         );
     }
+
+    /**
+     * Check paginated request asks for keyset (cursor) pagination instead of offset one
+     *
+     * @param requestDto Paginated request parameters DTO
+     * @return true if after cursor parameter present (empty value means first window)
+     */
+
+    public static boolean isKeysetRequest(PaginatedRequestParamsDto requestDto) {
+        return requestDto.getAfter() != null;
+    }
+
+    /**
+     * Get Spring keyset scroll position from after cursor parameter of paginated request params DTO
+     *
+     * @param requestDto Paginated request parameters DTO
+     * @param sort       Sort of requested window, cursor keys must match its properties and identifier
+     * @param entityType Entity class of requested window, cursor values are resolved against its attribute types
+     * @return Spring KeysetScrollPosition object
+     */
+
+    public static KeysetScrollPosition getScrollPosition(PaginatedRequestParamsDto requestDto,
+                                                         Sort sort,
+                                                         Class<?> entityType) {
+        Map<String, Class<?>> keys = new HashMap<>();
+        sort.forEach(order -> keys.put(order.getProperty(), attributeType(entityType, order.getProperty())));
+        keys.put("id", attributeType(entityType, "id"));
+        return CursorUtils.decode(requestDto.getAfter(), keys);
+    }
+
+    private static Class<?> attributeType(Class<?> entityType, String property) {
+        Field field = ReflectionUtils.findField(entityType, property);
+        return field == null ? Object.class : field.getType();
+    }
 }
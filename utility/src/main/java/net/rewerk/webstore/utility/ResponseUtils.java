@@ -3,7 +3,9 @@ package net.rewerk.webstore.utility;
 import net.rewerk.webstore.dto.response.PaginatedPayloadResponseDto;
 import net.rewerk.webstore.dto.response.PayloadResponseDto;
 import net.rewerk.webstore.dto.response.SinglePayloadResponseDto;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
@@ -38,6 +40,31 @@ public abstract class ResponseUtils {
                 .build());
     }
 
+    /**
+     * Form response entity with payload with keyset window of entities
+     * Total and page counters are not calculated, next cursor is present while there are more entities
+     *
+     * @param window Window of entities
+     * @param <T>    Generic type of entity
+     * @return Response entity with status 200 OK and payload with window of entities
+     */
+
+    public static <T> ResponseEntity<PaginatedPayloadResponseDto<T>> createPaginatedResponse(
+            Window<T> window
+    ) {
+        String next = null;
+        if (window.hasNext() && !window.isEmpty()
+                && window.positionAt(window.size() - 1) instanceof KeysetScrollPosition position) {
+            next = CursorUtils.encode(position);
+        }
+        return ResponseEntity.ok(PaginatedPayloadResponseDto.<T>builder()
+                .code(HttpStatus.OK.value())
+                .message(HttpStatus.OK.getReasonPhrase())
+                .payload(window.getContent())
+                .next(next)
+                .build());
+    }
+
     /**
      * Form response entity with payload with collection of entities
      *
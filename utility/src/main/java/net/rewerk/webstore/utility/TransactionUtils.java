@@ -0,0 +1,33 @@
+package net.rewerk.webstore.utility;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Transaction utility methods
+ *
+ * @author rewerk
+ */
+
+public abstract class TransactionUtils {
+
+    /**
+     * Run action after surrounding transaction commits, or immediately without transaction synchronization
+     * Action is skipped if surrounding transaction rolls back
+     *
+     * @param action Action to run
+     */
+
+    public static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
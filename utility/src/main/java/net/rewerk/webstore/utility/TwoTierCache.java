@@ -0,0 +1,171 @@
+package net.rewerk.webstore.utility;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.data.redis.cache.RedisCache;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Two-tier cache with local Caffeine cache in front of shared Redis cache
+ * Local misses are served from Redis and copied to local cache, so new instances start with entries loaded by others.
+ * Evictions are applied to both tiers and published to other instances to drop their local copies,
+ * eviction of non-string key clears local copies of other instances.
+ * Redis failures are logged and treated as misses, the cache keeps working on local tier only
+ *
+ * @author rewerk
+ */
+
+public class TwoTierCache extends AbstractValueAdaptingCache {
+    private static final Logger log = LoggerFactory.getLogger(TwoTierCache.class);
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Object> local;
+    private final RedisCache remote;
+    private final TwoTierCacheManager manager;
+
+    TwoTierCache(String name,
+                 com.github.benmanes.caffeine.cache.Cache<Object, Object> local,
+                 RedisCache remote,
+                 TwoTierCacheManager manager) {
+        super(true);
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.manager = manager;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Get local tier of cache
+     *
+     * @return Local Caffeine cache
+     */
+
+    @Override
+    public com.github.benmanes.caffeine.cache.Cache<Object, Object> getNativeCache() {
+        return local;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Object value = local.getIfPresent(key);
+        if (value == null) {
+            value = this.remoteLookup(key);
+            if (value != null) {
+                local.put(key, value);
+            }
+        }
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return (T) fromStoreValue(local.get(key, k -> {
+            Object value = this.remoteLookup(k);
+            if (value != null) {
+                return value;
+            }
+            try {
+                T loaded = valueLoader.call();
+                this.remotePut(k, loaded);
+                return toStoreValue(loaded);
+            } catch (Exception e) {
+                throw new ValueRetrievalException(k, valueLoader, e);
+            }
+        }));
+    }
+
+    /**
+     * Put value to both tiers
+     * Puts are not published: cached values are loaded from the same source, so other instances keep their copies
+     *
+     * @param key   Cache key
+     * @param value Cache value
+     */
+
+    @Override
+    public void put(Object key, Object value) {
+        local.put(key, toStoreValue(value));
+        this.remotePut(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        this.remoteEvict(key);
+        local.invalidate(key);
+        if (key instanceof String k) {
+            manager.publish(name, TwoTierCacheManager.EVICT, k);
+        } else {
+            manager.publish(name, TwoTierCacheManager.CLEAR, null);
+        }
+    }
+
+    @Override
+    public void clear() {
+        try {
+            remote.clear();
+        } catch (RuntimeException e) {
+            log.warn("TwoTierCache.clear: redis clear of cache {} failed: {}", name, e.getMessage());
+        }
+        local.invalidateAll();
+        manager.publish(name, TwoTierCacheManager.CLEAR, null);
+    }
+
+    /**
+     * Evict entries with string keys starting with prefix from both tiers
+     *
+     * @param prefix Cache key prefix, must not contain Redis pattern characters
+     */
+
+    public void evictByPrefix(String prefix) {
+        try {
+            remote.clear(prefix + "*");
+        } catch (RuntimeException e) {
+            log.warn("TwoTierCache.evictByPrefix: redis eviction of {} in cache {} failed: {}",
+                    prefix, name, e.getMessage());
+        }
+        this.evictLocal(TwoTierCacheManager.EVICT_PREFIX, prefix);
+        manager.publish(name, TwoTierCacheManager.EVICT_PREFIX, prefix);
+    }
+
+    void evictLocal(char operation, String key) {
+        switch (operation) {
+            case TwoTierCacheManager.EVICT -> local.invalidate(key);
+            case TwoTierCacheManager.EVICT_PREFIX -> local.asMap().keySet()
+                    .removeIf(k -> k instanceof String s && s.startsWith(key));
+            default -> local.invalidateAll();
+        }
+    }
+
+    private Object remoteLookup(Object key) {
+        try {
+            ValueWrapper wrapper = remote.get(key);
+            return wrapper == null ? null : toStoreValue(wrapper.get());
+        } catch (RuntimeException e) {
+            log.warn("TwoTierCache.remoteLookup: redis lookup of {} in cache {} failed: {}", key, name, e.getMessage());
+            return null;
+        }
+    }
+
+    private void remotePut(Object key, Object value) {
+        try {
+            remote.put(key, value);
+        } catch (RuntimeException e) {
+            log.warn("TwoTierCache.remotePut: redis put of {} in cache {} failed: {}", key, name, e.getMessage());
+        }
+    }
+
+    private void remoteEvict(Object key) {
+        try {
+            remote.evict(key);
+        } catch (RuntimeException e) {
+            log.warn("TwoTierCache.remoteEvict: redis eviction of {} in cache {} failed: {}", key, name, e.getMessage());
+        }
+    }
+}
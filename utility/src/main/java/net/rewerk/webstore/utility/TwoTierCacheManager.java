@@ -0,0 +1,168 @@
+package net.rewerk.webstore.utility;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Cache manager of two-tier caches with local Caffeine tier and shared Redis tier
+ * Evictions are published as invalidation messages, every instance applies messages of other instances
+ * to its local tier. Message format is origin:operation:cache:key, cache names must not contain colons
+ *
+ * @author rewerk
+ */
+
+public class TwoTierCacheManager implements CacheManager {
+    static final char EVICT = 'E';
+    static final char EVICT_PREFIX = 'P';
+    static final char CLEAR = 'C';
+    private static final Logger log = LoggerFactory.getLogger(TwoTierCacheManager.class);
+    private final String origin = UUID.randomUUID().toString();
+    private final Map<String, TwoTierCache> caches = new ConcurrentHashMap<>();
+    private final Caffeine<Object, Object> local;
+    private final RedisCacheManager remote;
+    private final Consumer<String> publisher;
+
+    /**
+     * Create two-tier cache manager
+     *
+     * @param local     Caffeine builder of local tier caches
+     * @param remote    Redis cache manager of shared tier caches
+     * @param publisher Publisher of invalidation messages to other instances
+     */
+
+    public TwoTierCacheManager(Caffeine<Object, Object> local, RedisCacheManager remote, Consumer<String> publisher) {
+        this.local = local;
+        this.remote = remote;
+        this.publisher = publisher;
+    }
+
+    /**
+     * Create two-tier cache manager backed by Redis, invalidation messages are published to Redis channel
+     *
+     * @param local   Caffeine builder of local tier caches
+     * @param factory Redis connection factory
+     * @param prefix  Redis key prefix, usually application name
+     * @param ttl     Time to live of shared tier entries
+     * @param channel Redis channel of invalidation messages
+     * @return Two-tier cache manager
+     */
+
+    public static TwoTierCacheManager redis(Caffeine<Object, Object> local,
+                                            RedisConnectionFactory factory,
+                                            String prefix,
+                                            Duration ttl,
+                                            String channel) {
+        RedisCacheManager remote = RedisCacheManager.builder(RedisCacheWriter.nonLockingRedisCacheWriter(factory))
+                .cacheDefaults(redisCacheConfiguration(prefix, ttl))
+                .build();
+        remote.afterPropertiesSet();
+        StringRedisTemplate template = new StringRedisTemplate(factory);
+        return new TwoTierCacheManager(local, remote, message -> template.convertAndSend(channel, message));
+    }
+
+    /**
+     * Create shared tier cache configuration
+     * Values are stored with Jackson including type information, so response DTOs do not have to be Serializable.
+     * Computed properties of DTOs are ignored on read
+     *
+     * @param prefix Redis key prefix, usually application name
+     * @param ttl    Time to live of shared tier entries
+     * @return Redis cache configuration
+     */
+
+    public static RedisCacheConfiguration redisCacheConfiguration(String prefix, Duration ttl) {
+        return RedisCacheConfiguration.defaultCacheConfig()
+                .prefixCacheNameWith(prefix + "::")
+                .entryTtl(ttl)
+                .serializeValuesWith(RedisSerializationContext.SerializationPair
+                        .fromSerializer(new GenericJackson2JsonRedisSerializer().configure(mapper -> mapper
+                                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false))));
+    }
+
+    /**
+     * Create listener container applying invalidation messages of other instances, must be registered as bean
+     *
+     * @param factory Redis connection factory
+     * @param channel Redis channel of invalidation messages
+     * @return Redis message listener container
+     */
+
+    public RedisMessageListenerContainer subscribe(RedisConnectionFactory factory, String channel) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(factory);
+        container.addMessageListener(
+                (message, _) -> this.receive(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(channel)
+        );
+        return container;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, n -> new TwoTierCache(
+                n,
+                local.build(),
+                (RedisCache) Objects.requireNonNull(remote.getCache(n)),
+                this
+        ));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    /**
+     * Apply invalidation message of other instance to local tier
+     *
+     * @param message Invalidation message
+     */
+
+    public void receive(String message) {
+        String[] parts = message.split(":", 4);
+        if (parts.length != 4 || parts[1].length() != 1) {
+            log.warn("TwoTierCacheManager.receive: malformed invalidation message {}", message);
+            return;
+        }
+        if (origin.equals(parts[0])) {
+            return;
+        }
+        TwoTierCache cache = caches.get(parts[2]);
+        if (cache != null) {
+            cache.evictLocal(parts[1].charAt(0), parts[3]);
+        }
+    }
+
+    void publish(String cache, char operation, String key) {
+        try {
+            publisher.accept(origin + ":" + operation + ":" + cache + ":" + (key == null ? "" : key));
+        } catch (RuntimeException e) {
+            log.warn("TwoTierCacheManager.publish: invalidation of {} in cache {} was not published: {}",
+                    key, cache, e.getMessage());
+        }
+    }
+}
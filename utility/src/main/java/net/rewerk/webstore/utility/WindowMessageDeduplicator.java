@@ -0,0 +1,52 @@
+package net.rewerk.webstore.utility;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory message deduplicator with bounded window of recently delivered identifiers
+ * For services without database: only redeliveries to the same instance are detected,
+ * the oldest identifiers are dropped when the window is full
+ *
+ * @author rewerk
+ */
+
+public class WindowMessageDeduplicator implements MessageDeduplicator {
+    private final Map<String, Boolean> window;
+
+    /**
+     * Create in-memory message deduplicator
+     *
+     * @param capacity Maximum count of remembered identifiers of all consumers
+     */
+
+    public WindowMessageDeduplicator(int capacity) {
+        this.window = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    @Override
+    public synchronized Set<String> firstDeliveries(String consumer, Collection<String> messageIds) {
+        Set<String> result = new HashSet<>();
+        for (String messageId : messageIds) {
+            if (window.putIfAbsent(consumer + ":" + messageId, Boolean.TRUE) == null) {
+                result.add(messageId);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public synchronized void forget(String consumer, String messageId) {
+        if (messageId != null) {
+            window.remove(consumer + ":" + messageId);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package net.rewerk.webstore.utility;
+
+import net.rewerk.webstore.dto.response.PayloadResponseDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AggregationUtilsTest {
+    private final ExecutorService executor = AggregationUtils.newExecutor("aggregation-test", 4);
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private PayloadResponseDto<Integer> payload(List<Integer> items) {
+        return PayloadResponseDto.<Integer>builder()
+                .payload(items)
+                .build();
+    }
+
+    @Test
+    public void givenConcurrentLookups_whenFetch_thenRunThemInParallel() {
+        CountDownLatch started = new CountDownLatch(2);
+        CompletableFuture<List<Integer>> first = AggregationUtils.fetch("first", List.of(1), ids -> {
+            started.countDown();
+            await(started);
+            return payload(ids);
+        }, executor, Duration.ofSeconds(5));
+        CompletableFuture<List<Integer>> second = AggregationUtils.fetch("second", List.of(2), ids -> {
+            started.countDown();
+            await(started);
+            return payload(ids);
+        }, executor, Duration.ofSeconds(5));
+
+        assertThat(first.join()).containsExactly(1);
+        assertThat(second.join()).containsExactly(2);
+    }
+
+    @Test
+    public void givenSlowOrFailedLookup_whenFetch_thenReturnEmptyList() {
+        CompletableFuture<List<Integer>> slow = AggregationUtils.fetch("slow", List.of(1), ids -> {
+            await(new CountDownLatch(1));
+            return payload(ids);
+        }, executor, Duration.ofMillis(50));
+        CompletableFuture<List<Integer>> failed = AggregationUtils.fetch("failed", List.of(1), _ -> {
+            throw new IllegalStateException("Service unavailable");
+        }, executor, Duration.ofSeconds(5));
+
+        assertThat(slow.join()).isEmpty();
+        assertThat(failed.join()).isEmpty();
+    }
+
+    @Test
+    public void givenAllPermitsTaken_whenFetch_thenRejectWithoutRunningOnCaller() {
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService single = AggregationUtils.newExecutor("aggregation-single", 1);
+        try {
+            CompletableFuture<List<Integer>> running = AggregationUtils.fetch("running", List.of(1), ids -> {
+                await(release);
+                return payload(ids);
+            }, single, Duration.ofSeconds(5));
+            CompletableFuture<List<Integer>> rejected = AggregationUtils.fetch("rejected", List.of(2), _ -> {
+                throw new IllegalStateException("Lookup must be rejected");
+            }, single, Duration.ofSeconds(5));
+
+            assertThat(rejected).isCompletedWithValue(List.of());
+            release.countDown();
+            assertThat(running.join()).containsExactly(1);
+        } finally {
+            single.shutdownNow();
+        }
+    }
+
+    @Test
+    public void givenEmptyIdentifiers_whenFetch_thenSkipLookup() {
+        CompletableFuture<List<Integer>> result = AggregationUtils.fetch("empty", List.<Integer>of(), _ -> {
+            throw new IllegalStateException("Lookup must be skipped");
+        }, executor, Duration.ofSeconds(5));
+
+        assertThat(result).isCompletedWithValue(List.of());
+    }
+
+    @Test
+    public void givenIndexedPayload_whenJoin_thenSetMatchingItemsOnly() {
+        Map<Integer, String> index = AggregationUtils.indexBy(Arrays.asList("1:first", "2:second", "1:duplicate", null),
+                item -> Integer.valueOf(item.split(":")[0]));
+        List<String[]> responses = new ArrayList<>(List.of(new String[]{"1", null}, new String[]{"3", null},
+                new String[]{null, null}));
+
+        AggregationUtils.join(responses,
+                response -> response[0] == null ? null : Integer.valueOf(response[0]),
+                index,
+                (response, item) -> response[1] = item);
+
+        assertThat(index).containsOnlyKeys(1, 2).containsEntry(1, "1:first");
+        assertThat(responses).extracting(response -> response[1]).containsExactly("1:first", null, null);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package net.rewerk.webstore.utility;
+
+import net.rewerk.exception.UnprocessableOperation;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CursorUtilsTest {
+
+    @Test
+    public void givenKeysetPosition_whenEncodeAndDecode_thenReturnSameKeys() {
+        Timestamp createdAt = new Timestamp(1_700_000_000_123L);
+        createdAt.setNanos(123_456_789);
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("name", "Phone & case = 100%");
+        keys.put("createdAt", createdAt);
+        keys.put("direction", Sort.Direction.DESC);
+        keys.put("price", null);
+        keys.put("id", 42);
+
+        Map<String, Class<?>> types = Map.of(
+                "name", String.class,
+                "createdAt", Timestamp.class,
+                "direction", Sort.Direction.class,
+                "price", Double.class,
+                "id", Integer.class
+        );
+
+        String cursor = CursorUtils.encode(ScrollPosition.forward(keys));
+        KeysetScrollPosition decoded = CursorUtils.decode(cursor, types);
+
+        assertThat(cursor).doesNotContain("=", "&", "+", "/");
+        assertThat(decoded.getKeys()).isEqualTo(keys);
+        assertThat(decoded.scrollsForward()).isTrue();
+    }
+
+    @Test
+    public void givenEmptyCursor_whenDecode_thenReturnInitialPosition() {
+        assertThat(CursorUtils.decode("", Map.of("id", Integer.class)).isInitial()).isTrue();
+    }
+
+    @Test
+    public void givenMalformedOrForeignCursor_whenDecode_thenThrowUnprocessableOperation() {
+        String cursor = CursorUtils.encode(ScrollPosition.forward(Map.of("id", 1)));
+
+        assertThatThrownBy(() -> CursorUtils.decode("not a cursor!", Map.of("id", Integer.class)))
+                .isInstanceOf(UnprocessableOperation.class);
+        assertThatThrownBy(() -> CursorUtils.decode(cursor, Map.of("price", Double.class, "id", Integer.class)))
+                .isInstanceOf(UnprocessableOperation.class);
+    }
+
+    @Test
+    public void givenEnumOfOtherType_whenDecode_thenThrowUnprocessableOperation() {
+        String foreign = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("state=E:java.lang.Thread$State:NEW&id=I:1".getBytes(StandardCharsets.UTF_8));
+        String unknown = CursorUtils.encode(ScrollPosition.forward(Map.of("state", Sort.Direction.ASC, "id", 1)));
+
+        assertThatThrownBy(() -> CursorUtils.decode(foreign, Map.of("state", Sort.Direction.class, "id", Integer.class)))
+                .isInstanceOf(UnprocessableOperation.class);
+        assertThatThrownBy(() -> CursorUtils.decode(unknown, Map.of("state", String.class, "id", Integer.class)))
+                .isInstanceOf(UnprocessableOperation.class);
+    }
+
+    @Test
+    public void givenValueOfOtherType_whenDecode_thenThrowUnprocessableOperation() {
+        String cursor = CursorUtils.encode(ScrollPosition.forward(Map.of("price", "cheap", "id", 1)));
+
+        assertThatThrownBy(() -> CursorUtils.decode(cursor, Map.of("price", Double.class, "id", Integer.class)))
+                .isInstanceOf(UnprocessableOperation.class);
+        assertThat(CursorUtils.decode(cursor, Map.of("price", String.class, "id", int.class)).getKeys())
+                .containsEntry("id", 1);
+    }
+}
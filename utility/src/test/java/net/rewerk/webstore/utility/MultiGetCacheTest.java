@@ -0,0 +1,45 @@
+package net.rewerk.webstore.utility;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MultiGetCacheTest {
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final MultiGetCache<Integer, String> cache = new MultiGetCache<>(new ConcurrentMapCache("test"),
+            "test-client", "test-client#", value -> Integer.valueOf(value.substring(1)), registry);
+    private final List<List<Integer>> loads = new ArrayList<>();
+    private final Function<List<Integer>, List<String>> loader = ids -> {
+        loads.add(ids);
+        return ids.stream()
+                .filter(id -> id < 100)
+                .map(id -> "p" + id)
+                .toList();
+    };
+
+    @Test
+    public void givenOverlappingBatches_whenGetAll_thenLoadOnlyMissingIdentifiers() {
+        assertThat(cache.getAll(List.of(1, 2, 3), loader)).containsExactly("p1", "p2", "p3");
+        assertThat(cache.getAll(List.of(3, 2, 4, 2, 100), loader)).containsExactly("p3", "p2", "p4");
+
+        assertThat(loads).containsExactly(List.of(1, 2, 3), List.of(4, 100));
+        assertThat(registry.get("feign.cache.gets").tag("result", "hit").counter().count()).isEqualTo(2);
+        assertThat(registry.get("feign.cache.gets").tag("result", "miss").counter().count()).isEqualTo(5);
+    }
+
+    @Test
+    public void givenEvictedIdentifier_whenGetAll_thenLoadItAgain() {
+        cache.getAll(List.of(1, 2), loader);
+
+        cache.evictAll(List.of(2));
+
+        assertThat(cache.getAll(List.of(1, 2), loader)).containsExactly("p1", "p2");
+        assertThat(loads).containsExactly(List.of(1, 2), List.of(2));
+    }
+}
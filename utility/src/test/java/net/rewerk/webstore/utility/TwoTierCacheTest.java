@@ -0,0 +1,172 @@
+package net.rewerk.webstore.utility;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import net.rewerk.webstore.dto.response.category.CategoryResponseDto;
+import net.rewerk.webstore.dto.response.product.ProductResponseDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.cache.CacheStatistics;
+import org.springframework.data.redis.cache.CacheStatisticsCollector;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TwoTierCacheTest {
+    private final FakeRedisCacheWriter redis = new FakeRedisCacheWriter();
+    private final List<TwoTierCacheManager> instances = new CopyOnWriteArrayList<>();
+
+    private TwoTierCacheManager instance() {
+        RedisCacheManager remote = RedisCacheManager.builder(redis)
+                .cacheDefaults(TwoTierCacheManager.redisCacheConfiguration("test", Duration.ofMinutes(1)))
+                .build();
+        remote.afterPropertiesSet();
+        TwoTierCacheManager manager = new TwoTierCacheManager(Caffeine.newBuilder().maximumSize(100), remote,
+                message -> instances.forEach(instance -> instance.receive(message)));
+        instances.add(manager);
+        return manager;
+    }
+
+    private ProductResponseDto product(Integer id) {
+        return ProductResponseDto.builder()
+                .id(id)
+                .name("product " + id)
+                .balance(1)
+                .enabled(true)
+                .category(CategoryResponseDto.builder().id(2).name("category").build())
+                .tags(List.of("tag"))
+                .build();
+    }
+
+    @Test
+    public void givenEntryLoadedByOtherInstance_whenGet_thenServeFromSharedTierWithoutLoading() {
+        Cache first = instance().getCache("caffeine");
+        Cache second = instance().getCache("caffeine");
+        AtomicInteger loads = new AtomicInteger();
+
+        ProductResponseDto loaded = first.get("product-1", () -> {
+            loads.incrementAndGet();
+            return product(1);
+        });
+        ProductResponseDto shared = second.get("product-1", () -> {
+            loads.incrementAndGet();
+            return product(1);
+        });
+
+        assertThat(loads).hasValue(1);
+        assertThat(shared).isEqualTo(loaded).isNotSameAs(loaded);
+    }
+
+    @Test
+    public void givenEvictionOnOneInstance_whenPublished_thenOtherInstancesDropLocalCopies() {
+        TwoTierCache first = (TwoTierCache) instance().getCache("caffeine");
+        TwoTierCache second = (TwoTierCache) instance().getCache("caffeine");
+        first.put("product-1", product(1));
+        first.put("product-2", product(2));
+        first.put("category-2", "category 2");
+        assertThat(second.get("product-1")).isNotNull();
+        assertThat(second.get("product-2")).isNotNull();
+        assertThat(second.get("category-2")).isNotNull();
+
+        first.evict("product-1");
+        assertThat(second.getNativeCache().getIfPresent("product-1")).isNull();
+        assertThat(second.get("product-1")).isNull();
+
+        first.evictByPrefix("product-");
+        assertThat(second.get("product-2")).isNull();
+        assertThat(second.get("category-2", String.class)).isEqualTo("category 2");
+    }
+
+    @Test
+    public void givenSharedTierFailure_whenGet_thenLoadAndKeepLocalCopy() {
+        Cache cache = instance().getCache("caffeine");
+        redis.failing = true;
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 2; i++) {
+            assertThat(cache.get("product-1", () -> {
+                loads.incrementAndGet();
+                return product(1);
+            })).isEqualTo(product(1));
+        }
+        cache.evict("product-1");
+
+        assertThat(loads).hasValue(1);
+        assertThat(cache.get("product-1")).isNull();
+    }
+
+    private static class FakeRedisCacheWriter implements RedisCacheWriter {
+        private final Map<String, byte[]> store = new ConcurrentHashMap<>();
+        private volatile boolean failing;
+
+        private String key(String name, byte[] key) {
+            if (failing) {
+                throw new RedisConnectionFailureException("Redis is down");
+            }
+            return new String(key, StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public byte[] get(String name, byte[] key) {
+            return store.get(key(name, key));
+        }
+
+        @Override
+        public CompletableFuture<byte[]> retrieve(String name, byte[] key, Duration ttl) {
+            return CompletableFuture.completedFuture(get(name, key));
+        }
+
+        @Override
+        public void put(String name, byte[] key, byte[] value, Duration ttl) {
+            store.put(key(name, key), value);
+        }
+
+        @Override
+        public CompletableFuture<Void> store(String name, byte[] key, byte[] value, Duration ttl) {
+            put(name, key, value, ttl);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public byte[] putIfAbsent(String name, byte[] key, byte[] value, Duration ttl) {
+            return store.putIfAbsent(key(name, key), value);
+        }
+
+        @Override
+        public void remove(String name, byte[] key) {
+            store.remove(key(name, key));
+        }
+
+        @Override
+        public void clean(String name, byte[] pattern) {
+            String glob = key(name, pattern);
+            store.keySet().removeIf(key -> glob.endsWith("*")
+                    ? key.startsWith(glob.substring(0, glob.length() - 1))
+                    : key.equals(glob));
+        }
+
+        @Override
+        public void clearStatistics(String name) {
+        }
+
+        @Override
+        public RedisCacheWriter withStatisticsCollector(CacheStatisticsCollector cacheStatisticsCollector) {
+            return this;
+        }
+
+        @Override
+        public CacheStatistics getCacheStatistics(String cacheName) {
+            return CacheStatisticsCollector.none().getCacheStatistics(cacheName);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package net.rewerk.webstore.utility;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WindowMessageDeduplicatorTest {
+
+    @Test
+    public void givenRedeliveredBatch_whenFirstDeliveries_thenDropSeenAndRepeatedPayloads() {
+        MessageDeduplicator deduplicator = new WindowMessageDeduplicator(100);
+        List<String> ids = MessageDeduplicator.messageIds(List.of(
+                Map.of(MessageDeduplicator.MESSAGE_ID, "service-products-1"),
+                Map.of(MessageDeduplicator.MESSAGE_ID, "service-products-2".getBytes(StandardCharsets.UTF_8)),
+                Map.of(),
+                Map.of(MessageDeduplicator.MESSAGE_ID, "service-products-1")
+        ));
+
+        assertThat(ids).containsExactly("service-products-1", "service-products-2", null, "service-products-1");
+        assertThat(deduplicator.firstDeliveries("consumer", List.of("a", "b", "c", "d"), ids))
+                .containsExactly("a", "b", "c");
+        assertThat(deduplicator.firstDeliveries("consumer", List.of("a", "b", "c"), ids.subList(0, 3)))
+                .containsExactly("c");
+        assertThat(deduplicator.firstDeliveries("other", List.of("a"), ids.subList(0, 1)))
+                .containsExactly("a");
+    }
+
+    @Test
+    public void givenFullWindow_whenDelivered_thenForgetOldestIdentifiers() {
+        MessageDeduplicator deduplicator = new WindowMessageDeduplicator(2);
+
+        assertThat(deduplicator.isFirstDelivery("consumer", "1")).isTrue();
+        assertThat(deduplicator.isFirstDelivery("consumer", "2")).isTrue();
+        assertThat(deduplicator.isFirstDelivery("consumer", "2")).isFalse();
+        assertThat(deduplicator.isFirstDelivery("consumer", "3")).isTrue();
+
+        assertThat(deduplicator.isFirstDelivery("consumer", "1")).isTrue();
+        assertThat(deduplicator.isFirstDelivery("consumer", null)).isTrue();
+        assertThat(MessageDeduplicator.messageIds(Arrays.asList(null, "headers"))).containsExactly(null, null);
+    }
+
+    @Test
+    public void givenFailedMessage_whenForget_thenProcessRedelivery() {
+        MessageDeduplicator deduplicator = new WindowMessageDeduplicator(10);
+
+        assertThat(deduplicator.isFirstDelivery("consumer", "1")).isTrue();
+        deduplicator.forget("consumer", "1");
+        deduplicator.forget("consumer", null);
+
+        assertThat(deduplicator.isFirstDelivery("consumer", "1")).isTrue();
+        assertThat(deduplicator.isFirstDelivery("consumer", "1")).isFalse();
+    }
+}